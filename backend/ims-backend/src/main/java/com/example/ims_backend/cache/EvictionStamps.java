@@ -0,0 +1,46 @@
+package com.example.ims_backend.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lets a read-through cache load a value outside the cache's lock without putting back a value that was
+ * invalidated while it was loading.
+ * <p>
+ * A loader takes a stamp before the query and, after putting the result, evicts it again if the stamp moved.
+ * Invalidation bumps the stamp before evicting, so either the eviction removes the put or the loader sees the
+ * new stamp. Stamps are striped over 1024 counters, so an unrelated key only rarely costs a reload; the
+ * sequence moves on every invalidation for loaders that learn their key from the load itself.
+ */
+final class EvictionStamps {
+
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+    private final AtomicLong sequence = new AtomicLong();
+
+    long stamp(Object key) {
+        return stamps.get(stripe(key));
+    }
+
+    long sequence() {
+        return sequence.get();
+    }
+
+    void invalidate(Object key) {
+        sequence.incrementAndGet();
+        stamps.incrementAndGet(stripe(key));
+    }
+
+    void invalidateAll() {
+        sequence.incrementAndGet();
+        for (int i = 0; i < STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+}
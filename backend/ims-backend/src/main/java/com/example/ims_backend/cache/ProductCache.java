@@ -0,0 +1,113 @@
+package com.example.ims_backend.cache;
+
+import com.example.ims_backend.config.CacheConfig;
+import com.example.ims_backend.dto.ProductDto;
+import com.example.ims_backend.events.CategoryChangedEvent;
+import com.example.ims_backend.events.ProductChangedEvent;
+import com.example.ims_backend.events.ProductStockChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for single product reads, by id and by SKU.
+ * <p>
+ * Products are cached as {@link ProductDto} keyed by id; SKUs only map to an id, so there is a single copy of
+ * every product to invalidate. A SKU hit is checked against the cached product and reloaded when the SKU has
+ * moved to another product in the meantime. Entries are dropped after the change commits: product updates
+ * and deletes ({@link ProductChangedEvent}), stock movements ({@link ProductStockChangedEvent}) and category
+ * deletes, which cascade to their products.
+ * <p>
+ * A miss loads outside the cache: a compute-style {@code get(key, loader)} would hold a map lock across the
+ * query, which pins a virtual thread to its carrier on JDK 21. {@link EvictionStamps} keeps a load that
+ * raced an invalidation from putting back the old row; concurrent misses on one key may both query.
+ * <p>
+ * Cached DTOs are shared between callers and must not be modified.
+ */
+@Component
+@Slf4j
+public class ProductCache {
+
+    private final Cache products;
+    private final Cache productIdsBySku;
+    private final EvictionStamps stamps = new EvictionStamps();
+
+    public ProductCache(CacheManager cacheManager) {
+        this.products = Objects.requireNonNull(cacheManager.getCache(CacheConfig.PRODUCTS),
+                "cache '" + CacheConfig.PRODUCTS + "' is not configured");
+        this.productIdsBySku = Objects.requireNonNull(cacheManager.getCache(CacheConfig.PRODUCT_IDS_BY_SKU),
+                "cache '" + CacheConfig.PRODUCT_IDS_BY_SKU + "' is not configured");
+    }
+
+    /**
+     * @param id
+     * @param loader reads the product from the database on a miss
+     * @return the cached or freshly loaded product
+     */
+    public ProductDto getById(Long id, Supplier<ProductDto> loader) {
+        ProductDto cached = products.get(id, ProductDto.class);
+        if (cached != null) return cached;
+
+        long stamp = stamps.stamp(id);
+        ProductDto product = loader.get();
+        products.put(id, product);
+        if (stamps.stamp(id) != stamp) products.evict(id);
+        return product;
+    }
+
+    /**
+     * @param sku
+     * @param loader reads the product by SKU from the database on a miss
+     * @return the cached or freshly loaded product
+     */
+    public ProductDto getBySku(String sku, Supplier<ProductDto> loader) {
+        Long id = productIdsBySku.get(sku, Long.class);
+        if (id != null) {
+            ProductDto cached = products.get(id, ProductDto.class);
+            if (cached != null && sku.equals(cached.getSku())) return cached;
+        }
+
+        // the id is only known after the load, so any invalidation meanwhile counts
+        long sequence = stamps.sequence();
+        ProductDto product = loader.get();
+        products.put(product.getId(), product);
+        if (stamps.sequence() != sequence) products.evict(product.getId());
+        productIdsBySku.put(sku, product.getId());
+        return product;
+    }
+
+    public void evict(Long productId) {
+        stamps.invalidate(productId);
+        products.evict(productId);
+    }
+
+    // ===== Invalidation (after commit) =====
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(event.productId());
+        if (!event.isDeleted() && event.product().getSku() != null) {
+            productIdsBySku.evict(event.product().getSku());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductStockChanged(ProductStockChangedEvent event) {
+        event.productIds().forEach(this::evict);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (!event.isDeleted()) return;
+
+        // the category's products went with it; their ids are not known here
+        stamps.invalidateAll();
+        products.clear();
+        log.info("Product cache cleared after deleting category {}", event.categoryId());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ims_backend.cache;
+
+import com.example.ims_backend.config.CacheConfig;
+import com.example.ims_backend.dto.UserDto;
+import com.example.ims_backend.events.UserChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of users by id, for the signed-in user's own data on hot paths (the user shown on a
+ * recorded transaction, /api/users/current). Entries are dropped after a user update or delete commits and
+ * otherwise live for {@code ims.cache.users.ttl}. A miss loads outside the cache, as in {@link ProductCache}.
+ * <p>
+ * Cached DTOs are shared between callers and must not be modified.
+ */
+@Component
+public class UserCache {
+
+    private final Cache users;
+    private final EvictionStamps stamps = new EvictionStamps();
+
+    public UserCache(CacheManager cacheManager) {
+        this.users = Objects.requireNonNull(cacheManager.getCache(CacheConfig.USERS),
+                "cache '" + CacheConfig.USERS + "' is not configured");
+    }
+
+    /**
+     * @param id
+     * @param loader reads the user from the database on a miss
+     * @return the cached or freshly loaded user
+     */
+    public UserDto getById(Long id, Supplier<UserDto> loader) {
+        UserDto cached = users.get(id, UserDto.class);
+        if (cached != null) return cached;
+
+        long stamp = stamps.stamp(id);
+        UserDto user = loader.get();
+        users.put(id, user);
+        if (stamps.stamp(id) != stamp) users.evict(id);
+        return user;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        stamps.invalidate(event.userId());
+        users.evict(event.userId());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.ims_backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Turns on the Spring cache abstraction. The caches themselves (Caffeine, size and TTL bound, with stats
+ * so hit/miss/eviction counts show up under /actuator/metrics) are configured in application.yml;
+ * {@code spring.cache.type=none} runs every read against the database instead.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** product id -> ProductDto */
+    public static final String PRODUCTS = "products";
+
+    /** SKU -> product id */
+    public static final String PRODUCT_IDS_BY_SKU = "productIdsBySku";
+
+    /** user id -> UserDto, short-lived since it backs the signed-in user's own view */
+    public static final String USERS = "users";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> userCacheCustomizer(
+            @Value("${ims.cache.users.max-size:10000}") long maxSize,
+            @Value("${ims.cache.users.ttl:60s}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(USERS, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.ims_backend.config;
+
+import com.example.ims_backend.metrics.JdbcTimingListener;
+import com.example.ims_backend.metrics.SqlStatementInspector;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.cfg.SessionEventSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks the per-request SQL statistics (SqlStatistics) into every Hibernate session: statements are
+ * counted as they are prepared and JDBC execute calls timed.
+ */
+@Configuration
+public class HibernateConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatisticsCustomizer() {
+        return properties -> {
+            properties.put(JdbcSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+            properties.put(SessionEventSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+        };
+    }
+}
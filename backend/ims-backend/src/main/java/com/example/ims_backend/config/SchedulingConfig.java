@@ -0,0 +1,14 @@
+package com.example.ims_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on {@code @Scheduled} background jobs: token revocation refresh and purge, dashboard reload, transaction
+ * archiving and the rollup rebuild. They share the {@code spring.task.scheduling} pool, which has room for the
+ * long-running jobs next to the periodic ones.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -4,6 +4,7 @@ import com.example.ims_backend.dto.LoginRequest;
 import com.example.ims_backend.dto.RegisterRequest;
 import com.example.ims_backend.dto.Response;
 import com.example.ims_backend.services.IUserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +13,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -24,9 +27,16 @@ public class AuthController {
         return ResponseEntity.ok(userService.registerUser(registerRequest));
     }
 
+    // completes on the login pool, the request thread is released meanwhile
     @PostMapping("/login")
-    public ResponseEntity<Response> loginUser(@RequestBody @Valid LoginRequest loginRequest) {
-        return ResponseEntity.ok(userService.loginUser(loginRequest));
+    public CompletableFuture<ResponseEntity<Response>> loginUser(@RequestBody @Valid LoginRequest loginRequest,
+                                                                 HttpServletRequest request) {
+        return userService.loginUser(loginRequest, request.getRemoteAddr()).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Response> logoutUser() {
+        return ResponseEntity.ok(userService.logoutUser());
     }
 
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.example.ims_backend.controller;
 
 import com.example.ims_backend.dto.CategoryDto;
+import com.example.ims_backend.metrics.QueryBudget;
 import com.example.ims_backend.services.ICategoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -28,6 +29,7 @@ public class CategoryController {
 
     // Get all categories
     @GetMapping
+    @QueryBudget(1)
     public ResponseEntity<List<CategoryDto>> getAllCategories() {
 
         List<CategoryDto> categories = categoryService.getAllCategories();
@@ -36,6 +38,7 @@ public class CategoryController {
 
     // Get category by id
     @GetMapping("/{id}")
+    @QueryBudget(2)
     public ResponseEntity<CategoryDto> getCategoryById(@PathVariable Long id) {
 
         CategoryDto category = categoryService.getCategoryById(id);
@@ -0,0 +1,22 @@
+package com.example.ims_backend.controller;
+
+import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.services.IDashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final IDashboardService dashboardService;
+
+    @GetMapping("/summary")
+    public ResponseEntity<Response> getSummary() {
+        return ResponseEntity.ok(dashboardService.getSummary());
+    }
+}
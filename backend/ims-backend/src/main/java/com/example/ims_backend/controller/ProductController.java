@@ -1,6 +1,7 @@
 package com.example.ims_backend.controller;
 
 import com.example.ims_backend.dto.*;
+import com.example.ims_backend.metrics.QueryBudget;
 import com.example.ims_backend.services.IProductService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -46,17 +47,35 @@ public class ProductController {
 
 
     /**
-     * GET ALL PRODUCTS
+     * GET ALL PRODUCTS (paged, e.g. ?page=0&size=20&sort=name,asc&categoryId=3&fields=id,name,sku)
      */
     @GetMapping
+    @QueryBudget(2)
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Response> getAllProducts() {
+    public ResponseEntity<Response> getAllProducts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String fields) {
+
+        return ResponseEntity.ok(productService.getAllProducts(page, size, sort, categoryId, fields));
+    }
+
 
-        List<ProductDto> products = productService.getAllProducts();
+    /**
+     * GET PRODUCT BY ID
+     */
+    @GetMapping("/{id}")
+    @QueryBudget(1)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Response> getProductById(@PathVariable Long id) {
+
+        ProductDto product = productService.getProductById(id);
 
         Response response = Response.builder()
                 .status(HttpStatus.OK.value())
-                .products(products)
+                .product(product)
                 .build();
 
         return ResponseEntity.ok(response);
@@ -64,13 +83,14 @@ public class ProductController {
 
 
     /**
-     * GET PRODUCT BY ID
+     * GET PRODUCT BY SKU
      */
-    @GetMapping("/{id}")
+    @GetMapping("/sku/{sku}")
+    @QueryBudget(2)
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Response> getProductById(@PathVariable Long id) {
+    public ResponseEntity<Response> getProductBySku(@PathVariable String sku) {
 
-        ProductDto product = productService.getProductById(id);
+        ProductDto product = productService.getProductBySku(sku);
 
         Response response = Response.builder()
                 .status(HttpStatus.OK.value())
@@ -133,6 +153,7 @@ public class ProductController {
      * SEARCH PRODUCT
      */
     @GetMapping("/search")
+    @QueryBudget(1)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Response> searchProduct(@RequestParam String searchValue) {
 
@@ -146,4 +167,24 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+
+    /**
+     * TYPEAHEAD (top-K suggestions: id, name, sku, categoryId)
+     */
+    @GetMapping("/typeahead")
+    @QueryBudget(1)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Response> suggestProducts(@RequestParam String q,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+
+        List<ProductDto> products = productService.suggestProducts(q, limit);
+
+        Response response = Response.builder()
+                .status(HttpStatus.OK.value())
+                .products(products)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.example.ims_backend.controller;
+
+import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.metrics.QueryBudget;
+import com.example.ims_backend.services.IReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final IReportService reportService;
+
+    @GetMapping("/daily")
+    @QueryBudget(1)
+    public ResponseEntity<Response> getDailyReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long productId) {
+
+        return ResponseEntity.ok(reportService.getDailyReport(from, to, type, productId));
+    }
+
+    @GetMapping("/monthly")
+    @QueryBudget(1)
+    public ResponseEntity<Response> getMonthlyReport(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long supplierId) {
+
+        return ResponseEntity.ok(reportService.getMonthlyReport(from, to, type, categoryId, supplierId));
+    }
+
+    @GetMapping("/summary")
+    @QueryBudget(3)
+    public ResponseEntity<Response> getSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long productId) {
+
+        return ResponseEntity.ok(reportService.getSummary(from, to, type, productId));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Response> rebuildRollups() {
+        int months = reportService.rebuildRollups();
+        return ResponseEntity.ok(Response.builder()
+                .status(200)
+                .message("Rollups of " + months + " month(s) rebuilt")
+                .build());
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.ims_backend.controller;
 
 import com.example.ims_backend.dto.SupplierDto;
+import com.example.ims_backend.metrics.QueryBudget;
 import com.example.ims_backend.services.ISupplierService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +30,7 @@ public class SupplierController {
 
     // Get all suppliers
     @GetMapping
+    @QueryBudget(1)
     public ResponseEntity<List<SupplierDto>> getAllSuppliers() {
 
         List<SupplierDto> suppliers = supplierService.getAllSuppliers();
@@ -37,6 +39,7 @@ public class SupplierController {
 
     // Get supplier by ID
     @GetMapping("/{id}")
+    @QueryBudget(1)
     public ResponseEntity<SupplierDto> getSupplierById(@PathVariable Long id) {
 
         SupplierDto supplier = supplierService.getSupplierById(id);
@@ -1,14 +1,28 @@
 package com.example.ims_backend.controller;
 
 import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.dto.TransactionBatchLine;
 import com.example.ims_backend.dto.TransactionDto;
 import com.example.ims_backend.dto.TransactionRequest;
+import com.example.ims_backend.enums.ExportFormat;
 import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.exceptions.NameValueRequiredException;
+import com.example.ims_backend.metrics.QueryBudget;
+import com.example.ims_backend.services.ITransactionExportService;
 import com.example.ims_backend.services.ITransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -17,47 +31,115 @@ public class TransactionController {
 
 
     private final ITransactionService transactionService;
+    private final ITransactionExportService transactionExportService;
 
     @PostMapping("/purchase")
+    @QueryBudget(4)
     public ResponseEntity<TransactionDto> purchaseInventory(@RequestBody @Valid TransactionRequest transactionRequest) {
         return ResponseEntity.ok(transactionService.purchase(transactionRequest));
     }
 
     @PostMapping("/sell")
+    @QueryBudget(4)
     public ResponseEntity<TransactionDto> makeSale(@RequestBody @Valid TransactionRequest transactionRequest) {
         return ResponseEntity.ok(transactionService.sell(transactionRequest));
     }
 
     @PostMapping("/return")
+    @QueryBudget(4)
     public ResponseEntity<TransactionDto> returnToSupplier(@RequestBody @Valid TransactionRequest transactionRequest) {
         return ResponseEntity.ok(transactionService.returnToSupplier(transactionRequest));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Response> processBatch(@RequestBody List<TransactionBatchLine> lines) {
+        return ResponseEntity.ok(transactionService.processBatch(lines));
+    }
+
     @GetMapping("/all")
+    @QueryBudget(2)
     public ResponseEntity<Response> getAllTransactions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "1000") int size,
             @RequestParam(required = false) String filter) {
 
-        System.out.println("SEARCH VALUE IS: " +filter);
         return ResponseEntity.ok(transactionService.getAllTransactions(page, size, filter));
     }
 
 
+    @GetMapping("/scroll")
+    @QueryBudget(1)
+    public ResponseEntity<Response> scrollTransactions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String filter) {
+
+        return ResponseEntity.ok(transactionService.getTransactionsByCursor(cursor, afterId, beforeId, size, filter));
+    }
+
     @GetMapping("/{id}")
+    @QueryBudget(3)
     public ResponseEntity<Response> getTransactionById(@PathVariable Long id) {
         return ResponseEntity.ok(transactionService.getAllTransactionById(id));
     }
 
     @GetMapping("/by-month-year")
+    @QueryBudget(1)
     public ResponseEntity<Response> getTransactionByMonthAndYear(
             @RequestParam int month,
-            @RequestParam int year) {
+            @RequestParam int year,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) TransactionStatus status,
+            @RequestParam(required = false) Long productId) {
 
-        return ResponseEntity.ok(transactionService.getAllTransactionByMonthAndYear(month, year));
+        return ResponseEntity.ok(transactionService.getAllTransactionByMonthAndYear(month, year, type, status, productId));
+    }
+
+    @GetMapping("/by-date-range")
+    @QueryBudget(1)
+    public ResponseEntity<Response> getTransactionsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) TransactionStatus status,
+            @RequestParam(required = false) Long productId) {
+
+        return ResponseEntity.ok(transactionService.getTransactionsByDateRange(from, to, type, status, productId));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam int month,
+            @RequestParam int year,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        if (month < 1 || month > 12)
+            throw new NameValueRequiredException("Month must be between 1 and 12");
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new NameValueRequiredException("Unsupported export format: " + format);
+        }
+
+        YearMonth period = YearMonth.of(year, month);
+        StreamingResponseBody body = outputStream -> transactionExportService.exportTransactions(
+                period.atDay(1).atStartOfDay(), period.plusMonths(1).atDay(1).atStartOfDay(), exportFormat, outputStream);
+
+        String fileName = "transactions-" + period + (exportFormat == ExportFormat.CSV ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(exportFormat == ExportFormat.CSV
+                        ? MediaType.parseMediaType("text/csv")
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     @PutMapping("/{transactionId}")
+    @QueryBudget(2)
     public ResponseEntity<Response> updateTransactionStatus(
             @PathVariable Long transactionId,
             @RequestBody TransactionStatus status) {
@@ -2,13 +2,16 @@ package com.example.ims_backend.controller;
 
 import com.example.ims_backend.dto.Response;
 import com.example.ims_backend.dto.UserDto;
-import com.example.ims_backend.entity.User;
+import com.example.ims_backend.metrics.QueryBudget;
 import com.example.ims_backend.services.IUserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+
 
 @RestController
 @RequestMapping("/api/users")
@@ -25,6 +28,7 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
+    @QueryBudget(1)
     public ResponseEntity<Response> getUserById(@PathVariable Long id) {
         return ResponseEntity.ok(userService.getUserById(id));
     }
@@ -40,14 +44,24 @@ public class UserController {
         return ResponseEntity.ok(userService.deleteUser(id));
     }
 
+    /**
+     * A user's transactions, newest first, paged and limited to [from, to) (the last 90 days by default).
+     */
     @GetMapping("/transactions/{userId}")
-    public ResponseEntity<Response> getUserAndTransactions(@PathVariable Long userId) {
-        return ResponseEntity.ok(userService.getUserTransactions(userId));
+    @QueryBudget(3)
+    public ResponseEntity<Response> getUserAndTransactions(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userService.getUserTransactions(userId, from, to, page, size));
     }
 
     @GetMapping("/current")
-    public ResponseEntity<User> getCurrentUser(){
-        return ResponseEntity.ok(userService.getCurrentLoggedInUser());
+    @QueryBudget(1)
+    public ResponseEntity<UserDto> getCurrentUser(){
+        return ResponseEntity.ok(userService.getCurrentUser());
     }
 
 
@@ -0,0 +1,33 @@
+package com.example.ims_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DashboardSummary {
+
+    private BigDecimal inventoryValue; // sum of price x stock over all products
+    private int productCount;
+    private int lowStockCount;         // products with stock at or below lowStockThreshold
+    private int lowStockThreshold;
+
+    private LocalDate salesDate;
+    private long salesToday;           // number of sale transactions
+    private long unitsSoldToday;
+    private BigDecimal revenueToday;
+    private List<TopSeller> topSellers; // by units sold today
+
+    private LocalDateTime refreshedAt; // last full load; later changes of this instance are applied as they commit
+}
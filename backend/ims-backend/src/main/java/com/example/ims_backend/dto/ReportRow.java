@@ -0,0 +1,18 @@
+package com.example.ims_backend.dto;
+
+import com.example.ims_backend.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totals of one transaction type over one period, read from the rollup tables.
+ *
+ * @param period           the day, the first day of the month, or the start of a summary's range
+ * @param transactionCount number of transactions
+ * @param units            sum of their totalProducts
+ * @param amount           sum of their totalPrice (revenue for sales, cost for purchases)
+ */
+public record ReportRow(LocalDate period, TransactionType transactionType, Long transactionCount, Long units,
+                        BigDecimal amount) {
+}
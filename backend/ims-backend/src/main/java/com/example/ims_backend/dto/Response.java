@@ -26,6 +26,10 @@ public class Response {
     private Integer totalPages;
     private Long totalElements;
 
+    //for keyset (cursor) pagination, opaque tokens
+    private String nextCursor;
+    private String previousCursor;
+
     //data output optionals
     private UserDto user;
     private List<UserDto> users;
@@ -42,6 +46,15 @@ public class Response {
     private TransactionDto transaction;
     private List<TransactionDto> transactions;
 
+    //for batch ingestion
+    private List<TransactionBatchResult> batchResults;
+
+    //for reports
+    private List<ReportRow> report;
+
+    //for the dashboard
+    private DashboardSummary dashboard;
+
     private final LocalDateTime timestamp = LocalDateTime.now();
 
 }
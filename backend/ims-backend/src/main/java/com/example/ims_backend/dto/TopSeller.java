@@ -0,0 +1,12 @@
+package com.example.ims_backend.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * A product's sales today, as listed on the dashboard.
+ *
+ * @param units   units sold today
+ * @param revenue sum of today's sale prices
+ */
+public record TopSeller(Long productId, String name, String sku, long units, BigDecimal revenue) {
+}
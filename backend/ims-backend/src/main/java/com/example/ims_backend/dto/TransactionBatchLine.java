@@ -0,0 +1,26 @@
+package com.example.ims_backend.dto;
+
+import com.example.ims_backend.enums.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TransactionBatchLine {
+
+    private TransactionType transactionType; // purchase, sale, return
+
+    private Long productId;
+
+    private Long supplierId;
+
+    private Integer quantity;
+
+    private String description;
+
+    private String note;
+}
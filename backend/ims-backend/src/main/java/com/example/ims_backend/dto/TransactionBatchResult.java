@@ -0,0 +1,23 @@
+package com.example.ims_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionBatchResult {
+
+    private int line; // zero based position in the submitted batch
+
+    private boolean accepted;
+
+    private Long transactionId;
+
+    private String message;
+}
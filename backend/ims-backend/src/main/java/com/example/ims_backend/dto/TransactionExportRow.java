@@ -0,0 +1,39 @@
+package com.example.ims_backend.dto;
+
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat transaction row used by the streaming export, associations are reduced to their ids.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"id", "createdAt", "transactionType", "status", "totalProducts", "totalPrice",
+        "productId", "userId", "supplierId", "description", "note", "updateAt"})
+public class TransactionExportRow {
+
+    private Long id;
+    private LocalDateTime createdAt;
+    private TransactionType transactionType;
+    private TransactionStatus status;
+    private Integer totalProducts;
+    private BigDecimal totalPrice;
+    private Long productId;
+    private Long userId;
+    private Long supplierId;
+    private String description;
+    private String note;
+    private LocalDateTime updateAt;
+}
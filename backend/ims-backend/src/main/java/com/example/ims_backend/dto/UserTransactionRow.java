@@ -0,0 +1,16 @@
+package com.example.ims_backend.dto;
+
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One line of a user's transaction history, read by a constructor-expression query: the columns the
+ * transactions table shows plus the product's id, name and SKU, so no entity or association is loaded.
+ */
+public record UserTransactionRow(Long id, LocalDateTime createdAt, TransactionType transactionType,
+                                 TransactionStatus status, Integer totalProducts, BigDecimal totalPrice,
+                                 Long productId, String productName, String productSku) {
+}
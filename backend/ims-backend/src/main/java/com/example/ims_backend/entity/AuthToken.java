@@ -0,0 +1,33 @@
+package com.example.ims_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An issued token, by its jti. No foreign key to users: revocations must outlive a deleted user.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "auth_tokens")
+@Data
+@Builder
+public class AuthToken {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime revokedAt; // null while the token is usable
+}
@@ -0,0 +1,54 @@
+package com.example.ims_backend.entity;
+
+import com.example.ims_backend.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Count, units and amount of one product's transactions of one type on one day. Written with SQL upserts by
+ * {@link com.example.ims_backend.reports.TransactionRollups}, only read through JPA.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "daily_transaction_rollup")
+@IdClass(DailyTransactionRollup.Key.class)
+@Data
+@Builder
+public class DailyTransactionRollup {
+
+    @Id
+    private LocalDate rollupDate;
+
+    @Id
+    private Long productId; // 0 = none
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+
+    @Column(nullable = false)
+    private Long transactionCount;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate rollupDate;
+        private Long productId;
+        private TransactionType transactionType;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ims_backend.entity;
+
+import com.example.ims_backend.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Count, units and amount of the transactions of one type in one month, per product category and supplier.
+ * Written with SQL upserts by {@link com.example.ims_backend.reports.TransactionRollups}, only read through JPA.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "monthly_transaction_rollup")
+@IdClass(MonthlyTransactionRollup.Key.class)
+@Data
+@Builder
+public class MonthlyTransactionRollup {
+
+    @Id
+    private LocalDate rollupMonth; // first day of the month
+
+    @Id
+    private Long categoryId; // 0 = none
+
+    @Id
+    private Long supplierId; // 0 = none
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+
+    @Column(nullable = false)
+    private Long transactionCount;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate rollupMonth;
+        private Long categoryId;
+        private Long supplierId;
+        private TransactionType transactionType;
+    }
+}
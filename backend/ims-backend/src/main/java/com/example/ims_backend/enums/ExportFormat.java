@@ -0,0 +1,5 @@
+package com.example.ims_backend.enums;
+
+public enum ExportFormat {
+    NDJSON, CSV
+}
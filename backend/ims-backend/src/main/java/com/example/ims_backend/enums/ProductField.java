@@ -0,0 +1,38 @@
+package com.example.ims_backend.enums;
+
+import java.util.Locale;
+
+/**
+ * Product attributes a listing can select (sparse fieldsets) and sort by, named as in {@code ProductDto}.
+ */
+public enum ProductField {
+    ID, NAME, SKU, PRICE, STOCK_QUANTITY, DESCRIPTION, EXPIRY_DATE, IMAGE_URL, CREATED_AT, CATEGORY_ID;
+
+    private final String fieldName = toCamelCase(name());
+
+    /**
+     * @return the DTO/JSON name, e.g. stockQuantity
+     */
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * @param fieldName DTO/JSON name, case-insensitive
+     * @return the field, or null when there is no such field
+     */
+    public static ProductField fromFieldName(String fieldName) {
+        for (ProductField field : values()) {
+            if (field.fieldName.equalsIgnoreCase(fieldName.trim())) return field;
+        }
+        return null;
+    }
+
+    private static String toCamelCase(String constant) {
+        StringBuilder name = new StringBuilder();
+        for (String part : constant.toLowerCase(Locale.ROOT).split("_")) {
+            name.append(name.isEmpty() ? part : Character.toUpperCase(part.charAt(0)) + part.substring(1));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.ims_backend.events;
+
+import com.example.ims_backend.entity.Category;
+
+/**
+ * Published when a category is created, updated or deleted.
+ *
+ * @param categoryId
+ * @param category   the saved state, or null when the category was deleted
+ */
+public record CategoryChangedEvent(Long categoryId, Category category) {
+
+    public static CategoryChangedEvent saved(Category category) {
+        return new CategoryChangedEvent(category.getId(), category);
+    }
+
+    public static CategoryChangedEvent deleted(Long categoryId) {
+        return new CategoryChangedEvent(categoryId, null);
+    }
+
+    public boolean isDeleted() {
+        return category == null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.ims_backend.events;
+
+import com.example.ims_backend.entity.Product;
+
+/**
+ * Published when a product is created, updated or deleted.
+ *
+ * @param productId
+ * @param product   the saved state, or null when the product was deleted
+ */
+public record ProductChangedEvent(Long productId, Product product) {
+
+    public static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(product.getId(), product);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null);
+    }
+
+    public boolean isDeleted() {
+        return product == null;
+    }
+}
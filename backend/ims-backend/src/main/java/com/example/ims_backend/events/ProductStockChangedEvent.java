@@ -0,0 +1,21 @@
+package com.example.ims_backend.events;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Published when the stock level of products changes through a transaction (sale, purchase, return)
+ * rather than through a product update.
+ *
+ * @param stockDeltas the committed change per product id, positive for stock added
+ */
+public record ProductStockChangedEvent(Map<Long, Integer> stockDeltas) {
+
+    public static ProductStockChangedEvent of(Long productId, int delta) {
+        return new ProductStockChangedEvent(Map.of(productId, delta));
+    }
+
+    public Collection<Long> productIds() {
+        return stockDeltas.keySet();
+    }
+}
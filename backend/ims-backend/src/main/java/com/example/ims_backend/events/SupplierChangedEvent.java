@@ -0,0 +1,24 @@
+package com.example.ims_backend.events;
+
+import com.example.ims_backend.entity.Supplier;
+
+/**
+ * Published when a supplier is created, updated or deleted.
+ *
+ * @param supplierId
+ * @param supplier   the saved state, or null when the supplier was deleted
+ */
+public record SupplierChangedEvent(Long supplierId, Supplier supplier) {
+
+    public static SupplierChangedEvent saved(Supplier supplier) {
+        return new SupplierChangedEvent(supplier.getId(), supplier);
+    }
+
+    public static SupplierChangedEvent deleted(Long supplierId) {
+        return new SupplierChangedEvent(supplierId, null);
+    }
+
+    public boolean isDeleted() {
+        return supplier == null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.ims_backend.events;
+
+import java.time.YearMonth;
+
+/**
+ * Published when a month of transactions has been moved out of the database into its archive file. Listeners
+ * that keep in-memory views run after the surrounding DB transaction commits.
+ *
+ * @param month    the archived month
+ * @param archived number of transactions removed from the table
+ */
+public record TransactionsArchivedEvent(YearMonth month, long archived) {
+}
@@ -0,0 +1,14 @@
+package com.example.ims_backend.events;
+
+import com.example.ims_backend.entity.Transaction;
+
+import java.util.List;
+
+/**
+ * Published when transactions are recorded or their status changes. Listeners that keep
+ * in-memory views run after the surrounding DB transaction commits.
+ *
+ * @param transactions the saved transactions (ids assigned)
+ */
+public record TransactionsChangedEvent(List<Transaction> transactions) {
+}
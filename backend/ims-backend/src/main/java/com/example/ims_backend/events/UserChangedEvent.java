@@ -0,0 +1,24 @@
+package com.example.ims_backend.events;
+
+import com.example.ims_backend.entity.User;
+
+/**
+ * Published when a user is created, updated or deleted.
+ *
+ * @param userId
+ * @param user   the saved state, or null when the user was deleted
+ */
+public record UserChangedEvent(Long userId, User user) {
+
+    public static UserChangedEvent saved(User user) {
+        return new UserChangedEvent(user.getId(), user);
+    }
+
+    public static UserChangedEvent deleted(Long userId) {
+        return new UserChangedEvent(userId, null);
+    }
+
+    public boolean isDeleted() {
+        return user == null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.ims_backend.exceptions;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
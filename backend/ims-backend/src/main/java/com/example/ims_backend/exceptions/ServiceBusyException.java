@@ -0,0 +1,7 @@
+package com.example.ims_backend.exceptions;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.ims_backend.mapper;
+
+import com.example.ims_backend.dto.CategoryDto;
+import com.example.ims_backend.entity.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Category <-> CategoryDto. The products collection is only read by {@link #toDtoWithProducts}.
+ */
+public final class CategoryMapper {
+
+    private CategoryMapper() {
+    }
+
+    public static CategoryDto toDto(Category category) {
+        if (category == null) return null;
+
+        return new CategoryDto(category.getId(), category.getName(), null);
+    }
+
+    public static CategoryDto toDtoWithProducts(Category category) {
+        CategoryDto categoryDto = toDto(category);
+        if (categoryDto != null && category.getProducts() != null) {
+            categoryDto.setProducts(ProductMapper.toDtos(category.getProducts()));
+        }
+        return categoryDto;
+    }
+
+    public static List<CategoryDto> toDtos(List<Category> categories) {
+        List<CategoryDto> categoryDtos = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            categoryDtos.add(toDto(category));
+        }
+        return categoryDtos;
+    }
+
+    /**
+     * @return a new, unsaved category; the id and products of the DTO are ignored
+     */
+    public static Category toEntity(CategoryDto categoryDto) {
+        return Category.builder()
+                .name(categoryDto.getName())
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.ims_backend.mapper;
+
+import com.example.ims_backend.dto.ProductDto;
+import com.example.ims_backend.entity.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Product -> ProductDto. Only the id is read from the category, which an uninitialized proxy answers
+ * without a query.
+ */
+public final class ProductMapper {
+
+    private ProductMapper() {
+    }
+
+    public static ProductDto toDto(Product product) {
+        if (product == null) return null;
+
+        ProductDto productDto = new ProductDto();
+        productDto.setId(product.getId());
+        productDto.setProductId(product.getId());
+        productDto.setCategoryId(product.getCategory() == null ? null : product.getCategory().getId());
+        productDto.setName(product.getName());
+        productDto.setSku(product.getSku());
+        productDto.setPrice(product.getPrice());
+        productDto.setStockQuantity(product.getStockQuantity());
+        productDto.setDescription(product.getDescription());
+        productDto.setExpiryDate(product.getExpiryDate());
+        productDto.setImageUrl(product.getImageUrl());
+        productDto.setCreatedAt(product.getCreatedAt());
+        return productDto;
+    }
+
+    public static List<ProductDto> toDtos(List<Product> products) {
+        List<ProductDto> productDtos = new ArrayList<>(products.size());
+        for (Product product : products) {
+            productDtos.add(toDto(product));
+        }
+        return productDtos;
+    }
+}
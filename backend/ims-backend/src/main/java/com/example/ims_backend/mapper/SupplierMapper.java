@@ -0,0 +1,41 @@
+package com.example.ims_backend.mapper;
+
+import com.example.ims_backend.dto.SupplierDto;
+import com.example.ims_backend.entity.Supplier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Supplier <-> SupplierDto.
+ */
+public final class SupplierMapper {
+
+    private SupplierMapper() {
+    }
+
+    public static SupplierDto toDto(Supplier supplier) {
+        if (supplier == null) return null;
+
+        return new SupplierDto(supplier.getId(), supplier.getName(), supplier.getContactInfo(), supplier.getAddress());
+    }
+
+    public static List<SupplierDto> toDtos(List<Supplier> suppliers) {
+        List<SupplierDto> supplierDtos = new ArrayList<>(suppliers.size());
+        for (Supplier supplier : suppliers) {
+            supplierDtos.add(toDto(supplier));
+        }
+        return supplierDtos;
+    }
+
+    /**
+     * @return a new, unsaved supplier; the id of the DTO is ignored
+     */
+    public static Supplier toEntity(SupplierDto supplierDto) {
+        return Supplier.builder()
+                .name(supplierDto.getName())
+                .contactInfo(supplierDto.getContactInfo())
+                .address(supplierDto.getAddress())
+                .build();
+    }
+}
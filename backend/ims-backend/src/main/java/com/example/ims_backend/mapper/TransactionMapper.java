@@ -0,0 +1,99 @@
+package com.example.ims_backend.mapper;
+
+import com.example.ims_backend.dto.ProductDto;
+import com.example.ims_backend.dto.TransactionExportRow;
+import com.example.ims_backend.dto.TransactionDto;
+import com.example.ims_backend.dto.UserDto;
+import com.example.ims_backend.dto.UserTransactionRow;
+import com.example.ims_backend.entity.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transaction -> TransactionDto.
+ * <p>
+ * {@link #toDto} copies the transaction's own columns and never touches product, user or supplier, so list
+ * endpoints do not initialize those lazy associations. {@link #toDetailDto} adds all three for single
+ * transaction views. A {@link UserTransactionRow} maps to the listed columns plus the product's id, name and SKU;
+ * an archived {@link TransactionExportRow} to the same fields as {@link #toDto(Transaction)}.
+ */
+public final class TransactionMapper {
+
+    private TransactionMapper() {
+    }
+
+    public static TransactionDto toDto(Transaction transaction) {
+        if (transaction == null) return null;
+
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setId(transaction.getId());
+        transactionDto.setTotalProducts(transaction.getTotalProducts());
+        transactionDto.setTotalPrice(transaction.getTotalPrice());
+        transactionDto.setTransactionType(transaction.getTransactionType());
+        transactionDto.setStatus(transaction.getStatus());
+        transactionDto.setDescription(transaction.getDescription());
+        transactionDto.setNote(transaction.getNote());
+        transactionDto.setCreatedAt(transaction.getCreatedAt());
+        transactionDto.setUpdateAt(transaction.getUpdateAt());
+        return transactionDto;
+    }
+
+    public static TransactionDto toDetailDto(Transaction transaction) {
+        return transaction == null ? null : toDetailDto(transaction, UserMapper.toDto(transaction.getUser()));
+    }
+
+    /**
+     * Like {@link #toDetailDto(Transaction)} with the user supplied by the caller, so the transaction's user
+     * reference is not loaded.
+     */
+    public static TransactionDto toDetailDto(Transaction transaction, UserDto user) {
+        TransactionDto transactionDto = toDto(transaction);
+        if (transactionDto == null) return null;
+
+        transactionDto.setProduct(ProductMapper.toDto(transaction.getProduct()));
+        transactionDto.setUser(user);
+        transactionDto.setSupplier(SupplierMapper.toDto(transaction.getSupplier()));
+        return transactionDto;
+    }
+
+    public static List<TransactionDto> toDtos(List<Transaction> transactions) {
+        List<TransactionDto> transactionDtos = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            transactionDtos.add(toDto(transaction));
+        }
+        return transactionDtos;
+    }
+
+    public static TransactionDto toDto(UserTransactionRow row) {
+        ProductDto product = new ProductDto();
+        product.setId(row.productId());
+        product.setProductId(row.productId());
+        product.setName(row.productName());
+        product.setSku(row.productSku());
+
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setId(row.id());
+        transactionDto.setTotalProducts(row.totalProducts());
+        transactionDto.setTotalPrice(row.totalPrice());
+        transactionDto.setTransactionType(row.transactionType());
+        transactionDto.setStatus(row.status());
+        transactionDto.setCreatedAt(row.createdAt());
+        transactionDto.setProduct(product);
+        return transactionDto;
+    }
+
+    public static TransactionDto toDto(TransactionExportRow row) {
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setId(row.getId());
+        transactionDto.setTotalProducts(row.getTotalProducts());
+        transactionDto.setTotalPrice(row.getTotalPrice());
+        transactionDto.setTransactionType(row.getTransactionType());
+        transactionDto.setStatus(row.getStatus());
+        transactionDto.setDescription(row.getDescription());
+        transactionDto.setNote(row.getNote());
+        transactionDto.setCreatedAt(row.getCreatedAt());
+        transactionDto.setUpdateAt(row.getUpdateAt());
+        return transactionDto;
+    }
+}
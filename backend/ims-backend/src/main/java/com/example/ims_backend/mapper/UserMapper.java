@@ -0,0 +1,37 @@
+package com.example.ims_backend.mapper;
+
+import com.example.ims_backend.dto.UserDto;
+import com.example.ims_backend.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * User -> UserDto. Neither the password hash nor the transactions collection are copied.
+ */
+public final class UserMapper {
+
+    private UserMapper() {
+    }
+
+    public static UserDto toDto(User user) {
+        if (user == null) return null;
+
+        UserDto userDto = new UserDto();
+        userDto.setId(user.getId());
+        userDto.setName(user.getName());
+        userDto.setEmail(user.getEmail());
+        userDto.setPhoneNumber(user.getPhoneNumber());
+        userDto.setRole(user.getRole());
+        userDto.setCreatedAt(user.getCreatedAt());
+        return userDto;
+    }
+
+    public static List<UserDto> toDtos(List<User> users) {
+        List<UserDto> userDtos = new ArrayList<>(users.size());
+        for (User user : users) {
+            userDtos.add(toDto(user));
+        }
+        return userDtos;
+    }
+}
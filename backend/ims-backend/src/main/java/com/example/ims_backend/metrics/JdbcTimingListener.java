@@ -0,0 +1,40 @@
+package com.example.ims_backend.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time Hibernate spends in JDBC execute calls, single statements and batches, to the current
+ * request's {@link SqlStatistics}. Hibernate creates one per session, through
+ * {@code hibernate.session.events.auto}.
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    private long started;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.jdbcTime(System.nanoTime() - started);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.ims_backend.metrics;
+
+import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.dto.TransactionBatchLine;
+import com.example.ims_backend.dto.TransactionDto;
+import com.example.ims_backend.dto.TransactionRequest;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.exceptions.InsufficientStockException;
+import com.example.ims_backend.exceptions.NameValueRequiredException;
+import com.example.ims_backend.exceptions.NotFoundException;
+import com.example.ims_backend.services.ITransactionService;
+import com.example.ims_backend.services.impl.TransactionServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times every {@link ITransactionService} operation around the transactional service, so commit time is
+ * included: {@code ims.transactions.operation{operation, type, outcome}}, where type is the transaction type
+ * for purchase / sell / return and {@code none} for reads, and outcome is {@code success}, {@code
+ * insufficient_stock}, {@code not_found}, {@code invalid}, {@code conflict} or {@code error}. Units moved by
+ * successful stock operations are counted in {@code ims.transactions.units{type}}.
+ */
+@Service
+@Primary
+public class MeteredTransactionService implements ITransactionService {
+
+    private static final String NONE = "none";
+
+    private final TransactionServiceImpl transactionService;
+    private final MeterRegistry meterRegistry;
+
+    public MeteredTransactionService(TransactionServiceImpl transactionService, MeterRegistry meterRegistry) {
+        this.transactionService = transactionService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public TransactionDto purchase(TransactionRequest transactionRequest) {
+        return stockOperation("purchase", TransactionType.PURCHASE, () -> transactionService.purchase(transactionRequest));
+    }
+
+    @Override
+    public TransactionDto sell(TransactionRequest transactionRequest) {
+        return stockOperation("sell", TransactionType.SALE, () -> transactionService.sell(transactionRequest));
+    }
+
+    @Override
+    public TransactionDto returnToSupplier(TransactionRequest transactionRequest) {
+        return stockOperation("return", TransactionType.RETURN_TO_SUPPLIER,
+                () -> transactionService.returnToSupplier(transactionRequest));
+    }
+
+    @Override
+    public Response processBatch(List<TransactionBatchLine> lines) {
+        return record("batch", "mixed", () -> transactionService.processBatch(lines));
+    }
+
+    @Override
+    public Response getAllTransactions(int page, int size, String filter) {
+        return record("list", NONE, () -> transactionService.getAllTransactions(page, size, filter));
+    }
+
+    @Override
+    public Response getTransactionsByCursor(String cursor, Long afterId, Long beforeId, int size, String filter) {
+        return record("scroll", NONE,
+                () -> transactionService.getTransactionsByCursor(cursor, afterId, beforeId, size, filter));
+    }
+
+    @Override
+    public Response getAllTransactionById(Long id) {
+        return record("get", NONE, () -> transactionService.getAllTransactionById(id));
+    }
+
+    @Override
+    public Response getAllTransactionByMonthAndYear(int month, int year, TransactionType type, TransactionStatus status, Long productId) {
+        return record("by_month", NONE,
+                () -> transactionService.getAllTransactionByMonthAndYear(month, year, type, status, productId));
+    }
+
+    @Override
+    public Response getTransactionsByDateRange(LocalDateTime from, LocalDateTime to, TransactionType type, TransactionStatus status, Long productId) {
+        return record("by_date_range", NONE,
+                () -> transactionService.getTransactionsByDateRange(from, to, type, status, productId));
+    }
+
+    @Override
+    public Response updateTransactionStatus(Long transactionId, TransactionStatus status) {
+        return record("update_status", NONE, () -> transactionService.updateTransactionStatus(transactionId, status));
+    }
+
+    private TransactionDto stockOperation(String operation, TransactionType type, Supplier<TransactionDto> call) {
+        TransactionDto transaction = record(operation, type.name(), call);
+        if (transaction != null && transaction.getTotalProducts() != null) {
+            Counter.builder("ims.transactions.units")
+                    .description("Units moved by completed stock operations")
+                    .tag("type", type.name())
+                    .register(meterRegistry)
+                    .increment(transaction.getTotalProducts());
+        }
+        return transaction;
+    }
+
+    private <T> T record(String operation, String type, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            Timer.builder("ims.transactions.operation")
+                    .description("Transaction service operations")
+                    .tag("operation", operation)
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String outcome(RuntimeException e) {
+        if (e instanceof InsufficientStockException) return "insufficient_stock";
+        if (e instanceof NotFoundException) return "not_found";
+        if (e instanceof NameValueRequiredException || e instanceof IllegalArgumentException) return "invalid";
+        if (e instanceof OptimisticLockingFailureException) return "conflict";
+        return "error";
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.ims_backend.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most SQL statements one request to the annotated endpoint (or every endpoint of the annotated controller)
+ * may run, authentication included. Enforced only with {@code ims.sql.budget.enforce=true}, as the test
+ * configuration does, so an integration test that drives the endpoint over it fails; see
+ * {@link SqlBudgetAdvice}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
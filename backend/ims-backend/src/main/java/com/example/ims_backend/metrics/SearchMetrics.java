@@ -0,0 +1,23 @@
+package com.example.ims_backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@code ims.search{entity, method}}: latency of a free-text search, by what was searched ({@code product},
+ * {@code transaction}) and how ({@code index} for the in-memory indexes, {@code database} for a LIKE query,
+ * {@code specification} for {@code TransactionFilter.byFilter}).
+ */
+public final class SearchMetrics {
+
+    private SearchMetrics() {
+    }
+
+    public static Timer timer(MeterRegistry meterRegistry, String entity, String method) {
+        return Timer.builder("ims.search")
+                .description("Free-text search latency")
+                .tag("entity", entity)
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+}
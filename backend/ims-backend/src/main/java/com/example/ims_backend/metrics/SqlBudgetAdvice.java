@@ -0,0 +1,92 @@
+package com.example.ims_backend.metrics;
+
+import com.example.ims_backend.exceptions.QueryBudgetExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Applies the request's {@link SqlStatistics} just before the response body is written, while headers can
+ * still be set; statements run after that point (streamed exports) are counted in the metrics only.
+ * <ul>
+ *     <li>{@code ims.sql.response-headers=true} (development): {@code X-Sql-Statements}, {@code X-Sql-Time-Ms}
+ *     and {@code X-Sql-Repeated}, the number of probable N+1 shapes.</li>
+ *     <li>{@code ims.sql.budget.enforce=true} (tests): a request that ran more statements than its
+ *     {@link QueryBudget}, or {@code ims.sql.budget.default} when it has none, is answered 500 with the
+ *     count and the budget in the message.</li>
+ * </ul>
+ */
+@ControllerAdvice
+public class SqlBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    private final boolean responseHeaders;
+    private final boolean enforce;
+    private final int defaultBudget;
+    private final int nPlusOneThreshold;
+
+    public SqlBudgetAdvice(@Value("${ims.sql.response-headers:false}") boolean responseHeaders,
+                           @Value("${ims.sql.budget.enforce:false}") boolean enforce,
+                           @Value("${ims.sql.budget.default:0}") int defaultBudget,
+                           @Value("${ims.sql.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.responseHeaders = responseHeaders;
+        this.enforce = enforce;
+        this.defaultBudget = defaultBudget;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return responseHeaders || enforce;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics == null) return body;
+
+        if (responseHeaders) {
+            HttpHeaders headers = response.getHeaders();
+            headers.set("X-Sql-Statements", String.valueOf(statistics.statements()));
+            headers.set("X-Sql-Time-Ms", String.valueOf(statistics.jdbcTime().toMillis()));
+            headers.set("X-Sql-Repeated", String.valueOf(statistics.repeatedSelects(nPlusOneThreshold).size()));
+        }
+
+        if (enforce && statistics.checkBudgetOnce()) {
+            int budget = budget(returnType);
+            if (budget > 0 && statistics.statements() > budget) {
+                throw new QueryBudgetExceededException(endpoint(request) + " ran " + statistics.statements() +
+                        " SQL statements, over its budget of " + budget);
+            }
+        }
+        return body;
+    }
+
+    private int budget(MethodParameter returnType) {
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(returnType.getExecutable(), QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(returnType.getContainingClass(), QueryBudget.class);
+        }
+        return budget == null ? defaultBudget : budget.value();
+    }
+
+    private static String endpoint(ServerHttpRequest request) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            HttpServletRequest httpServletRequest = servletRequest.getServletRequest();
+            Object pattern = httpServletRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return httpServletRequest.getMethod() + " " + (pattern != null ? pattern : httpServletRequest.getRequestURI());
+        }
+        return request.getMethod() + " " + request.getURI().getPath();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.ims_backend.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares into the current request's {@link SqlStatistics}; the SQL itself
+ * is passed through unchanged.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.statement(sql);
+        }
+        return sql;
+    }
+}
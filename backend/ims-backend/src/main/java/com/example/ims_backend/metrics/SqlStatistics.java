@@ -0,0 +1,94 @@
+package com.example.ims_backend.metrics;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL issued by Hibernate on the current thread between {@link #start()} and {@link #stop()}, one per HTTP
+ * request (see {@link SqlStatisticsFilter}): the statement count, the time spent executing them and how often
+ * each select shape (the SQL with literals replaced and whitespace collapsed) ran. Filled in by
+ * {@link SqlStatementInspector} and {@link JdbcTimingListener}; statements run through JdbcTemplate are not
+ * seen.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern LITERAL = Pattern.compile("'(?:[^']|'')*'|\\b\\d+\\b");
+
+    private int statements;
+    private long jdbcNanos;
+    private final Map<String, Integer> selectsByShape = new HashMap<>();
+    private boolean budgetChecked;
+
+    private SqlStatistics() {
+    }
+
+    static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * @return the statistics of the request on this thread, null outside a request
+     */
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    void statement(String sql) {
+        statements++;
+        String shape = shape(sql);
+        if (shape.regionMatches(true, 0, "select", 0, 6)) {
+            selectsByShape.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    void jdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public Duration jdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    /**
+     * @param threshold how many runs of one shape make a probable N+1
+     * @return select shapes run at least {@code threshold} times, with their counts, most frequent first
+     */
+    public Map<String, Integer> repeatedSelects(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        selectsByShape.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    /**
+     * @return true the first time it is called, so a budget is enforced once even though the error response
+     * for a breach passes through the same check
+     */
+    boolean checkBudgetOnce() {
+        if (budgetChecked) return false;
+        budgetChecked = true;
+        return true;
+    }
+
+    static String shape(String sql) {
+        return LITERAL.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("?");
+    }
+}
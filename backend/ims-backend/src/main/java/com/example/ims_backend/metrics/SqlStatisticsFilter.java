@@ -0,0 +1,84 @@
+package com.example.ims_backend.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Collects {@link SqlStatistics} for each request, ahead of the security chain so the statements made while
+ * authenticating count too, and publishes them per endpoint: {@code ims.sql.statements{method, uri}},
+ * {@code ims.sql.time{method, uri}} and {@code ims.sql.n_plus_one{method, uri}}, one per select shape that
+ * ran {@code ims.sql.n-plus-one-threshold} times or more, each also logged as a warning with its SQL.
+ * Headers and budgets are applied as the body is written, by {@link SqlBudgetAdvice}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry,
+                               @Value("${ims.sql.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        SqlStatistics statistics = SqlStatistics.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatistics.stop();
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        String method = request.getMethod();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        DistributionSummary.builder("ims.sql.statements")
+                .description("SQL statements per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.statements());
+        Timer.builder("ims.sql.time")
+                .description("JDBC execution time per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.jdbcTime());
+
+        for (Map.Entry<String, Integer> repeated : statistics.repeatedSelects(nPlusOneThreshold).entrySet()) {
+            Counter.builder("ims.sql.n_plus_one")
+                    .description("Select shapes repeated often enough within one request to be a probable N+1")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Probable N+1 in {} {}: {} x {}", method, uri, repeated.getValue(), repeated.getKey());
+        }
+    }
+}
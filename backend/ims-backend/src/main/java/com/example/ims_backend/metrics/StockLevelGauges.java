@@ -0,0 +1,97 @@
+package com.example.ims_backend.metrics;
+
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.events.ProductChangedEvent;
+import com.example.ims_backend.events.ProductStockChangedEvent;
+import com.example.ims_backend.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * {@code ims.stock.level{sku}} for the SKUs listed in {@code ims.metrics.tracked-skus}. The gauges read a held
+ * value, so a scrape never queries; the value is re-read for a tracked product after a committed stock
+ * movement ({@link ProductStockChangedEvent}) or product update, and a tracked SKU created later gets its
+ * gauge when it is saved.
+ */
+@Component
+@Slf4j
+public class StockLevelGauges {
+
+    private final ProductRepository productRepository;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> trackedSkus;
+    private final Map<Long, AtomicInteger> levels = new ConcurrentHashMap<>(); // by product id
+
+    public StockLevelGauges(ProductRepository productRepository, MeterRegistry meterRegistry,
+                            @Value("${ims.metrics.tracked-skus:}") List<String> trackedSkus) {
+        this.productRepository = productRepository;
+        this.meterRegistry = meterRegistry;
+        this.trackedSkus = trackedSkus.stream()
+                .map(String::trim)
+                .filter(sku -> !sku.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerGauges() {
+        for (String sku : trackedSkus) {
+            productRepository.findBySku(sku).ifPresentOrElse(this::track,
+                    () -> log.warn("Tracked SKU {} not found, its stock gauge starts when it is created", sku));
+        }
+    }
+
+    // ===== Refresh (after commit) =====
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductStockChanged(ProductStockChangedEvent event) {
+        refresh(event.productIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            AtomicInteger level = levels.get(event.productId());
+            if (level != null) level.set(0);
+        } else if (levels.containsKey(event.productId())) {
+            refresh(List.of(event.productId()));
+        } else if (trackedSkus.contains(event.product().getSku())) {
+            track(event.product());
+        }
+    }
+
+    private void track(Product product) {
+        AtomicInteger level = levels.computeIfAbsent(product.getId(), id -> {
+            AtomicInteger held = new AtomicInteger();
+            Gauge.builder("ims.stock.level", held, AtomicInteger::get)
+                    .description("Stock quantity of a tracked SKU")
+                    .baseUnit("units")
+                    .tag("sku", product.getSku())
+                    .register(meterRegistry);
+            return held;
+        });
+        level.set(product.getStockQuantity() == null ? 0 : product.getStockQuantity());
+    }
+
+    private void refresh(Collection<Long> productIds) {
+        for (Long productId : productIds) {
+            AtomicInteger level = levels.get(productId);
+            if (level == null) continue;
+            Integer stock = productRepository.findStockQuantityById(productId);
+            level.set(stock == null ? 0 : stock);
+        }
+    }
+}
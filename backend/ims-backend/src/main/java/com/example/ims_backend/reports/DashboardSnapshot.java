@@ -0,0 +1,313 @@
+package com.example.ims_backend.reports;
+
+import com.example.ims_backend.dto.DashboardSummary;
+import com.example.ims_backend.dto.TopSeller;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.entity.Transaction;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.events.ProductChangedEvent;
+import com.example.ims_backend.events.ProductStockChangedEvent;
+import com.example.ims_backend.events.TransactionsChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory dashboard KPIs: inventory value, low-stock count, today's sales and top sellers. Reads never
+ * query; the summary is computed once per change and then served as is.
+ * <p>
+ * Everything is loaded from the database on startup and again every {@code ims.dashboard.max-staleness},
+ * which bounds how far behind the snapshot can be (writes made by other instances, events missed while a
+ * load was running). In between it is kept current from the domain events this instance publishes after
+ * commit: stock movements carry their delta, product saves carry price and stock, recorded sales are added
+ * once each. Cancelled sales are not counted, like in the report rollups: cancelling one of today's sales
+ * takes it out again and un-cancelling puts it back.
+ */
+@Component
+@Slf4j
+public class DashboardSnapshot {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int lowStockThreshold;
+    private final int topSellerCount;
+
+    // guarded by this
+    private final Map<Long, StockLevel> stockLevels = new HashMap<>();
+    private final Map<Long, ProductSales> salesByProduct = new HashMap<>();
+    private final Set<Long> countedSales = new HashSet<>(); // today's sales that are not cancelled
+    private BigDecimal inventoryValue = BigDecimal.ZERO;
+    private int lowStockCount;
+    private LocalDate salesDate;
+    private volatile LocalDateTime refreshedAt;
+    // one load at a time; held across the queries, so not synchronized, which would pin a virtual thread
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile DashboardSummary summary; // null once something changed
+
+    public DashboardSnapshot(JdbcTemplate jdbcTemplate,
+                             @Value("${ims.dashboard.low-stock-threshold:10}") int lowStockThreshold,
+                             @Value("${ims.dashboard.top-sellers:5}") int topSellerCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lowStockThreshold = lowStockThreshold;
+        this.topSellerCount = topSellerCount;
+    }
+
+    public DashboardSummary summary() {
+        DashboardSummary current = summary;
+        if (current != null && LocalDate.now().equals(current.getSalesDate())) return current;
+
+        if (refreshedAt == null) loadOnce();
+        synchronized (this) {
+            startDay(LocalDate.now());
+            if (summary == null) summary = compute();
+            return summary;
+        }
+    }
+
+    // ===== Full load =====
+
+    /**
+     * Replaces the snapshot with the products and today's sales as they are in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${ims.dashboard.max-staleness:60s}",
+            initialDelayString = "${ims.dashboard.max-staleness:60s}")
+    public void reload() {
+        loadLock.lock();
+        try {
+            load();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // requests that arrive before the startup load wait for one load instead of each running their own
+    private void loadOnce() {
+        loadLock.lock();
+        try {
+            if (refreshedAt == null) load();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+
+        Map<Long, StockLevel> loadedLevels = new HashMap<>();
+        jdbcTemplate.query("select id, price, stock_quantity from products", (ResultSet rs) -> {
+            loadedLevels.put(rs.getLong("id"), new StockLevel(rs.getBigDecimal("price"), rs.getInt("stock_quantity")));
+        });
+
+        Map<Long, ProductSales> loadedSales = new HashMap<>();
+        Set<Long> loadedIds = new HashSet<>();
+        jdbcTemplate.query("select t.id, t.product_id, t.total_products, t.total_price, p.name, p.sku " +
+                        "from transactions t left join products p on p.id = t.product_id " +
+                        "where t.created_at >= ? and t.transaction_type = 'SALE' " +
+                        "and (t.status is null or t.status <> 'CANCELLED')",
+                (ResultSet rs) -> {
+                    loadedIds.add(rs.getLong("id"));
+                    long productId = rs.getLong("product_id");
+                    ProductSales sales = loadedSales.get(productId);
+                    if (sales == null) {
+                        sales = new ProductSales(productId, rs.getString("name"), rs.getString("sku"));
+                        loadedSales.put(productId, sales);
+                    }
+                    sales.add(rs.getInt("total_products"), rs.getBigDecimal("total_price"));
+                }, Timestamp.valueOf(today.atStartOfDay()));
+
+        synchronized (this) {
+            stockLevels.clear();
+            inventoryValue = BigDecimal.ZERO;
+            lowStockCount = 0;
+            loadedLevels.forEach(this::putStockLevel);
+
+            salesByProduct.clear();
+            salesByProduct.putAll(loadedSales);
+            countedSales.clear();
+            countedSales.addAll(loadedIds);
+            salesDate = today;
+
+            refreshedAt = now;
+            summary = null;
+        }
+        log.debug("Dashboard snapshot loaded: {} products, {} sales today in {} ms",
+                loadedLevels.size(), loadedIds.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // ===== Incremental maintenance =====
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductStockChanged(ProductStockChangedEvent event) {
+        event.stockDeltas().forEach((productId, delta) -> {
+            StockLevel level = stockLevels.get(productId);
+            if (level == null) return; // created by another instance, picked up by the next load
+            putStockLevel(productId, new StockLevel(level.price(), level.stock() + delta));
+        });
+        summary = null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            putStockLevel(event.productId(), null);
+            salesByProduct.remove(event.productId());
+        } else {
+            Product product = event.product();
+            putStockLevel(product.getId(), new StockLevel(product.getPrice(),
+                    product.getStockQuantity() == null ? 0 : product.getStockQuantity()));
+            ProductSales sales = salesByProduct.get(product.getId());
+            if (sales != null) salesByProduct.put(product.getId(), sales.renamed(product.getName(), product.getSku()));
+        }
+        summary = null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTransactionsChanged(TransactionsChangedEvent event) {
+        startDay(LocalDate.now());
+        for (Transaction transaction : event.transactions()) {
+            if (transaction.getTransactionType() != TransactionType.SALE) continue;
+            if (!salesDate.equals(transaction.getCreatedAt().toLocalDate())) continue;
+
+            Product product = transaction.getProduct();
+            long productId = product == null ? 0 : product.getId();
+            int quantity = transaction.getTotalProducts() == null ? 0 : transaction.getTotalProducts();
+            if (transaction.getStatus() == TransactionStatus.CANCELLED) {
+                if (!countedSales.remove(transaction.getId())) continue;
+                ProductSales sales = salesByProduct.get(productId);
+                if (sales != null && sales.subtract(quantity, transaction.getTotalPrice()) == 0)
+                    salesByProduct.remove(productId);
+            } else {
+                if (!countedSales.add(transaction.getId())) continue; // status changes publish it again
+                // a status update's product is an unloaded proxy, named by the next load unless already known
+                boolean named = product != null && Hibernate.isInitialized(product);
+                salesByProduct.computeIfAbsent(productId, id -> named
+                                ? new ProductSales(id, product.getName(), product.getSku()) : new ProductSales(id, null, null))
+                        .add(quantity, transaction.getTotalPrice());
+            }
+            summary = null;
+        }
+    }
+
+    // ===== Internals (callers hold the lock) =====
+
+    private void putStockLevel(Long productId, StockLevel level) {
+        StockLevel previous = level == null ? stockLevels.remove(productId) : stockLevels.put(productId, level);
+        if (previous != null) {
+            inventoryValue = inventoryValue.subtract(previous.value());
+            if (previous.stock() <= lowStockThreshold) lowStockCount--;
+        }
+        if (level != null) {
+            inventoryValue = inventoryValue.add(level.value());
+            if (level.stock() <= lowStockThreshold) lowStockCount++;
+        }
+    }
+
+    // sales are per day: the first change or read of a new day starts from zero
+    private void startDay(LocalDate today) {
+        if (today.equals(salesDate)) return;
+        salesByProduct.clear();
+        countedSales.clear();
+        salesDate = today;
+        summary = null;
+    }
+
+    private DashboardSummary compute() {
+        long salesToday = 0;
+        long unitsSoldToday = 0;
+        BigDecimal revenueToday = BigDecimal.ZERO;
+        for (ProductSales sales : salesByProduct.values()) {
+            salesToday += sales.count;
+            unitsSoldToday += sales.units;
+            revenueToday = revenueToday.add(sales.revenue);
+        }
+
+        List<TopSeller> topSellers = new ArrayList<>(Math.min(topSellerCount, salesByProduct.size()));
+        salesByProduct.values().stream()
+                .sorted(Comparator.comparingLong((ProductSales sales) -> sales.units).reversed()
+                        .thenComparing(sales -> sales.revenue, Comparator.reverseOrder())
+                        .thenComparing(sales -> sales.productId))
+                .limit(topSellerCount)
+                .forEach(sales -> topSellers.add(new TopSeller(sales.productId, sales.name, sales.sku, sales.units,
+                        sales.revenue)));
+
+        return DashboardSummary.builder()
+                .inventoryValue(inventoryValue)
+                .productCount(stockLevels.size())
+                .lowStockCount(lowStockCount)
+                .lowStockThreshold(lowStockThreshold)
+                .salesDate(salesDate)
+                .salesToday(salesToday)
+                .unitsSoldToday(unitsSoldToday)
+                .revenueToday(revenueToday)
+                .topSellers(topSellers)
+                .refreshedAt(refreshedAt)
+                .build();
+    }
+
+    private record StockLevel(BigDecimal price, int stock) {
+
+        BigDecimal value() {
+            return price == null ? BigDecimal.ZERO : price.multiply(BigDecimal.valueOf(stock));
+        }
+    }
+
+    private static final class ProductSales {
+        private final long productId;
+        private final String name;
+        private final String sku;
+        private long count;
+        private long units;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        private ProductSales(long productId, String name, String sku) {
+            this.productId = productId;
+            this.name = name;
+            this.sku = sku;
+        }
+
+        private void add(int quantity, BigDecimal price) {
+            count++;
+            units += quantity;
+            if (price != null) revenue = revenue.add(price);
+        }
+
+        private long subtract(int quantity, BigDecimal price) {
+            count--;
+            units -= quantity;
+            if (price != null) revenue = revenue.subtract(price);
+            return count;
+        }
+
+        private ProductSales renamed(String newName, String newSku) {
+            ProductSales renamed = new ProductSales(productId, newName, newSku);
+            renamed.count = count;
+            renamed.units = units;
+            renamed.revenue = revenue;
+            return renamed;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.ims_backend.reports;
+
+import com.example.ims_backend.entity.Transaction;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes the daily (day x product x type) and monthly (month x category x supplier x type) transaction rollups.
+ * <p>
+ * Cancelled transactions are not counted. {@link #record} adds newly recorded transactions with one batched
+ * upsert per table, and {@link #recordStatusChange} takes a transaction out of the totals when it is cancelled
+ * and puts it back when it is un-cancelled; both must run in the DB transaction that writes the rows, so the
+ * totals commit or roll back with them. {@link #rebuildMonth} recomputes one month from the transactions table.
+ * A transaction is counted under its product's category at the time it is recorded; a status change and a
+ * rebuild use the current category. Archiving a month leaves its rollups in place.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionRollups {
+
+    private static final String UPSERT_DAILY = "insert into daily_transaction_rollup " +
+            "(rollup_date, product_id, transaction_type, transaction_count, units, amount) values (?, ?, ?, ?, ?, ?) " +
+            "on duplicate key update transaction_count = transaction_count + values(transaction_count), " +
+            "units = units + values(units), amount = amount + values(amount)";
+
+    private static final String UPSERT_MONTHLY = "insert into monthly_transaction_rollup " +
+            "(rollup_month, category_id, supplier_id, transaction_type, transaction_count, units, amount) " +
+            "values (?, ?, ?, ?, ?, ?, ?) " +
+            "on duplicate key update transaction_count = transaction_count + values(transaction_count), " +
+            "units = units + values(units), amount = amount + values(amount)";
+
+    // keys in primary key order, so concurrent writers lock rollup rows in the same order
+    private static final Comparator<DailyKey> DAILY_ORDER = Comparator.comparing(DailyKey::date)
+            .thenComparing(DailyKey::productId).thenComparing(DailyKey::type);
+    private static final Comparator<MonthlyKey> MONTHLY_ORDER = Comparator.comparing(MonthlyKey::month)
+            .thenComparing(MonthlyKey::categoryId).thenComparing(MonthlyKey::supplierId).thenComparing(MonthlyKey::type);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the transactions' counts, units and amounts to the rollups of their day and month.
+     */
+    public void record(List<Transaction> transactions) {
+        if (transactions.isEmpty()) return;
+
+        Map<DailyKey, Totals> daily = new TreeMap<>(DAILY_ORDER);
+        Map<MonthlyKey, Totals> monthly = new TreeMap<>(MONTHLY_ORDER);
+        for (Transaction transaction : transactions) {
+            if (transaction.getStatus() == TransactionStatus.CANCELLED) continue;
+            long categoryId = transaction.getProduct() != null && transaction.getProduct().getCategory() != null
+                    ? transaction.getProduct().getCategory().getId() : 0;
+            add(daily, monthly, transaction, categoryId, 1);
+        }
+        upsert(daily, monthly);
+    }
+
+    /**
+     * Applies a status change of an already recorded transaction: subtracts it when it moves into CANCELLED,
+     * adds it back when it moves out of it, and does nothing otherwise. Leaves the transaction's product unloaded.
+     */
+    public void recordStatusChange(Transaction transaction, TransactionStatus previous) {
+        boolean wasCounted = previous != TransactionStatus.CANCELLED;
+        boolean isCounted = transaction.getStatus() != TransactionStatus.CANCELLED;
+        if (wasCounted == isCounted || transaction.getTransactionType() == null) return;
+
+        Long categoryId = null;
+        if (transaction.getProduct() != null) {
+            categoryId = jdbcTemplate.queryForObject("select category_id from products where id = ?", Long.class,
+                    transaction.getProduct().getId());
+        }
+
+        Map<DailyKey, Totals> daily = new TreeMap<>(DAILY_ORDER);
+        Map<MonthlyKey, Totals> monthly = new TreeMap<>(MONTHLY_ORDER);
+        add(daily, monthly, transaction, categoryId == null ? 0 : categoryId, isCounted ? 1 : -1);
+        upsert(daily, monthly);
+    }
+
+    private static void add(Map<DailyKey, Totals> daily, Map<MonthlyKey, Totals> monthly, Transaction transaction,
+                            long categoryId, int sign) {
+        LocalDate date = transaction.getCreatedAt().toLocalDate();
+        long productId = transaction.getProduct() != null ? transaction.getProduct().getId() : 0;
+        long supplierId = transaction.getSupplier() != null ? transaction.getSupplier().getId() : 0;
+
+        daily.computeIfAbsent(new DailyKey(date, productId, transaction.getTransactionType()), key -> new Totals())
+                .add(transaction, sign);
+        monthly.computeIfAbsent(new MonthlyKey(date.withDayOfMonth(1), categoryId, supplierId,
+                transaction.getTransactionType()), key -> new Totals()).add(transaction, sign);
+    }
+
+    private void upsert(Map<DailyKey, Totals> daily, Map<MonthlyKey, Totals> monthly) {
+        if (daily.isEmpty()) return;
+
+        List<Object[]> dailyRows = new ArrayList<>(daily.size());
+        daily.forEach((key, totals) -> dailyRows.add(new Object[]{Date.valueOf(key.date()), key.productId(),
+                key.type().name(), totals.count, totals.units, totals.amount}));
+        jdbcTemplate.batchUpdate(UPSERT_DAILY, dailyRows);
+
+        List<Object[]> monthlyRows = new ArrayList<>(monthly.size());
+        monthly.forEach((key, totals) -> monthlyRows.add(new Object[]{Date.valueOf(key.month()), key.categoryId(),
+                key.supplierId(), key.type().name(), totals.count, totals.units, totals.amount}));
+        jdbcTemplate.batchUpdate(UPSERT_MONTHLY, monthlyRows);
+    }
+
+    /**
+     * Replaces the month's rollups with totals recomputed from the transactions table. A month with no rows in
+     * the table (archived, or empty) keeps the rollups it has. Must run inside a DB transaction.
+     *
+     * @return true if the month was recomputed
+     */
+    public boolean rebuildMonth(YearMonth month) {
+        Date firstDay = Date.valueOf(month.atDay(1));
+        Date nextMonth = Date.valueOf(month.plusMonths(1).atDay(1));
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+
+        Integer rows = jdbcTemplate.queryForObject(
+                "select count(*) from transactions where created_at >= ? and created_at < ?", Integer.class, from, to);
+        if (rows == null || rows == 0) return false;
+
+        jdbcTemplate.update("delete from daily_transaction_rollup where rollup_date >= ? and rollup_date < ?",
+                firstDay, nextMonth);
+        jdbcTemplate.update("insert into daily_transaction_rollup " +
+                "(rollup_date, product_id, transaction_type, transaction_count, units, amount) " +
+                "select cast(t.created_at as date), coalesce(t.product_id, 0), t.transaction_type, count(*), " +
+                "coalesce(sum(t.total_products), 0), coalesce(sum(t.total_price), 0) " +
+                "from transactions t " +
+                "where t.created_at >= ? and t.created_at < ? and t.transaction_type is not null " +
+                "and (t.status is null or t.status <> 'CANCELLED') " +
+                "group by cast(t.created_at as date), coalesce(t.product_id, 0), t.transaction_type", from, to);
+
+        jdbcTemplate.update("delete from monthly_transaction_rollup where rollup_month = ?", firstDay);
+        jdbcTemplate.update("insert into monthly_transaction_rollup " +
+                "(rollup_month, category_id, supplier_id, transaction_type, transaction_count, units, amount) " +
+                "select ?, coalesce(p.category_id, 0), coalesce(t.supplier_id, 0), t.transaction_type, count(*), " +
+                "coalesce(sum(t.total_products), 0), coalesce(sum(t.total_price), 0) " +
+                "from transactions t left join products p on p.id = t.product_id " +
+                "where t.created_at >= ? and t.created_at < ? and t.transaction_type is not null " +
+                "and (t.status is null or t.status <> 'CANCELLED') " +
+                "group by coalesce(p.category_id, 0), coalesce(t.supplier_id, 0), t.transaction_type",
+                firstDay, from, to);
+        return true;
+    }
+
+    private record DailyKey(LocalDate date, long productId, TransactionType type) {
+    }
+
+    private record MonthlyKey(LocalDate month, long categoryId, long supplierId, TransactionType type) {
+    }
+
+    private static final class Totals {
+        private long count;
+        private long units;
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        private void add(Transaction transaction, int sign) {
+            count += sign;
+            if (transaction.getTotalProducts() != null) units += (long) sign * transaction.getTotalProducts();
+            if (transaction.getTotalPrice() != null)
+                amount = amount.add(transaction.getTotalPrice().multiply(BigDecimal.valueOf(sign)));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.ims_backend.repository;
+
+import com.example.ims_backend.entity.AuthToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AuthTokenRepository extends JpaRepository<AuthToken, String> {
+
+    // plain insert: save() would select first because the id is assigned
+    @Modifying
+    @Query(value = "insert into auth_tokens (id, user_id, expires_at) values (:id, :userId, :expiresAt)",
+            nativeQuery = true)
+    void insert(@Param("id") String id, @Param("userId") Long userId, @Param("expiresAt") LocalDateTime expiresAt);
+
+    boolean existsByIdAndRevokedAtIsNotNull(String id);
+
+    @Query("select t.id from AuthToken t where t.userId = :userId and t.revokedAt is null and t.expiresAt > :now")
+    List<String> findActiveIdsByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("select t.id from AuthToken t where t.revokedAt is not null and t.expiresAt > :now")
+    List<String> findRevokedIds(@Param("now") LocalDateTime now);
+
+    @Query("select t.id from AuthToken t where t.revokedAt >= :since and t.expiresAt > :now")
+    List<String> findIdsRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update AuthToken t set t.revokedAt = :now where t.id in :ids and t.revokedAt is null")
+    int revoke(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from AuthToken t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
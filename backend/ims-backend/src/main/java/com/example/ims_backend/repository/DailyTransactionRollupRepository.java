@@ -0,0 +1,27 @@
+package com.example.ims_backend.repository;
+
+import com.example.ims_backend.dto.ReportRow;
+import com.example.ims_backend.entity.DailyTransactionRollup;
+import com.example.ims_backend.enums.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyTransactionRollupRepository extends JpaRepository<DailyTransactionRollup, DailyTransactionRollup.Key> {
+
+    /**
+     * Totals per day and type for the days in [from, to), optionally of one product and one type.
+     */
+    @Query("select new com.example.ims_backend.dto.ReportRow(d.rollupDate, d.transactionType, " +
+            "sum(d.transactionCount), sum(d.units), sum(d.amount)) " +
+            "from DailyTransactionRollup d " +
+            "where d.rollupDate >= :from and d.rollupDate < :to " +
+            "and (:productId is null or d.productId = :productId) and (:type is null or d.transactionType = :type) " +
+            "group by d.rollupDate, d.transactionType " +
+            "order by d.rollupDate, d.transactionType")
+    List<ReportRow> findDaily(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                              @Param("productId") Long productId, @Param("type") TransactionType type);
+}
@@ -0,0 +1,32 @@
+package com.example.ims_backend.repository;
+
+import com.example.ims_backend.dto.ReportRow;
+import com.example.ims_backend.entity.MonthlyTransactionRollup;
+import com.example.ims_backend.enums.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface MonthlyTransactionRollupRepository
+        extends JpaRepository<MonthlyTransactionRollup, MonthlyTransactionRollup.Key> {
+
+    /**
+     * Totals per month and type for the months starting in [from, to), optionally of one category, one
+     * supplier and one type.
+     */
+    @Query("select new com.example.ims_backend.dto.ReportRow(m.rollupMonth, m.transactionType, " +
+            "sum(m.transactionCount), sum(m.units), sum(m.amount)) " +
+            "from MonthlyTransactionRollup m " +
+            "where m.rollupMonth >= :from and m.rollupMonth < :to " +
+            "and (:categoryId is null or m.categoryId = :categoryId) " +
+            "and (:supplierId is null or m.supplierId = :supplierId) " +
+            "and (:type is null or m.transactionType = :type) " +
+            "group by m.rollupMonth, m.transactionType " +
+            "order by m.rollupMonth, m.transactionType")
+    List<ReportRow> findMonthly(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                @Param("categoryId") Long categoryId, @Param("supplierId") Long supplierId,
+                                @Param("type") TransactionType type);
+}
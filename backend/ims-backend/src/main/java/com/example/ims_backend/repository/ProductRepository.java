@@ -2,10 +2,54 @@ package com.example.ims_backend.repository;
 
 import java.util.*;
 import com.example.ims_backend.entity.Product;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+    Optional<Product> findBySku(String sku);
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByNameContainingOrDescriptionContaining(String name, String description);
 
     List<Product> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String searchTerm, String searchTerm1);
+
+    List<Product> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String searchTerm, String searchTerm1, Pageable pageable);
+
+    /**
+     * Adds stock in a single row update so concurrent purchases never overwrite each other.
+     *
+     * @return number of rows updated, 0 when the product does not exist
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.stockQuantity = p.stockQuantity + :quantity, p.version = p.version + 1 " +
+            "where p.id = :productId")
+    int incrementStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * Removes stock in a single guarded row update; the row is only touched when enough stock is left.
+     *
+     * @return number of rows updated, 0 when the product does not exist or has insufficient stock
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.stockQuantity = p.stockQuantity - :quantity, p.version = p.version + 1 " +
+            "where p.id = :productId and p.stockQuantity >= :quantity")
+    int decrementStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * Loads the products and locks their rows until the transaction ends, in id order so that concurrent
+     * callers lock the same rows in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id in :ids order by p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * @return the stock quantity alone, null when the product does not exist
+     */
+    @Query("select p.stockQuantity from Product p where p.id = :productId")
+    Integer findStockQuantityById(@Param("productId") Long productId);
 }
@@ -0,0 +1,22 @@
+package com.example.ims_backend.repository;
+
+import com.example.ims_backend.dto.ProductDto;
+import com.example.ims_backend.enums.ProductField;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Set;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Reads one page of products selecting only the given columns, without loading entities or their category.
+     * Fields that were not selected stay null in the returned DTOs.
+     *
+     * @param categoryId only products of this category, null for all
+     * @param fields     columns to select
+     * @param pageable   sort properties are {@link ProductField} names
+     * @return
+     */
+    Page<ProductDto> findProductPage(Long categoryId, Set<ProductField> fields, Pageable pageable);
+}
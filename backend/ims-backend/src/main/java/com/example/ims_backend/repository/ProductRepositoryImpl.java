@@ -0,0 +1,110 @@
+package com.example.ims_backend.repository;
+
+import com.example.ims_backend.dto.ProductDto;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.enums.ProductField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Column projection for product listings. The select list is built from the requested fields, so a page of
+ * {@code id,name} reads two columns; the category id comes from the products.category_id foreign key
+ * without joining categories.
+ */
+@RequiredArgsConstructor
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<ProductDto> findProductPage(Long categoryId, Set<ProductField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        // ===== Page =====
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+
+        List<ProductField> selected = new ArrayList<>(fields);
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (ProductField field : selected) {
+            selections.add(path(root, field).alias(field.name()));
+        }
+        query.select(cb.tuple(selections));
+
+        Predicate byCategory = byCategory(cb, root, categoryId);
+        if (byCategory != null) query.where(byCategory);
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            Path<?> path = path(root, ProductField.valueOf(order.getProperty()));
+            orders.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
+        }
+        query.orderBy(orders);
+
+        List<ProductDto> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList()
+                .stream()
+                .map(tuple -> toDto(tuple, selected))
+                .toList();
+
+        // ===== Total (skipped when the page itself shows it is the last one) =====
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            Root<Product> countRoot = count.from(Product.class);
+            count.select(cb.count(countRoot));
+            Predicate countByCategory = byCategory(cb, countRoot, categoryId);
+            if (countByCategory != null) count.where(countByCategory);
+            return entityManager.createQuery(count).getSingleResult();
+        });
+    }
+
+    private Predicate byCategory(CriteriaBuilder cb, Root<Product> root, Long categoryId) {
+        return categoryId == null ? null : cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    private Path<?> path(Root<Product> root, ProductField field) {
+        return field == ProductField.CATEGORY_ID
+                ? root.get("category").get("id")
+                : root.get(field.getFieldName());
+    }
+
+    private ProductDto toDto(Tuple tuple, List<ProductField> fields) {
+        ProductDto productDto = new ProductDto();
+        for (ProductField field : fields) {
+            Object value = tuple.get(field.name());
+            switch (field) {
+                case ID -> productDto.setId((Long) value);
+                case NAME -> productDto.setName((String) value);
+                case SKU -> productDto.setSku((String) value);
+                case PRICE -> productDto.setPrice((BigDecimal) value);
+                case STOCK_QUANTITY -> productDto.setStockQuantity((Integer) value);
+                case DESCRIPTION -> productDto.setDescription((String) value);
+                case EXPIRY_DATE -> productDto.setExpiryDate((LocalDateTime) value);
+                case IMAGE_URL -> productDto.setImageUrl((String) value);
+                case CREATED_AT -> productDto.setCreatedAt((LocalDateTime) value);
+                case CATEGORY_ID -> productDto.setCategoryId((Long) value);
+            }
+        }
+        return productDto;
+    }
+}
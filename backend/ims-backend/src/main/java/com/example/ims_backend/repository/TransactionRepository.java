@@ -1,8 +1,69 @@
 package com.example.ims_backend.repository;
 
+import com.example.ims_backend.dto.UserTransactionRow;
 import com.example.ims_backend.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>,
+        TransactionRepositoryCustom {
+
+    /**
+     * Cursor over the transactions created in [from, to), read-only and fetched from the driver in chunks.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select t from Transaction t where t.createdAt >= :from and t.createdAt < :to order by t.id")
+    Stream<Transaction> streamByCreatedAtRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * A user's transactions created in [from, to), newest first, as flat rows joined to their product in one
+     * query; the count query only runs when the page is full or not the first.
+     */
+    @Query(value = "select new com.example.ims_backend.dto.UserTransactionRow(t.id, t.createdAt, t.transactionType, " +
+            "t.status, t.totalProducts, t.totalPrice, p.id, p.name, p.sku) " +
+            "from Transaction t left join t.product p " +
+            "where t.user.id = :userId and t.createdAt >= :from and t.createdAt < :to " +
+            "order by t.createdAt desc, t.id desc",
+            countQuery = "select count(t) from Transaction t " +
+                    "where t.user.id = :userId and t.createdAt >= :from and t.createdAt < :to")
+    Page<UserTransactionRow> findHistoryByUser(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to, Pageable pageable);
+
+    @Query("select min(t.createdAt) from Transaction t")
+    LocalDateTime findOldestCreatedAt();
+
+    /**
+     * Locks the transactions created in [from, to) until the caller's DB transaction ends, so a concurrent
+     * status change waits for it instead of landing between an archive's export and its delete.
+     *
+     * @return ids of the locked rows
+     */
+    @Query(value = "select id from transactions where created_at >= :from and created_at < :to for update",
+            nativeQuery = true)
+    List<Long> lockIdsByCreatedAtRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Bulk delete of the transactions created in [from, to), used once they are archived; bypasses the
+     * persistence context.
+     */
+    @Modifying
+    @Query("delete from Transaction t where t.createdAt >= :from and t.createdAt < :to")
+    int deleteByCreatedAtRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
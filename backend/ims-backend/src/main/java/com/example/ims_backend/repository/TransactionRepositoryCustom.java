@@ -0,0 +1,14 @@
+package com.example.ims_backend.repository;
+
+import com.example.ims_backend.entity.Transaction;
+
+import java.util.List;
+
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Inserts the transactions with a single JDBC batch and assigns the generated ids back to them.
+     * The entities are not attached to the persistence context.
+     */
+    void insertAll(List<Transaction> transactions);
+}
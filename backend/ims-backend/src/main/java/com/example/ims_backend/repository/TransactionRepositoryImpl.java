@@ -0,0 +1,74 @@
+package com.example.ims_backend.repository;
+
+import com.example.ims_backend.entity.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch insert for transactions. The entity ids use IDENTITY, which turns off Hibernate insert
+ * batching, so bulk ingestion goes through JdbcTemplate (multi-row inserts with rewriteBatchedStatements).
+ */
+@RequiredArgsConstructor
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+
+    private static final String INSERT_SQL = "insert into transactions " +
+            "(total_products, total_price, transaction_type, status, description, note, " +
+            "created_at, update_at, product_id, user_id, supplier_id) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) return;
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Transaction transaction = transactions.get(i);
+                        ps.setObject(1, transaction.getTotalProducts(), Types.INTEGER);
+                        ps.setBigDecimal(2, transaction.getTotalPrice());
+                        ps.setString(3, transaction.getTransactionType().name());
+                        ps.setString(4, transaction.getStatus().name());
+                        ps.setString(5, transaction.getDescription());
+                        ps.setString(6, transaction.getNote());
+                        ps.setTimestamp(7, toTimestamp(transaction.getCreatedAt()));
+                        ps.setTimestamp(8, toTimestamp(transaction.getUpdateAt()));
+                        ps.setObject(9, transaction.getProduct() != null ? transaction.getProduct().getId() : null, Types.BIGINT);
+                        ps.setObject(10, transaction.getUser() != null ? transaction.getUser().getId() : null, Types.BIGINT);
+                        ps.setObject(11, transaction.getSupplier() != null ? transaction.getSupplier().getId() : null, Types.BIGINT);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return transactions.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < transactions.size(); i++) {
+            Object id = keys.get(i).values().iterator().next();
+            transactions.get(i).setId(((Number) id).longValue());
+        }
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
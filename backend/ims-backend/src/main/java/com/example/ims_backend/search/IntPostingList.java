@@ -0,0 +1,75 @@
+package com.example.ims_backend.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Sorted, duplicate-free list of int ids backed by a growable array. Ids handed out by an
+ * AUTO_INCREMENT column arrive in ascending order, so adding is normally an append.
+ * Not thread-safe; callers guard it.
+ */
+final class IntPostingList {
+
+    private static final int[] EMPTY = new int[0];
+
+    private int[] ids = EMPTY;
+    private int size;
+
+    void add(int id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) return;
+            insertAt(-position - 1, id);
+            return;
+        }
+        ensureCapacity(size + 1);
+        ids[size++] = id;
+    }
+
+    boolean remove(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) return false;
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int get(int index) {
+        return ids[index];
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    void addTo(BitSet target) {
+        for (int i = 0; i < size; i++) {
+            target.set(ids[i]);
+        }
+    }
+
+    private void insertAt(int position, int id) {
+        ensureCapacity(size + 1);
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(capacity, Math.max(4, ids.length + (ids.length >> 1))));
+        }
+    }
+}
@@ -0,0 +1,564 @@
+package com.example.ims_backend.search;
+
+import com.example.ims_backend.dto.ProductDto;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.events.CategoryChangedEvent;
+import com.example.ims_backend.events.ProductChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory product search: a token trie for typeahead plus a trigram index for "contains" lookups.
+ * <p>
+ * Names, SKUs and descriptions are split into lower-cased alphanumeric tokens and stored in the trie.
+ * A suggestion query walks to the node of its last token and reads the best entries of that subtree,
+ * ranked by where the token matched (first name token, other name token, SKU, description) and then by
+ * shorter name. Large subtrees cache their best entries and the cache is dropped along the path of every
+ * change, so a lookup is a walk of a few nodes. Multi-token queries start from the most selective token and
+ * may have to rank its whole subtree; their results are cached until the next product change. When the trie
+ * yields fewer than requested the query is retried as an infix through the trigram index.
+ * <p>
+ * Loaded on startup and kept in sync from {@link ProductChangedEvent}. Disabled with
+ * {@code ims.search.product-index.enabled=false}; lookups then return null and callers use the repository.
+ * Product ids are packed into the low 32 bits of a ranking key and key a {@link BitSet}, so a product id past
+ * {@link Integer#MAX_VALUE} turns the index off the same way until restart.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex {
+
+    public static final int MAX_SUGGESTIONS = 50;
+    /** products returned by a full search, lowest ids first */
+    public static final int MAX_SEARCH_RESULTS = 100;
+
+    private static final int CACHE_THRESHOLD = 512;
+    private static final int MULTI_TOKEN_CACHE_SIZE = 10_000;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // ranking tiers, lower ranks first
+    private static final int FIRST_NAME_TOKEN = 0;
+    private static final int NAME_TOKEN = 1;
+    private static final int SKU_TOKEN = 2;
+    private static final int DESCRIPTION_TOKEN = 3;
+    private static final int INFIX = 4;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node();
+    private final Map<Integer, ProductEntry> products = new HashMap<>();
+    private final TrigramIndex text = new TrigramIndex();
+    private final Map<String, List<ProductEntry>> multiTokenResults = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+    private volatile boolean outOfRange; // see turnOff
+
+    public ProductSearchIndex(JdbcTemplate jdbcTemplate,
+                              @Value("${ims.search.product-index.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Top-K typeahead. Every query token must be a prefix of one of the product's tokens.
+     *
+     * @param query raw user input
+     * @param limit at most {@link #MAX_SUGGESTIONS}
+     * @return lightweight product rows (id, name, sku, categoryId), best first, or null when the index is not available
+     */
+    public List<ProductDto> suggest(String query, int limit) {
+        if (!ready) return null;
+
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) return Collections.emptyList();
+
+        List<ProductEntry> ranked;
+        lock.readLock().lock();
+        try {
+            if (tokens.size() == 1) {
+                ranked = rank(tokens, query, Math.min(limit, MAX_SUGGESTIONS));
+            } else {
+                // multi-token queries may have to scan a subtree, so their full ranking is kept until the next change
+                if (multiTokenResults.size() >= MULTI_TOKEN_CACHE_SIZE) multiTokenResults.clear();
+                ranked = multiTokenResults.computeIfAbsent(TrigramIndex.normalizeTerm(query),
+                        key -> rank(tokens, query, MAX_SUGGESTIONS));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return ranked.stream().limit(limit).map(ProductEntry::toDto).toList();
+    }
+
+    private List<ProductEntry> rank(List<String> tokens, String query, int limit) {
+        Map<Integer, ProductEntry> results = new LinkedHashMap<>();
+
+        // start from the most selective token; every token has to match for a result anyway
+        Node node = root;
+        for (String token : tokens) {
+            Node candidate = find(token);
+            if (candidate == null || candidate.subtreeCount < node.subtreeCount) node = candidate;
+            if (node == null) break;
+        }
+
+        if (node != null) {
+            long[] top = top(node);
+            addMatching(top, top.length, tokens, limit, results);
+
+            // the cached best entries were filtered away by the other tokens: rank the whole subtree
+            if (results.size() < limit && tokens.size() > 1 && top.length < node.subtreeCount) {
+                PriorityQueue<Long> best = new PriorityQueue<>(Collections.reverseOrder());
+                collectMatching(node, tokens, limit, best);
+                long[] keys = best.stream().mapToLong(Long::longValue).sorted().toArray();
+                addMatching(keys, keys.length, tokens, limit, results);
+            }
+        }
+
+        // n-gram fallback: the query appears inside a word ("idget" -> "Widget")
+        if (results.size() < limit) {
+            PriorityQueue<Long> best = new PriorityQueue<>(Collections.reverseOrder());
+            int wanted = limit - results.size();
+            text.search(query, id -> {
+                ProductEntry entry = products.get(id);
+                if (entry == null || results.containsKey(id)) return;
+                best.add(key(INFIX, entry.name().length(), id));
+                if (best.size() > wanted) best.poll();
+            });
+            List<Long> infix = new ArrayList<>(best);
+            Collections.sort(infix);
+            for (long key : infix) {
+                results.put(idOf(key), products.get(idOf(key)));
+            }
+        }
+
+        return List.copyOf(results.values());
+    }
+
+    private void addMatching(long[] keys, int count, List<String> tokens, int limit, Map<Integer, ProductEntry> results) {
+        for (int i = 0; i < count && results.size() < limit; i++) {
+            ProductEntry entry = products.get(idOf(keys[i]));
+            if (entry != null && !results.containsKey(entry.id()) && entry.matchesAll(tokens)) {
+                results.put(entry.id(), entry);
+            }
+        }
+    }
+
+    /**
+     * Same semantics as {@code findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase}.
+     *
+     * @param term
+     * @return ids of the matching products, or null when the index is not available
+     */
+    public BitSet findContaining(String term) {
+        if (!ready) return null;
+
+        BitSet matches = new BitSet();
+        lock.readLock().lock();
+        try {
+            text.search(term, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    // ===== Full load =====
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled || outOfRange) return;
+
+        long start = System.nanoTime();
+        ready = false;
+
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            products.clear();
+            multiTokenResults.clear();
+            text.clear();
+            jdbcTemplate.query("select id, name, sku, description, category_id from products", (ResultSet rs) -> {
+                long categoryId = rs.getLong("category_id");
+                put(index(rs.getLong("id")), rs.getString("name"), rs.getString("sku"),
+                        rs.getString("description"), rs.wasNull() ? null : categoryId);
+            });
+        } catch (IdOutOfRangeException e) {
+            turnOff(e);
+            return;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ready = true;
+        log.info("Product search index loaded: {} products in {} ms",
+                products.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // ===== Incremental maintenance =====
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled || outOfRange) return;
+
+        Product product = event.product();
+
+        lock.writeLock().lock();
+        try {
+            int id = index(event.productId());
+            if (event.isDeleted()) {
+                remove(id);
+            } else {
+                put(id, product.getName(), product.getSku(), product.getDescription(),
+                        product.getCategory() == null ? null : product.getCategory().getId());
+            }
+        } catch (IdOutOfRangeException e) {
+            // the save has committed; its request must not fail because the index cannot take it
+            turnOff(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (!enabled || outOfRange || !event.isDeleted()) return;
+
+        // deleting a category cascades to its products
+        lock.writeLock().lock();
+        try {
+            products.values().stream()
+                    .filter(entry -> event.categoryId().equals(entry.categoryId()))
+                    .map(ProductEntry::id)
+                    .toList()
+                    .forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // empties the index for good, lookups go back to the repository
+    private void turnOff(IdOutOfRangeException e) {
+        lock.writeLock().lock();
+        try {
+            if (outOfRange) return;
+            outOfRange = true;
+            ready = false;
+            root = new Node();
+            products.clear();
+            multiTokenResults.clear();
+            text.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.error("Product search index turned off, searches query the database: {}", e.getMessage());
+    }
+
+    // ===== Internals (callers hold the write lock) =====
+
+    private void put(int id, String name, String sku, String description, Long categoryId) {
+        remove(id);
+        multiTokenResults.clear();
+
+        Map<String, Integer> tiers = new LinkedHashMap<>();
+        List<String> nameTokens = tokenize(name);
+        for (int i = 0; i < nameTokens.size(); i++) {
+            tiers.merge(nameTokens.get(i), i == 0 ? FIRST_NAME_TOKEN : NAME_TOKEN, Math::min);
+        }
+        tokenize(sku).forEach(token -> tiers.merge(token, SKU_TOKEN, Math::min));
+        tokenize(description).forEach(token -> tiers.merge(token, DESCRIPTION_TOKEN, Math::min));
+
+        String displayName = name == null ? "" : name;
+        long[] keys = new long[tiers.size()];
+        String[] tokens = tiers.keySet().toArray(new String[0]);
+        for (int i = 0; i < tokens.length; i++) {
+            keys[i] = key(tiers.get(tokens[i]), displayName.length(), id);
+        }
+
+        ProductEntry entry = new ProductEntry(id, displayName, sku, categoryId, tokens, keys);
+        products.put(id, entry);
+        for (int i = 0; i < tokens.length; i++) {
+            link(tokens[i], keys[i]);
+        }
+        text.put(id, joinText(name, description));
+    }
+
+    private void remove(int id) {
+        ProductEntry entry = products.remove(id);
+        if (entry == null) return;
+
+        multiTokenResults.clear();
+        unlink(entry);
+        text.remove(id);
+    }
+
+    private void unlink(ProductEntry entry) {
+        for (int i = 0; i < entry.tokens().length; i++) {
+            unlink(entry.tokens()[i], entry.keys()[i]);
+        }
+    }
+
+    private void link(String token, long key) {
+        Node node = root;
+        node.subtreeCount++;
+        node.top = null;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.childOrCreate(token.charAt(i));
+            node.subtreeCount++;
+            node.top = null;
+        }
+        node.addEntry(key);
+    }
+
+    private void unlink(String token, long key) {
+        Node[] path = new Node[token.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < token.length(); i++) {
+            path[i + 1] = path[i].child(token.charAt(i));
+            if (path[i + 1] == null) return;
+        }
+        if (!path[token.length()].removeEntry(key)) return;
+
+        for (int i = token.length(); i >= 0; i--) {
+            path[i].subtreeCount--;
+            path[i].top = null;
+            if (i > 0 && path[i].subtreeCount == 0) path[i - 1].removeChild(token.charAt(i - 1));
+        }
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Best {@link #MAX_SUGGESTIONS} keys of the subtree, one per product. Small subtrees are walked on every
+     * call, large ones are cached until the next change below them.
+     */
+    private long[] top(Node node) {
+        if (node.subtreeCount <= CACHE_THRESHOLD) {
+            LongBuffer all = new LongBuffer();
+            collect(node, all);
+            return best(all);
+        }
+
+        long[] cached = node.top;
+        if (cached != null) return cached;
+
+        LongBuffer candidates = new LongBuffer();
+        candidates.addAll(node.entries, node.entryCount);
+        for (Node child : node.children) {
+            long[] childTop = top(child);
+            candidates.addAll(childTop, childTop.length);
+        }
+        long[] computed = best(candidates);
+        node.top = computed;
+        return computed;
+    }
+
+    private static void collect(Node node, LongBuffer target) {
+        target.addAll(node.entries, node.entryCount);
+        for (Node child : node.children) {
+            collect(child, target);
+        }
+    }
+
+    // keeps the best `limit` matching keys of the subtree; keys worse than the current worst skip the token check
+    private void collectMatching(Node node, List<String> tokens, int limit, PriorityQueue<Long> best) {
+        for (int i = 0; i < node.entryCount; i++) {
+            long key = node.entries[i];
+            if (best.size() == limit && key >= best.peek()) continue;
+            ProductEntry entry = products.get(idOf(key));
+            if (entry == null || !entry.matchesAll(tokens) || best.contains(key)) continue;
+            best.add(key);
+            if (best.size() > limit) best.poll();
+        }
+        for (Node child : node.children) {
+            collectMatching(child, tokens, limit, best);
+        }
+    }
+
+    private static long[] best(LongBuffer candidates) {
+        long[] sorted = Arrays.copyOf(candidates.values, candidates.size);
+        Arrays.sort(sorted);
+
+        long[] best = new long[Math.min(sorted.length, MAX_SUGGESTIONS)];
+        Set<Integer> seen = new HashSet<>();
+        int count = 0;
+        for (int i = 0; i < sorted.length && count < best.length; i++) {
+            if (seen.add(idOf(sorted[i]))) best[count++] = sorted[i];
+        }
+        return count == best.length ? best : Arrays.copyOf(best, count);
+    }
+
+    // tier (bits 56+), name length (bits 32-55), product id (bits 0-31): natural long order is rank order
+    private static long key(int tier, int nameLength, int id) {
+        return ((long) tier << 56) | ((long) Math.min(nameLength, 0xFFFFFF) << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    private static int idOf(long key) {
+        return (int) key;
+    }
+
+    private static int index(long id) {
+        if (id > Integer.MAX_VALUE) throw new IdOutOfRangeException(id);
+        return (int) id;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return Collections.emptyList();
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private static String joinText(String name, String description) {
+        if (name == null) return description;
+        return description == null ? name : name + "\n" + description;
+    }
+
+    private static final class IdOutOfRangeException extends RuntimeException {
+        IdOutOfRangeException(long id) {
+            super("product id " + id + " is past the index's limit of " + Integer.MAX_VALUE);
+        }
+    }
+
+    private record ProductEntry(int id, String name, String sku, Long categoryId, String[] tokens, long[] keys) {
+
+        boolean matchesAll(List<String> queryTokens) {
+            for (String queryToken : queryTokens) {
+                boolean found = false;
+                for (String token : tokens) {
+                    if (token.startsWith(queryToken)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) return false;
+            }
+            return true;
+        }
+
+        ProductDto toDto() {
+            ProductDto productDto = new ProductDto();
+            productDto.setId((long) id);
+            productDto.setName(name);
+            productDto.setSku(sku);
+            productDto.setCategoryId(categoryId);
+            return productDto;
+        }
+    }
+
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final long[] NO_ENTRIES = new long[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private long[] entries = NO_ENTRIES;
+        private int entryCount;
+        private int subtreeCount;
+        private volatile long[] top;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) return children[index];
+
+            int position = -index - 1;
+            Node child = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, position);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            newKeys[position] = c;
+            newChildren[position] = child;
+            System.arraycopy(keys, position, newKeys, position + 1, keys.length - position);
+            System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index < 0) return;
+
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys.length == 0 ? NO_KEYS : newKeys;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+
+        void addEntry(long key) {
+            if (entryCount == entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(2, entries.length * 2));
+            }
+            entries[entryCount++] = key;
+        }
+
+        boolean removeEntry(long key) {
+            for (int i = 0; i < entryCount; i++) {
+                if (entries[i] == key) {
+                    entries[i] = entries[--entryCount];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class LongBuffer {
+        private long[] values = new long[64];
+        private int size;
+
+        void addAll(long[] source, int count) {
+            if (size + count > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + count, values.length * 2));
+            }
+            System.arraycopy(source, 0, values, size, count);
+            size += count;
+        }
+    }
+}
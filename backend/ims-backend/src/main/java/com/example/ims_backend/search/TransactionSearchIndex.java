@@ -0,0 +1,502 @@
+package com.example.ims_backend.search;
+
+import com.example.ims_backend.entity.Category;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.entity.Supplier;
+import com.example.ims_backend.entity.Transaction;
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.events.CategoryChangedEvent;
+import com.example.ims_backend.events.ProductChangedEvent;
+import com.example.ims_backend.events.SupplierChangedEvent;
+import com.example.ims_backend.events.TransactionsArchivedEvent;
+import com.example.ims_backend.events.TransactionsChangedEvent;
+import com.example.ims_backend.events.UserChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory replacement for {@code TransactionFilter.byFilter}: resolves a free-text term to the set of
+ * matching transaction ids over the same 13 fields (transaction description/note/status/type, user
+ * name/email/phone, supplier name/contact, product name/sku/description, category name).
+ * <p>
+ * Transaction text lives in its own trigram index. User, supplier, product and category text is indexed
+ * once per entity and joined to transactions through reference lists, so renaming a supplier touches one
+ * document instead of every transaction it ever took part in.
+ * <p>
+ * The index is loaded from the database on startup and then kept current from the domain events the
+ * services publish after commit. Writes that publish no event here (other instances, plain JDBC jobs) are
+ * caught up every {@code ims.search.transaction-index.max-staleness}, which bounds how far behind the index
+ * can be. Until the first load finishes (or when disabled with
+ * {@code ims.search.transaction-index.enabled=false}, or once an id outgrows an int) {@link #search}
+ * returns null and callers fall back to the Specification.
+ */
+@Component
+@Slf4j
+public class TransactionSearchIndex {
+
+    private static final int LOAD_CHUNK = 10_000;
+    // re-read a little behind the last pass: commits land after created_at / update_at are stamped, clocks drift
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // one load at a time; a lock rather than synchronized, which would pin a virtual thread for the whole load
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private final TrigramIndex transactionText = new TrigramIndex();
+    private final TrigramIndex userText = new TrigramIndex();
+    private final TrigramIndex supplierText = new TrigramIndex();
+    private final TrigramIndex productText = new TrigramIndex();
+    private final TrigramIndex categoryText = new TrigramIndex();
+
+    private final Map<TransactionStatus, BitSet> transactionsByStatus = new EnumMap<>(TransactionStatus.class);
+    private final Map<TransactionType, BitSet> transactionsByType = new EnumMap<>(TransactionType.class);
+
+    private final Map<Integer, IntPostingList> transactionsByUser = new HashMap<>();
+    private final Map<Integer, IntPostingList> transactionsBySupplier = new HashMap<>();
+    private final Map<Integer, IntPostingList> transactionsByProduct = new HashMap<>();
+    private final Map<Integer, IntPostingList> productsByCategory = new HashMap<>();
+    private final Map<Integer, Integer> categoryOfProduct = new HashMap<>();
+
+    // per transaction id, 0 = none
+    private int[] userOf = new int[1024];
+    private int[] supplierOf = new int[1024];
+    private int[] productOf = new int[1024];
+
+    // ids written by events while a load streams transactions; the load's older rows for them are skipped
+    private BitSet changedDuringLoad;
+
+    // where the last load or catch-up got to, guarded by loadLock
+    private long lastLoadedId;
+    private LocalDateTime syncedAt;
+
+    private volatile boolean ready;
+    private volatile boolean outOfRange; // see turnOff
+
+    public TransactionSearchIndex(JdbcTemplate jdbcTemplate,
+                                  @Value("${ims.search.transaction-index.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @param term raw search input
+     * @return ids of the matching transactions, or null when the index cannot answer (disabled or still loading)
+     */
+    public BitSet search(String term) {
+        if (!ready) return null;
+
+        String normalized = TrigramIndex.normalizeTerm(term);
+        BitSet matches = new BitSet();
+
+        lock.readLock().lock();
+        try {
+            transactionText.search(normalized, matches);
+
+            transactionsByStatus.forEach((status, ids) -> {
+                if (status.name().toLowerCase(Locale.ROOT).contains(normalized)) matches.or(ids);
+            });
+            transactionsByType.forEach((type, ids) -> {
+                if (type.name().toLowerCase(Locale.ROOT).contains(normalized)) matches.or(ids);
+            });
+
+            userText.search(normalized, id -> addAll(transactionsByUser.get(id), matches));
+            supplierText.search(normalized, id -> addAll(transactionsBySupplier.get(id), matches));
+            productText.search(normalized, id -> addAll(transactionsByProduct.get(id), matches));
+            categoryText.search(normalized, id -> {
+                IntPostingList products = productsByCategory.get(id);
+                if (products == null) return;
+                for (int i = 0; i < products.size(); i++) {
+                    addAll(transactionsByProduct.get(products.get(i)), matches);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    // ===== Full load =====
+
+    /**
+     * Drops and reloads everything from the database. Runs on startup; safe to call again (e.g. after rows
+     * were written behind the services' back), searches fall back to the database meanwhile. One load or
+     * catch-up at a time.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled || outOfRange) return;
+
+        loadLock.lock();
+        try {
+            long start = System.nanoTime();
+            LocalDateTime now = LocalDateTime.now();
+            ready = false;
+
+            loadEntities(true);
+            lastLoadedId = 0;
+            long loaded = loadTransactions("", List.of());
+            syncedAt = now;
+
+            ready = true;
+            log.info("Transaction search index loaded: {} transactions in {} ms",
+                    loaded, (System.nanoTime() - start) / 1_000_000);
+        } catch (IdOutOfRangeException e) {
+            turnOff(e);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Applies what was written without this instance's events (other instances, plain JDBC) since the last load
+     * or catch-up: entity text is re-read, transactions are read from the newest loaded id on, plus those
+     * created or updated since shortly before the previous pass, whose commit may have landed after it.
+     * Rows deleted elsewhere stay until the next full load; a search resolves its page against the table, so
+     * they only count towards the total.
+     */
+    @Scheduled(fixedDelayString = "${ims.search.transaction-index.max-staleness:60s}",
+            initialDelayString = "${ims.search.transaction-index.max-staleness:60s}")
+    public void catchUp() {
+        if (!enabled || !ready || outOfRange || !loadLock.tryLock()) return;
+
+        try {
+            long start = System.nanoTime();
+            LocalDateTime now = LocalDateTime.now();
+            Timestamp since = Timestamp.valueOf(syncedAt.minus(CATCH_UP_OVERLAP));
+
+            loadEntities(false);
+            long applied = loadTransactions(" where id > ? or created_at >= ? or update_at >= ?",
+                    List.of(lastLoadedId, since, since));
+            syncedAt = now;
+
+            log.debug("Transaction search index caught up: {} transactions in {} ms",
+                    applied, (System.nanoTime() - start) / 1_000_000);
+        } catch (IdOutOfRangeException e) {
+            turnOff(e);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // categories, products, users and suppliers are read first and applied in one go, replacing the index or not
+    private void loadEntities(boolean replace) {
+        List<Object[]> categories = jdbcTemplate.query("select id, name from categories",
+                (rs, row) -> new Object[]{id(rs, "id"), rs.getString("name")});
+        List<Object[]> products = jdbcTemplate.query("select id, name, sku, description, category_id from products",
+                (rs, row) -> new Object[]{id(rs, "id"),
+                        join(rs.getString("name"), rs.getString("sku"), rs.getString("description")), id(rs, "category_id")});
+        List<Object[]> users = jdbcTemplate.query("select id, name, email, phone_number from users",
+                (rs, row) -> new Object[]{id(rs, "id"),
+                        join(rs.getString("name"), rs.getString("email"), rs.getString("phone_number"))});
+        List<Object[]> suppliers = jdbcTemplate.query("select id, name, contact_info from supplier",
+                (rs, row) -> new Object[]{id(rs, "id"), join(rs.getString("name"), rs.getString("contact_info"))});
+
+        lock.writeLock().lock();
+        try {
+            if (replace) clear();
+            categories.forEach(row -> putCategory((Integer) row[0], (String) row[1]));
+            products.forEach(row -> putProduct((Integer) row[0], (String) row[1], (Integer) row[2]));
+            users.forEach(row -> userText.put((Integer) row[0], (String) row[1]));
+            suppliers.forEach(row -> supplierText.put((Integer) row[0], (String) row[1]));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Streams the matching transactions and applies them in chunks, so writers are not blocked for the whole
+     * read; a row read before a concurrent change was applied by its event must not overwrite it.
+     *
+     * @return number of rows read
+     */
+    private long loadTransactions(String where, List<Object> args) {
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad = new BitSet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Object[]> chunk = new ArrayList<>(LOAD_CHUNK);
+        long[] loaded = new long[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("select id, description, note, status, " +
+                    "transaction_type, user_id, supplier_id, product_id from transactions" + where);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            statement.setFetchSize(LOAD_CHUNK);
+            return statement;
+        }, (ResultSet rs) -> {
+            chunk.add(new Object[]{id(rs, "id"), join(rs.getString("description"), rs.getString("note")),
+                    enumValue(TransactionStatus.class, rs.getString("status")),
+                    enumValue(TransactionType.class, rs.getString("transaction_type")),
+                    id(rs, "user_id"), id(rs, "supplier_id"), id(rs, "product_id")});
+            if (chunk.size() == LOAD_CHUNK) {
+                loaded[0] += applyChunk(chunk);
+            }
+        });
+        loaded[0] += applyChunk(chunk);
+
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return loaded[0];
+    }
+
+    private int applyChunk(List<Object[]> chunk) {
+        int size = chunk.size();
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : chunk) {
+                lastLoadedId = Math.max(lastLoadedId, (Integer) row[0]);
+                if (changedDuringLoad.get((Integer) row[0])) continue;
+                putTransaction((Integer) row[0], (String) row[1], (TransactionStatus) row[2], (TransactionType) row[3],
+                        (Integer) row[4], (Integer) row[5], (Integer) row[6]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        chunk.clear();
+        return size;
+    }
+
+    // ===== Incremental maintenance =====
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        update(() -> {
+            for (Transaction transaction : event.transactions()) {
+                int id = index(transaction.getId());
+                if (changedDuringLoad != null) changedDuringLoad.set(id);
+                putTransaction(id, join(transaction.getDescription(), transaction.getNote()),
+                        transaction.getStatus(), transaction.getTransactionType(),
+                        transaction.getUser() == null ? 0 : index(transaction.getUser().getId()),
+                        transaction.getSupplier() == null ? 0 : index(transaction.getSupplier().getId()),
+                        transaction.getProduct() == null ? 0 : index(transaction.getProduct().getId()));
+            }
+        });
+    }
+
+    // a month leaves the table in one bulk delete, reloading is simpler than tracking its ids
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsArchived(TransactionsArchivedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Product product = event.product();
+        update(() -> {
+            if (event.isDeleted()) {
+                putProduct(index(event.productId()), null, 0);
+            } else {
+                putProduct(index(event.productId()), join(product.getName(), product.getSku(), product.getDescription()),
+                        product.getCategory() == null ? 0 : index(product.getCategory().getId()));
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        User user = event.user();
+        String text = event.isDeleted() ? null : join(user.getName(), user.getEmail(), user.getPhoneNumber());
+        update(() -> userText.put(index(event.userId()), text));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSupplierChanged(SupplierChangedEvent event) {
+        Supplier supplier = event.supplier();
+        String text = event.isDeleted() ? null : join(supplier.getName(), supplier.getContactInfo());
+        update(() -> supplierText.put(index(event.supplierId()), text));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        Category category = event.category();
+        update(() -> putCategory(index(event.categoryId()), event.isDeleted() ? null : category.getName()));
+    }
+
+    // applies an event's change under the write lock; the write it reports has committed, so it must not throw
+    private void update(Runnable change) {
+        if (!enabled || outOfRange) return;
+
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } catch (IdOutOfRangeException e) {
+            turnOff(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids key bit sets and int arrays, so the index covers ids up to {@link Integer#MAX_VALUE}. Once a larger one
+     * turns up the index is emptied and stays off until restart: searches go back to the Specification.
+     */
+    private void turnOff(IdOutOfRangeException e) {
+        lock.writeLock().lock();
+        try {
+            if (outOfRange) return;
+            outOfRange = true;
+            ready = false;
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.error("Transaction search index turned off, searches query the database: {}", e.getMessage());
+    }
+
+    // ===== Internals (callers hold the write lock) =====
+
+    private void putTransaction(int id, String text, TransactionStatus status, TransactionType type,
+                                int userId, int supplierId, int productId) {
+        transactionText.put(id, text);
+
+        transactionsByStatus.values().forEach(ids -> ids.clear(id));
+        if (status != null) transactionsByStatus.computeIfAbsent(status, key -> new BitSet()).set(id);
+
+        transactionsByType.values().forEach(ids -> ids.clear(id));
+        if (type != null) transactionsByType.computeIfAbsent(type, key -> new BitSet()).set(id);
+
+        ensureCapacity(id);
+        userOf[id] = relink(transactionsByUser, userOf[id], userId, id);
+        supplierOf[id] = relink(transactionsBySupplier, supplierOf[id], supplierId, id);
+        productOf[id] = relink(transactionsByProduct, productOf[id], productId, id);
+    }
+
+    private void putProduct(int id, String text, int categoryId) {
+        productText.put(id, text);
+
+        Integer previousCategory = categoryId == 0 ? categoryOfProduct.remove(id) : categoryOfProduct.put(id, categoryId);
+        relink(productsByCategory, previousCategory == null ? 0 : previousCategory, categoryId, id);
+    }
+
+    private void putCategory(int id, String name) {
+        categoryText.put(id, name);
+
+        // deleting a category cascades to its products
+        IntPostingList products = productsByCategory.get(id);
+        if (name == null && products != null) {
+            for (int productId : products.toArray()) {
+                putProduct(productId, null, 0);
+            }
+        }
+    }
+
+    /**
+     * Moves {@code id} from the list under {@code previousKey} to the list under {@code key}.
+     *
+     * @return the new key
+     */
+    private static int relink(Map<Integer, IntPostingList> lists, int previousKey, int key, int id) {
+        if (previousKey == key) {
+            if (key != 0) lists.computeIfAbsent(key, k -> new IntPostingList()).add(id);
+            return key;
+        }
+        if (previousKey != 0) {
+            IntPostingList previous = lists.get(previousKey);
+            if (previous != null && previous.remove(id) && previous.isEmpty()) lists.remove(previousKey);
+        }
+        if (key != 0) lists.computeIfAbsent(key, k -> new IntPostingList()).add(id);
+        return key;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= userOf.length) {
+            int capacity = Math.max(id + 1, userOf.length * 2);
+            userOf = Arrays.copyOf(userOf, capacity);
+            supplierOf = Arrays.copyOf(supplierOf, capacity);
+            productOf = Arrays.copyOf(productOf, capacity);
+        }
+    }
+
+    private void clear() {
+        transactionText.clear();
+        userText.clear();
+        supplierText.clear();
+        productText.clear();
+        categoryText.clear();
+        transactionsByStatus.clear();
+        transactionsByType.clear();
+        transactionsByUser.clear();
+        transactionsBySupplier.clear();
+        transactionsByProduct.clear();
+        productsByCategory.clear();
+        categoryOfProduct.clear();
+        userOf = new int[1024];
+        supplierOf = new int[1024];
+        productOf = new int[1024];
+    }
+
+    private static void addAll(IntPostingList ids, BitSet target) {
+        if (ids != null) ids.addTo(target);
+    }
+
+    // fields are joined with a newline so a term can never match across two of them
+    private static String join(String... fields) {
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (field == null || field.isEmpty()) continue;
+            if (!text.isEmpty()) text.append('\n');
+            text.append(field);
+        }
+        return text.toString();
+    }
+
+    private static int id(ResultSet rs, String column) throws SQLException {
+        long id = rs.getLong(column);
+        return rs.wasNull() ? 0 : index(id);
+    }
+
+    private static int index(long id) {
+        if (id > Integer.MAX_VALUE) throw new IdOutOfRangeException(id);
+        return (int) id;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value) {
+        return value == null ? null : Enum.valueOf(type, value);
+    }
+
+    private static final class IdOutOfRangeException extends RuntimeException {
+        IdOutOfRangeException(long id) {
+            super("id " + id + " is past the index's limit of " + Integer.MAX_VALUE);
+        }
+    }
+}
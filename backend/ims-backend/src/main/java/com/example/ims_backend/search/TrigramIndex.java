@@ -0,0 +1,144 @@
+package com.example.ims_backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Inverted index from character trigrams to document ids, answering case-insensitive
+ * "contains" queries (the in-memory equivalent of {@code LOWER(x) LIKE '%term%'}).
+ * <p>
+ * A term of three or more characters is resolved by intersecting the posting lists of its
+ * trigrams and then verifying the surviving candidates against the stored text, so results
+ * are exact. Shorter terms have no trigram to look up and fall back to scanning the stored
+ * text. Ids are dense, positive ints (AUTO_INCREMENT keys); the text is kept in an array
+ * indexed by id.
+ * <p>
+ * Not thread-safe; the owning component guards reads and writes.
+ */
+public class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<Long, IntPostingList> postings = new HashMap<>();
+    private String[] documents = new String[1024];
+    private int documentCount;
+
+    /**
+     * Indexes (or re-indexes) a document. Null or blank text removes it.
+     *
+     * @param id
+     * @param text
+     */
+    public void put(int id, String text) {
+        String normalized = text == null || text.isBlank() ? "" : text.toLowerCase(Locale.ROOT);
+        String previous = id < documents.length ? documents[id] : null;
+
+        if (normalized.equals(previous)) return;
+        if (previous != null) remove(id);
+        if (normalized.isEmpty()) return;
+
+        ensureCapacity(id);
+        documents[id] = normalized;
+        documentCount++;
+        for (long gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, key -> new IntPostingList()).add(id);
+        }
+    }
+
+    /**
+     * @param id
+     */
+    public void remove(int id) {
+        if (id >= documents.length || documents[id] == null) return;
+
+        for (long gram : grams(documents[id])) {
+            IntPostingList list = postings.get(gram);
+            if (list != null && list.remove(id) && list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+        documents[id] = null;
+        documentCount--;
+    }
+
+    /**
+     * Calls {@code matches} with the id of every document containing the term, in ascending order.
+     *
+     * @param term    raw search input; trimmed and lower-cased like the Specification search
+     * @param matches
+     */
+    public void search(String term, IntConsumer matches) {
+        String normalized = normalizeTerm(term);
+        if (normalized.isEmpty()) return;
+
+        if (normalized.length() < GRAM) {
+            for (int id = 0; id < documents.length; id++) {
+                if (documents[id] != null && documents[id].contains(normalized)) matches.accept(id);
+            }
+            return;
+        }
+
+        List<IntPostingList> lists = new ArrayList<>();
+        for (long gram : grams(normalized)) {
+            IntPostingList list = postings.get(gram);
+            if (list == null) return;
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(IntPostingList::size));
+
+        IntPostingList smallest = lists.get(0);
+        candidates:
+        for (int i = 0; i < smallest.size(); i++) {
+            int id = smallest.get(i);
+            for (int l = 1; l < lists.size(); l++) {
+                if (!lists.get(l).contains(id)) continue candidates;
+            }
+            if (documents[id].contains(normalized)) matches.accept(id);
+        }
+    }
+
+    /**
+     * @param term
+     * @param target bit set receiving the matching ids
+     */
+    public void search(String term, BitSet target) {
+        search(term, (IntConsumer) target::set);
+    }
+
+    public int size() {
+        return documentCount;
+    }
+
+    public void clear() {
+        postings.clear();
+        documents = new String[1024];
+        documentCount = 0;
+    }
+
+    static String normalizeTerm(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long[] grams(String text) {
+        if (text.length() < GRAM) return new long[0];
+
+        long[] grams = new long[text.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= documents.length) {
+            documents = Arrays.copyOf(documents, Math.max(id + 1, documents.length * 2));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.ims_backend.security;
 
+import com.example.ims_backend.entity.User;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +9,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -23,6 +23,7 @@ public class AuthFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final CustomUserDetailsService customUserDetailsService;
+    private final TokenRevocationList tokenRevocationList;
 
 
     @Override
@@ -31,19 +32,26 @@ public class AuthFilter extends OncePerRequestFilter {
 
         String token = getTokenFromRequest(request);
 
-        if (token != null) {
-            String email = jwtUtils.getUsernameFromToken(token);
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+        VerifiedToken verified = token == null ? null : jwtUtils.verify(token);
 
-            if (StringUtils.hasText(email) && jwtUtils.isTokenValid(token, userDetails)) {
-                log.info("Valid Token, {}", email);
+        // tokens without a jti predate revocation and are checked against the users table below instead
+        if (verified != null && verified.tokenId() != null && tokenRevocationList.isRevoked(verified.tokenId())) {
+            log.debug("Revoked token, {}", verified.subject());
+            verified = null;
+        }
+
+        // invalid, expired or revoked tokens leave the request unauthenticated, the entry point answers 401
+        if (verified != null && StringUtils.hasText(verified.subject())) {
+            AuthPrincipal principal = verified.hasIdentityClaims()
+                    ? new AuthPrincipal(verified.userId(), verified.subject(), verified.role(), verified.tokenId())
+                    : loadPrincipal(verified.subject()); // token issued before id/role/jti were claims
+            log.debug("Valid Token, {}", principal.email());
 
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
-                );
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-            }
+            UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                    principal, null, principal.getAuthorities()
+            );
+            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
         }
 
         try {
@@ -54,6 +62,11 @@ public class AuthFilter extends OncePerRequestFilter {
 
     }
 
+    private AuthPrincipal loadPrincipal(String email) {
+        User user = ((AuthUser) customUserDetailsService.loadUserByUsername(email)).getUser();
+        return new AuthPrincipal(user.getId(), user.getEmail(), user.getRole(), null);
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         String token = request.getHeader("Authorization");
         if (token != null && token.startsWith("Bearer ")) {
@@ -0,0 +1,29 @@
+package com.example.ims_backend.security;
+
+import com.example.ims_backend.enums.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * The authenticated user as carried in the token: enough to authorize a request and to reference the
+ * user row, without loading it.
+ *
+ * @param userId
+ * @param email
+ * @param role
+ * @param tokenId the jti of the presented token, null when it has none
+ */
+public record AuthPrincipal(Long userId, String email, UserRole role, String tokenId) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return role == null ? List.of() : List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
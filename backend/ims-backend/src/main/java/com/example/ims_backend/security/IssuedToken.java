@@ -0,0 +1,13 @@
+package com.example.ims_backend.security;
+
+import java.time.Instant;
+
+/**
+ * A freshly signed token and what the server records about it.
+ *
+ * @param token     compact JWS handed to the client
+ * @param tokenId   the jti claim, the key revocations are recorded under
+ * @param expiresAt
+ */
+public record IssuedToken(String token, String tokenId, Instant expiresAt) {
+}
@@ -1,71 +1,153 @@
 package com.example.ims_backend.security;
 
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.UUID;
 
+/**
+ * Issues and verifies the HS256 tokens.
+ * <p>
+ * A token is parsed once into a {@link VerifiedToken} by a parser built at startup. Verified tokens are
+ * kept in a bounded cache keyed by the SHA-256 of the token (the token itself is never stored), until the
+ * token expires or {@code ims.security.jwt.claims-cache.ttl} passes, whichever is first, so a client's
+ * repeated requests skip the signature check. Tokens that fail verification are never cached.
+ * {@code ims.security.jwt.claims-cache.max-size=0} turns the cache off.
+ * <p>
+ * Besides the email as subject, tokens carry the user id and role so requests are authorized without
+ * reading the users table. Each token also gets a random jti under which {@link TokenRevocationList} records
+ * it, which is how a role change or logout takes effect before the token expires.
+ */
 @Service
 @Slf4j
 public class JwtUtils {
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+
     private static final long EXPIRATION_TIME_IN_MILLISEC =
             1000L * 60L * 60L * 24L * 30L * 6L; // 6 months
 
-    private SecretKey key;
-
-    @Value("${secretJwtString}")
-    private String secretJwtString;
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Cache<ByteBuffer, VerifiedToken> verifiedTokens; // null when turned off
 
-    @PostConstruct
-    private void init() {
+    public JwtUtils(@Value("${secretJwtString}") String secretJwtString,
+                    @Value("${ims.security.jwt.claims-cache.max-size:10000}") long cacheMaxSize,
+                    @Value("${ims.security.jwt.claims-cache.ttl:15m}") Duration cacheTtl) {
         // Recommended way in 0.11.5
         this.key = Keys.hmacShaKeyFor(secretJwtString.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.verifiedTokens = cacheMaxSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(Expiry.<ByteBuffer, VerifiedToken>creating((hash, token) ->
+                        min(cacheTtl, Duration.between(Instant.now(), token.expiresAt()))))
+                .build();
     }
 
     // ================= GENERATE TOKEN =================
-    public String generateToken(String email) {
-        return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME_IN_MILLISEC))
+
+    /**
+     * @param user
+     * @return the signed token with its jti and expiry, for {@link TokenRevocationList#register}
+     */
+    public IssuedToken generateToken(User user) {
+        String tokenId = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        Date expiration = new Date(now + EXPIRATION_TIME_IN_MILLISEC);
+
+        String token = Jwts.builder()
+                .setId(tokenId)
+                .setSubject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole() == null ? null : user.getRole().name())
+                .setIssuedAt(new Date(now))
+                .setExpiration(expiration)
                 .signWith(key) // HS256 automatically chosen
                 .compact();
+        return new IssuedToken(token, tokenId, expiration.toInstant());
+    }
+
+    // ================= VERIFY TOKEN =================
+
+    /**
+     * @param token compact JWS from the Authorization header
+     * @return the verified claims, or null when the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        Instant now = Instant.now();
+        if (verifiedTokens == null) return parse(token, now);
+
+        ByteBuffer hash = sha256(token);
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(hash);
+        if (cached != null && !cached.isExpired(now)) return cached;
+
+        VerifiedToken verified = parse(token, now);
+        if (verified != null) verifiedTokens.put(hash, verified);
+        return verified;
     }
 
-    // ================= EXTRACT USERNAME =================
-    public String getUsernameFromToken(String token) {
-        return extractClaims(token, Claims::getSubject);
+    private VerifiedToken parse(String token, Instant now) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getSubject() == null || claims.getExpiration() == null) return null;
+
+            VerifiedToken verified = new VerifiedToken(claims.getSubject(), userId(claims), role(claims),
+                    claims.getId(), claims.getExpiration().toInstant());
+            return verified.isExpired(now) ? null : verified;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected token: {}", e.getMessage());
+            return null;
+        }
     }
 
-    // ================= EXTRACT CLAIMS =================
-    private <T> T extractClaims(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static Long userId(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        return userId instanceof Number number ? number.longValue() : null;
+    }
 
-        return claimsResolver.apply(claims);
+    private static UserRole role(Claims claims) {
+        Object role = claims.get(ROLE_CLAIM);
+        if (!(role instanceof String name)) return null;
+        try {
+            return UserRole.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
-    // ================= VALIDATE TOKEN =================
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    private static ByteBuffer sha256(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
-    // ================= CHECK EXPIRY =================
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token, Claims::getExpiration).before(new Date());
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
     }
-}
\ No newline at end of file
+}
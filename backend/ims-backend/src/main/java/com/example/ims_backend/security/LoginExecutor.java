@@ -0,0 +1,67 @@
+package com.example.ims_backend.security;
+
+import com.example.ims_backend.exceptions.ServiceBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs password verification (BCrypt, deliberately slow) on its own small pool so a login storm cannot
+ * occupy the web server's request threads and starve stock operations: the controller hands the work over
+ * and its thread is released until the result is ready.
+ * <p>
+ * The pool has {@code ims.security.login.threads} threads (-1, the default, is half the CPUs) and holds at
+ * most {@code ims.security.login.queue-capacity} waiting logins; beyond that a login is refused at once
+ * with {@link ServiceBusyException} (503) instead of queueing behind minutes of hashing. {@code threads=0}
+ * verifies on the calling thread, as before.
+ */
+@Component
+@Slf4j
+public class LoginExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor pool; // null when verifying on the calling thread
+
+    public LoginExecutor(@Value("${ims.security.login.threads:-1}") int threads,
+                         @Value("${ims.security.login.queue-capacity:100}") int queueCapacity) {
+        int size = threads < 0 ? Math.max(1, Runtime.getRuntime().availableProcessors() / 2) : threads;
+        this.pool = size == 0 ? null : new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                Thread.ofPlatform().name("login-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Login verification on {}", pool == null
+                ? "the request thread" : size + " thread(s), queue " + Math.max(1, queueCapacity));
+    }
+
+    /**
+     * @param login the verification work
+     * @return its result; completes exceptionally with whatever the work threw
+     * @throws ServiceBusyException when the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> login) {
+        if (pool == null) {
+            try {
+                return CompletableFuture.completedFuture(login.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        try {
+            return CompletableFuture.supplyAsync(login, pool);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("Too many logins in progress, please retry shortly");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) pool.shutdown();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.ims_backend.security;
+
+import com.example.ims_backend.exceptions.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps login attempts per account (email) and per client address, each at
+ * {@code ims.security.login.rate-limit.per-account} / {@code per-address} attempts per {@code period}, with
+ * a burst of the same size. Runs before any password hashing, so a rejected attempt costs nothing.
+ * <p>
+ * Each key holds one timestamp (the generic cell rate algorithm): an attempt is allowed when the key's
+ * theoretical arrival time is no further ahead of now than the burst allows, and then pushes it by one
+ * interval with a compare-and-set, so there is no lock. Idle keys expire after a period; the number of keys
+ * is bounded so a spray of addresses cannot grow the maps without limit. A limit of 0 turns that check off.
+ * <p>
+ * The address is {@code request.getRemoteAddr()}; behind a proxy set {@code server.forward-headers-strategy}
+ * so it is the client's and not the proxy's.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final long MAX_KEYS = 100_000;
+
+    private final Limit perAccount;
+    private final Limit perAddress;
+
+    public LoginRateLimiter(@Value("${ims.security.login.rate-limit.per-account:10}") int perAccount,
+                            @Value("${ims.security.login.rate-limit.per-address:60}") int perAddress,
+                            @Value("${ims.security.login.rate-limit.period:1m}") Duration period) {
+        this.perAccount = perAccount <= 0 ? null : new Limit(perAccount, period);
+        this.perAddress = perAddress <= 0 ? null : new Limit(perAddress, period);
+    }
+
+    /**
+     * Counts one login attempt against both limits.
+     *
+     * @param email
+     * @param address client address, may be null
+     * @throws TooManyRequestsException when either limit is exhausted
+     */
+    public void acquire(String email, String address) {
+        long now = System.nanoTime();
+        if (perAccount != null && email != null) {
+            perAccount.acquire(email.trim().toLowerCase(Locale.ROOT), now,
+                    "Too many login attempts for this account, please wait");
+        }
+        if (perAddress != null && address != null) {
+            perAddress.acquire(address, now, "Too many login attempts, please wait");
+        }
+    }
+
+    private static final class Limit {
+
+        private final long interval;  // nanos between attempts at the sustained rate
+        private final long tolerance; // how far ahead of now a key may run, i.e. the burst
+        private final Cache<String, AtomicLong> arrivals;
+
+        Limit(int attempts, Duration period) {
+            this.interval = period.toNanos() / attempts;
+            this.tolerance = period.toNanos() - interval;
+            this.arrivals = Caffeine.newBuilder()
+                    .maximumSize(MAX_KEYS)
+                    .expireAfterAccess(period)
+                    .build();
+        }
+
+        void acquire(String key, long now, String message) {
+            AtomicLong arrival = arrivals.get(key, k -> new AtomicLong(now));
+            while (true) {
+                long current = arrival.get();
+                long next = Math.max(current, now);
+                if (next - now > tolerance) {
+                    throw new TooManyRequestsException(message, Duration.ofNanos(next - now - tolerance));
+                }
+                if (arrival.compareAndSet(current, next + interval)) return;
+            }
+        }
+    }
+}
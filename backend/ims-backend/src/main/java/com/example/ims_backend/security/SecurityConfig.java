@@ -4,6 +4,7 @@ import com.example.ims_backend.exceptions.CustomAccessDenialHandler;
 import com.example.ims_backend.exceptions.CustomAuthenticationEntryPoint;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,6 +20,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -39,6 +42,7 @@ public class SecurityConfig {
                         .authenticationEntryPoint(customAuthenticationEntryPoint)
                 )
                 .authorizeHttpRequests(request -> request
+                        .requestMatchers("/api/auth/logout").authenticated()
                         .requestMatchers("/api/auth/**").permitAll()
                         .anyRequest().authenticated()
                 )
@@ -48,9 +52,33 @@ public class SecurityConfig {
 
     }
 
+    /**
+     * BCrypt at the highest cost, from {@code ims.security.password.min-strength} up, whose hash takes no longer
+     * than {@code ims.security.password.target-hash-time} on this machine. Stored hashes of a lower cost are
+     * upgraded on the user's next successful login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${ims.security.password.target-hash-time:250ms}") Duration targetHashTime,
+                                           @Value("${ims.security.password.min-strength:10}") int minStrength) {
+        int strength = bcryptStrength(targetHashTime, minStrength);
+        log.info("BCrypt cost {} for a target hash time of {}", strength, targetHashTime);
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    static int bcryptStrength(Duration targetHashTime, int minStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration"); // warm-up
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        long nanos = System.nanoTime() - start;
+
+        // each step up doubles the work
+        int strength = minStrength;
+        while (strength < 31 && nanos * 2 <= targetHashTime.toNanos()) {
+            strength++;
+            nanos *= 2;
+        }
+        return strength;
     }
 
     @Bean
@@ -0,0 +1,148 @@
+package com.example.ims_backend.security;
+
+import com.example.ims_backend.repository.AuthTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Revoked tokens, by jti.
+ * <p>
+ * Every token handed out at login is recorded in {@code auth_tokens}; logout revokes that one row, a user
+ * delete or role change revokes all of the user's unexpired rows. The table is the source of truth.
+ * <p>
+ * {@link #isRevoked} is asked on every authenticated request, so it first consults an in-memory
+ * {@link BloomFilter} of the revoked ids: a negative answer (the common case) is final and costs a few
+ * hashes, a positive one is confirmed against the table to rule out a false positive. Revocations made
+ * here are added to the filter immediately; those made by other instances are picked up every
+ * {@code ims.security.revocation.refresh-interval}. The filter is rebuilt from the table when it fills up
+ * past its size and after expired rows are purged. Until the first load finishes every check goes to the
+ * table.
+ */
+@Service
+@Slf4j
+public class TokenRevocationList {
+
+    // re-read a little behind the last refresh: commits land after revoked_at is stamped, clocks drift
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final AuthTokenRepository authTokenRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter revoked; // null until loaded
+    private volatile LocalDateTime refreshedAt;
+
+    public TokenRevocationList(AuthTokenRepository authTokenRepository,
+                               @Value("${ims.security.revocation.expected-revocations:100000}") long expectedRevocations,
+                               @Value("${ims.security.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.authTokenRepository = authTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    // ================= RECORD =================
+
+    @Transactional
+    public void register(IssuedToken token, Long userId) {
+        authTokenRepository.insert(token.tokenId(), userId,
+                LocalDateTime.ofInstant(token.expiresAt(), ZoneId.systemDefault()));
+    }
+
+    /**
+     * @param tokenId jti of the token to revoke
+     */
+    @Transactional
+    public void revoke(String tokenId) {
+        authTokenRepository.revoke(List.of(tokenId), LocalDateTime.now());
+        addToFilter(List.of(tokenId));
+    }
+
+    /**
+     * @param userId
+     * @return how many tokens were revoked
+     */
+    @Transactional
+    public int revokeAll(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> tokenIds = authTokenRepository.findActiveIdsByUserId(userId, now);
+        if (tokenIds.isEmpty()) return 0;
+
+        authTokenRepository.revoke(tokenIds, now);
+        addToFilter(tokenIds);
+        log.info("Revoked {} token(s) of user {}", tokenIds.size(), userId);
+        return tokenIds.size();
+    }
+
+    // ================= CHECK =================
+
+    /**
+     * @param tokenId jti of a verified token
+     * @return true when the token was revoked
+     */
+    public boolean isRevoked(String tokenId) {
+        BloomFilter filter = revoked;
+        if (filter != null && !filter.mightContain(tokenId)) return false;
+        return authTokenRepository.existsByIdAndRevokedAtIsNotNull(tokenId);
+    }
+
+    // ================= MAINTAIN =================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> tokenIds = authTokenRepository.findRevokedIds(now);
+
+        BloomFilter filter = new BloomFilter(Math.max(expectedRevocations, 2L * tokenIds.size()), falsePositiveRate);
+        tokenIds.forEach(filter::add);
+        revoked = filter;
+        refreshedAt = now;
+
+        // revocations that raced the load went into the old filter; pick them up again
+        refresh();
+        log.info("Loaded {} revoked token(s) into a {}-bit filter", tokenIds.size(), filter.bitCount());
+    }
+
+    /**
+     * Adds revocations made by other instances since the last refresh.
+     */
+    @Scheduled(fixedDelayString = "${ims.security.revocation.refresh-interval:30s}",
+            initialDelayString = "${ims.security.revocation.refresh-interval:30s}")
+    public void refresh() {
+        BloomFilter filter = revoked;
+        if (filter == null) return;
+        if (filter.isSaturated()) {
+            rebuild();
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        authTokenRepository.findIdsRevokedSince(refreshedAt.minus(REFRESH_OVERLAP), now).forEach(filter::add);
+        refreshedAt = now;
+    }
+
+    /**
+     * Drops rows of expired tokens, which can no longer be presented, and rebuilds the filter without them.
+     */
+    @Scheduled(cron = "${ims.security.revocation.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = authTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Purged {} expired token(s)", purged);
+        rebuild();
+    }
+
+    private void addToFilter(List<String> tokenIds) {
+        BloomFilter filter = revoked;
+        if (filter != null) tokenIds.forEach(filter::add);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ims_backend.security;
+
+import com.example.ims_backend.enums.UserRole;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature and expiry have been checked.
+ *
+ * @param subject   the user's email
+ * @param userId    null for tokens issued before the id was a claim
+ * @param role      null for tokens issued before the role was a claim
+ * @param tokenId   the jti, null for tokens issued before tokens could be revoked
+ * @param expiresAt
+ */
+public record VerifiedToken(String subject, Long userId, UserRole role, String tokenId, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    /**
+     * @return true when the principal can be built from the claims alone; a token without a jti cannot be
+     * revoked, so it is not trusted on its claims
+     */
+    public boolean hasIdentityClaims() {
+        return userId != null && role != null && tokenId != null;
+    }
+}
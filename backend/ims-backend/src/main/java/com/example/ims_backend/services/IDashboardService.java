@@ -0,0 +1,8 @@
+package com.example.ims_backend.services;
+
+import com.example.ims_backend.dto.Response;
+
+public interface IDashboardService {
+
+    Response getSummary();
+}
@@ -13,12 +13,16 @@ public interface IProductService {
 
     ProductDto updateProduct(ProductDto productDto, MultipartFile imageFile);
 
-    List<ProductDto> getAllProducts();
+    Response getAllProducts(int page, int size, String sort, Long categoryId, String fields);
 
     ProductDto getProductById(Long id);
 
+    ProductDto getProductBySku(String sku);
+
     void deleteProduct(Long id);
 
     List<ProductDto> searchProduct(String input);
 
+    List<ProductDto> suggestProducts(String query, int limit);
+
 }
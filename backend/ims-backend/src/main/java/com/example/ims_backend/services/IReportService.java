@@ -0,0 +1,18 @@
+package com.example.ims_backend.services;
+
+import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.enums.TransactionType;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+public interface IReportService {
+
+    Response getDailyReport(LocalDate from, LocalDate to, TransactionType type, Long productId);
+
+    Response getMonthlyReport(YearMonth from, YearMonth to, TransactionType type, Long categoryId, Long supplierId);
+
+    Response getSummary(LocalDate from, LocalDate to, TransactionType type, Long productId);
+
+    int rebuildRollups();
+}
@@ -0,0 +1,20 @@
+package com.example.ims_backend.services;
+
+import com.example.ims_backend.dto.TransactionDto;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface ITransactionArchiveService {
+
+    long archiveMonth(YearMonth month) throws IOException;
+
+    int archiveExpiredMonths();
+
+    boolean isArchived(YearMonth month);
+
+    List<TransactionDto> readMonth(YearMonth month, TransactionType type, TransactionStatus status, Long productId);
+}
@@ -0,0 +1,13 @@
+package com.example.ims_backend.services;
+
+import com.example.ims_backend.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface ITransactionExportService {
+
+    long exportTransactions(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream outputStream)
+            throws IOException;
+}
@@ -1,9 +1,14 @@
 package com.example.ims_backend.services;
 
 import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.dto.TransactionBatchLine;
 import com.example.ims_backend.dto.TransactionDto;
 import com.example.ims_backend.dto.TransactionRequest;
 import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface ITransactionService {
     TransactionDto purchase(TransactionRequest transactionRequest);
@@ -12,11 +17,17 @@ public interface ITransactionService {
 
     TransactionDto returnToSupplier(TransactionRequest transactionRequest);
 
+    Response processBatch(List<TransactionBatchLine> lines);
+
     Response getAllTransactions(int page, int size, String filter);
 
+    Response getTransactionsByCursor(String cursor, Long afterId, Long beforeId, int size, String filter);
+
     Response getAllTransactionById(Long id);
 
-    Response getAllTransactionByMonthAndYear(int month, int year);
+    Response getAllTransactionByMonthAndYear(int month, int year, TransactionType type, TransactionStatus status, Long productId);
+
+    Response getTransactionsByDateRange(LocalDateTime from, LocalDateTime to, TransactionType type, TransactionStatus status, Long productId);
 
     Response updateTransactionStatus(Long transactionId, TransactionStatus status);
 }
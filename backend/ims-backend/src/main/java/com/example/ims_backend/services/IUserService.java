@@ -6,20 +6,27 @@ import com.example.ims_backend.dto.Response;
 import com.example.ims_backend.dto.UserDto;
 import com.example.ims_backend.entity.User;
 
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
 public interface IUserService {
     Response registerUser(RegisterRequest registerRequest);
 
-    Response loginUser(LoginRequest loginRequest);
+    CompletableFuture<Response> loginUser(LoginRequest loginRequest, String clientAddress);
+
+    Response logoutUser();
 
     Response getAllUsers();
 
     User getCurrentLoggedInUser();
 
+    UserDto getCurrentUser();
+
     Response getUserById(Long id);
 
     Response updateUser(Long id, UserDto userDTO);
 
     Response deleteUser(Long id);
 
-    Response getUserTransactions(Long id);
+    Response getUserTransactions(Long id, LocalDateTime from, LocalDateTime to, int page, int size);
 }
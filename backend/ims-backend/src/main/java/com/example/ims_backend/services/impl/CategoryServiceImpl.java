@@ -2,13 +2,14 @@ package com.example.ims_backend.services.impl;
 
 import com.example.ims_backend.dto.CategoryDto;
 import com.example.ims_backend.entity.Category;
+import com.example.ims_backend.events.CategoryChangedEvent;
 import com.example.ims_backend.exceptions.NotFoundException;
+import com.example.ims_backend.mapper.CategoryMapper;
 import com.example.ims_backend.repository.CategoryRepository;
 import com.example.ims_backend.services.ICategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,18 +23,19 @@ import java.util.List;
 public class CategoryServiceImpl implements ICategoryService {
 
     private final CategoryRepository categoryRepository;
-    private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public CategoryDto createCategory(CategoryDto categoryDto) {
 
-        Category category = modelMapper.map(categoryDto, Category.class);
+        Category category = CategoryMapper.toEntity(categoryDto);
 
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(CategoryChangedEvent.saved(savedCategory));
 
         log.info("Category created with ID: {}", savedCategory.getId());
 
-        return modelMapper.map(savedCategory, CategoryDto.class);
+        return CategoryMapper.toDto(savedCategory);
     }
 
     @Override
@@ -43,10 +45,7 @@ public class CategoryServiceImpl implements ICategoryService {
         List<Category> categories = categoryRepository
                 .findAll(Sort.by(Sort.Direction.DESC, "id"));
 
-        return modelMapper.map(
-                categories,
-                new TypeToken<List<CategoryDto>>() {}.getType()
-        );
+        return CategoryMapper.toDtos(categories);
     }
 
     @Override
@@ -56,7 +55,7 @@ public class CategoryServiceImpl implements ICategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Category Not Found with id: " + id));
 
-        return modelMapper.map(category, CategoryDto.class);
+        return CategoryMapper.toDtoWithProducts(category);
     }
 
     @Override
@@ -65,13 +64,15 @@ public class CategoryServiceImpl implements ICategoryService {
         Category existingCategory = categoryRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Category Not Found with id: " + id));
 
-        modelMapper.map(categoryDto, existingCategory);
+        if (categoryDto.getName() != null && !categoryDto.getName().isBlank())
+            existingCategory.setName(categoryDto.getName());
 
         Category updatedCategory = categoryRepository.save(existingCategory);
+        eventPublisher.publishEvent(CategoryChangedEvent.saved(updatedCategory));
 
         log.info("Category updated with ID: {}", updatedCategory.getId());
 
-        return modelMapper.map(updatedCategory, CategoryDto.class);
+        return CategoryMapper.toDto(updatedCategory);
     }
 
     @Override
@@ -82,6 +83,7 @@ public class CategoryServiceImpl implements ICategoryService {
         }
 
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(CategoryChangedEvent.deleted(id));
 
         log.info("Category deleted with ID: {}", id);
     }
@@ -0,0 +1,28 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.reports.DashboardSnapshot;
+import com.example.ims_backend.services.IDashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements IDashboardService {
+
+    private final DashboardSnapshot dashboardSnapshot;
+
+    /**
+     * Served from the in-memory snapshot, no database access.
+     *
+     * @return
+     */
+    @Override
+    public Response getSummary() {
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .dashboard(dashboardSnapshot.summary())
+                .build();
+    }
+}
@@ -1,18 +1,31 @@
 package com.example.ims_backend.services.impl;
 
+import com.example.ims_backend.cache.ProductCache;
 import com.example.ims_backend.dto.ProductDto;
+import com.example.ims_backend.dto.Response;
 import com.example.ims_backend.entity.Category;
 import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.enums.ProductField;
+import com.example.ims_backend.events.ProductChangedEvent;
+import com.example.ims_backend.exceptions.NameValueRequiredException;
 import com.example.ims_backend.exceptions.NotFoundException;
+import com.example.ims_backend.mapper.ProductMapper;
+import com.example.ims_backend.metrics.SearchMetrics;
 import com.example.ims_backend.repository.CategoryRepository;
 import com.example.ims_backend.repository.ProductRepository;
+import com.example.ims_backend.search.ProductSearchIndex;
 import com.example.ims_backend.services.IProductService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
@@ -21,7 +34,11 @@ import java.io.File;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.Paths;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 
@@ -32,8 +49,11 @@ import java.util.UUID;
 public class ProductServiceImpl implements IProductService {
 
     private  final ProductRepository productRepository;
-    private final ModelMapper modelMapper;
     private  final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductCache productCache;
+    private final MeterRegistry meterRegistry;
 
     private static final String IMAGE_DIRECTORY = System.getProperty("user.dir") + "/product-images/";
 
@@ -68,9 +88,10 @@ public class ProductServiceImpl implements IProductService {
         }
 
         Product savedProduct = productRepository.save(productToSave);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(savedProduct));
         log.info("Saved product with ID: {}", productDto.getProductId());
 
-        return modelMapper.map(savedProduct, ProductDto.class);
+        return ProductMapper.toDto(savedProduct);
     }
 
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
@@ -109,7 +130,16 @@ public class ProductServiceImpl implements IProductService {
                     .toString();
 
             File destinationFile = new File(imagePath);
+            DistributionSummary.builder("ims.products.image.size")
+                    .description("Size of saved product images")
+                    .baseUnit("bytes")
+                    .register(meterRegistry)
+                    .record(imageFile.getSize());
+            Timer.Sample sample = Timer.start(meterRegistry);
             imageFile.transferTo(destinationFile);
+            sample.stop(Timer.builder("ims.products.image.save")
+                    .description("Time to write a product image to disk")
+                    .register(meterRegistry));
 
             return imagePath;
 
@@ -171,23 +201,74 @@ public class ProductServiceImpl implements IProductService {
 
         //update product
         Product savedProduct = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(savedProduct));
         log.info("Updated product with ID: {}", productDto.getProductId());
-        return modelMapper.map(savedProduct, ProductDto.class);
+        return ProductMapper.toDto(savedProduct);
 
     }
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     /**
+     * @param page
+     * @param size
+     * @param sort       {@code field} or {@code field,asc|desc}, e.g. {@code name,asc}; ties are broken by id
+     * @param categoryId only products of this category, null for all
+     * @param fields     comma-separated sparse fieldset, e.g. {@code id,name,sku}; blank for all fields, id is always included
      * @return
      */
     @Override
     @Transactional(readOnly = true)
-    public List<ProductDto> getAllProducts() {
-        List<Product> productList = productRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
-        List<ProductDto> productDTOList = modelMapper.map(productList, new TypeToken<List<ProductDto>>() {
-        }.getType());
+    public Response getAllProducts(int page, int size, String sort, Long categoryId, String fields) {
+
+        if (page < 0)
+            throw new NameValueRequiredException("Page must not be negative");
+
+        if (size <= 0 || size > MAX_PAGE_SIZE)
+            throw new NameValueRequiredException("Size must be between 1 and " + MAX_PAGE_SIZE);
+
+        Page<ProductDto> productPage = productRepository.findProductPage(categoryId, parseFields(fields),
+                PageRequest.of(page, size, parseSort(sort)));
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .products(productPage.getContent())
+                .totalElements(productPage.getTotalElements())
+                .totalPages(productPage.getTotalPages())
+                .build();
+    }
+
+    private Set<ProductField> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) return EnumSet.allOf(ProductField.class);
 
-        return productDTOList;
+        Set<ProductField> selected = EnumSet.of(ProductField.ID);
+        for (String name : fields.split(",")) {
+            if (name.isBlank()) continue;
+            ProductField field = ProductField.fromFieldName(name);
+            if (field == null) throw new NameValueRequiredException("Unknown product field: " + name.trim());
+            selected.add(field);
+        }
+        return selected;
+    }
+
+    private Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) return Sort.by(Sort.Direction.DESC, ProductField.ID.name());
+
+        String[] parts = sort.split(",");
+        ProductField field = ProductField.fromFieldName(parts[0]);
+        if (field == null || parts.length > 2)
+            throw new NameValueRequiredException("Invalid sort: " + sort);
+
+        Sort.Direction direction;
+        try {
+            direction = parts.length == 2 ? Sort.Direction.fromString(parts[1].trim()) : Sort.Direction.ASC;
+        } catch (IllegalArgumentException e) {
+            throw new NameValueRequiredException("Invalid sort direction: " + parts[1].trim());
+        }
 
+        Sort order = Sort.by(direction, field.name());
+        return field == ProductField.ID ? order : order.and(Sort.by(direction, ProductField.ID.name()));
     }
 
     /**
@@ -195,13 +276,33 @@ public class ProductServiceImpl implements IProductService {
      * @return
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true) // a cache hit never touches a connection
     public ProductDto getProductById(Long id) {
-        Product product = productRepository.findById(id).orElseThrow(
-                () -> new NotFoundException("Product not found!")
-        );
-        return modelMapper.map(product, ProductDto.class);
+        return productCache.getById(id, () -> {
+            Product product = productRepository.findById(id).orElseThrow(
+                    () -> new NotFoundException("Product not found!")
+            );
+            return ProductMapper.toDto(product);
+        });
+    }
 
+    /**
+     * @param sku
+     * @return
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ProductDto getProductBySku(String sku) {
+
+        if (sku == null || sku.isBlank())
+            throw new NameValueRequiredException("SKU is required");
+
+        return productCache.getBySku(sku, () -> {
+            Product product = productRepository.findBySku(sku).orElseThrow(
+                    () -> new NotFoundException("Product not found!")
+            );
+            return ProductMapper.toDto(product);
+        });
     }
 
     /**
@@ -214,6 +315,7 @@ public class ProductServiceImpl implements IProductService {
                 .orElseThrow(() -> new NotFoundException("Product Not Found!"));
 
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
         log.info("Deleted product with ID: {}", id);
     }
 
@@ -226,16 +328,56 @@ public class ProductServiceImpl implements IProductService {
     public List<ProductDto> searchProduct(String input) {
 
         String searchTerm = input.trim();
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        // the index resolves the LIKE '%term%' match to ids, only the matching rows are loaded; a broad term is
+        // capped to the lowest MAX_SEARCH_RESULTS ids on both paths
+        BitSet matches = searchTerm.isEmpty() ? null : productSearchIndex.findContaining(searchTerm);
 
-        List<Product> products =
-                productRepository
+        List<Product> products = matches != null
+                ? productRepository.findAllById(matches.stream().limit(ProductSearchIndex.MAX_SEARCH_RESULTS)
+                        .mapToObj(id -> (long) id).toList())
+                : productRepository
                         .findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-                                searchTerm, searchTerm
+                                searchTerm, searchTerm,
+                                PageRequest.of(0, ProductSearchIndex.MAX_SEARCH_RESULTS, Sort.by("id"))
                         );
+        sample.stop(SearchMetrics.timer(meterRegistry, "product", matches != null ? "index" : "database"));
 
-        return modelMapper.map(
-                products,
-                new TypeToken<List<ProductDto>>() {}.getType()
-        );
+        return ProductMapper.toDtos(products.stream().sorted(Comparator.comparing(Product::getId)).toList());
+    }
+
+    /**
+     * @param query
+     * @param limit
+     * @return
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDto> suggestProducts(String query, int limit) {
+
+        if (query == null || query.isBlank())
+            throw new NameValueRequiredException("Search query is required");
+
+        if (limit <= 0 || limit > ProductSearchIndex.MAX_SUGGESTIONS)
+            throw new NameValueRequiredException("Limit must be between 1 and " + ProductSearchIndex.MAX_SUGGESTIONS);
+
+        List<ProductDto> suggestions = productSearchIndex.suggest(query, limit);
+        if (suggestions != null) return suggestions;
+
+        // index disabled or still loading
+        return productRepository
+                .findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(query.trim(), query.trim(),
+                        PageRequest.of(0, limit, Sort.by("name")))
+                .stream()
+                .map(product -> {
+                    ProductDto productDto = new ProductDto();
+                    productDto.setId(product.getId());
+                    productDto.setName(product.getName());
+                    productDto.setSku(product.getSku());
+                    productDto.setCategoryId(product.getCategory() == null ? null : product.getCategory().getId());
+                    return productDto;
+                })
+                .toList();
     }
 }
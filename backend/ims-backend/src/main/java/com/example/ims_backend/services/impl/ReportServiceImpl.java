@@ -0,0 +1,206 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.dto.ReportRow;
+import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.exceptions.NameValueRequiredException;
+import com.example.ims_backend.reports.TransactionRollups;
+import com.example.ims_backend.repository.DailyTransactionRollupRepository;
+import com.example.ims_backend.repository.MonthlyTransactionRollupRepository;
+import com.example.ims_backend.repository.TransactionRepository;
+import com.example.ims_backend.services.IReportService;
+import com.example.ims_backend.services.ITransactionArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Revenue, units and transaction counts per period, cancelled transactions excluded, answered from the rollup
+ * tables that
+ * {@link TransactionRollups} keeps current, so the cost of a report depends on the length of its period and
+ * not on how many transactions were recorded. Archived months are still reported: their rollups stay.
+ */
+@Service
+@Slf4j
+public class ReportServiceImpl implements IReportService {
+
+    private static final int MAX_REPORT_DAYS = 366;
+    private static final int MAX_REPORT_MONTHS = 120;
+
+    private final DailyTransactionRollupRepository dailyRollupRepository;
+    private final MonthlyTransactionRollupRepository monthlyRollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionRollups transactionRollups;
+    private final ITransactionArchiveService transactionArchiveService;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildThreads;
+
+    public ReportServiceImpl(DailyTransactionRollupRepository dailyRollupRepository,
+                             MonthlyTransactionRollupRepository monthlyRollupRepository,
+                             TransactionRepository transactionRepository,
+                             TransactionRollups transactionRollups,
+                             ITransactionArchiveService transactionArchiveService,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${ims.reports.rebuild-threads:4}") int rebuildThreads) {
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionRollups = transactionRollups;
+        this.transactionArchiveService = transactionArchiveService;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildThreads = Math.max(1, rebuildThreads);
+    }
+
+    // ================= REPORTS =================
+
+    /**
+     * @param from      first day, inclusive
+     * @param to        last day, exclusive
+     * @param type      optional
+     * @param productId optional
+     * @return one row per day and type that has transactions
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Response getDailyReport(LocalDate from, LocalDate to, TransactionType type, Long productId) {
+        validateRange(from, to);
+        if (ChronoUnit.DAYS.between(from, to) > MAX_REPORT_DAYS)
+            throw new NameValueRequiredException("A daily report cannot span more than " + MAX_REPORT_DAYS + " days");
+
+        return report(dailyRollupRepository.findDaily(from, to, productId, type));
+    }
+
+    /**
+     * @param from       first month, inclusive
+     * @param to         last month, exclusive
+     * @param type       optional
+     * @param categoryId optional
+     * @param supplierId optional
+     * @return one row per month and type that has transactions
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Response getMonthlyReport(YearMonth from, YearMonth to, TransactionType type, Long categoryId, Long supplierId) {
+        validateRange(from, to);
+        if (ChronoUnit.MONTHS.between(from, to) > MAX_REPORT_MONTHS)
+            throw new NameValueRequiredException("A monthly report cannot span more than " + MAX_REPORT_MONTHS + " months");
+
+        return report(monthlyRollupRepository.findMonthly(from.atDay(1), to.atDay(1), categoryId, supplierId, type));
+    }
+
+    /**
+     * Totals per type over [from, to). Whole months are read from the monthly rollup and only the partial
+     * months at either end from the daily one; a product filter needs the daily rollup throughout.
+     *
+     * @return one row per type that has transactions, with {@code from} as its period
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Response getSummary(LocalDate from, LocalDate to, TransactionType type, Long productId) {
+        validateRange(from, to);
+
+        List<ReportRow> rows = new ArrayList<>();
+        LocalDate firstWholeMonth = from.getDayOfMonth() == 1 ? from : from.withDayOfMonth(1).plusMonths(1);
+        LocalDate endOfWholeMonths = to.withDayOfMonth(1);
+
+        if (productId != null || !firstWholeMonth.isBefore(endOfWholeMonths)) {
+            rows.addAll(dailyRollupRepository.findDaily(from, to, productId, type));
+        } else {
+            rows.addAll(monthlyRollupRepository.findMonthly(firstWholeMonth, endOfWholeMonths, null, null, type));
+            if (from.isBefore(firstWholeMonth))
+                rows.addAll(dailyRollupRepository.findDaily(from, firstWholeMonth, null, type));
+            if (endOfWholeMonths.isBefore(to))
+                rows.addAll(dailyRollupRepository.findDaily(endOfWholeMonths, to, null, type));
+        }
+
+        Map<TransactionType, ReportRow> totals = new EnumMap<>(TransactionType.class);
+        for (ReportRow row : rows) {
+            totals.merge(row.transactionType(), new ReportRow(from, row.transactionType(), row.transactionCount(),
+                    row.units(), row.amount()), ReportServiceImpl::add);
+        }
+        return report(new ArrayList<>(totals.values()));
+    }
+
+    private static ReportRow add(ReportRow left, ReportRow right) {
+        return new ReportRow(left.period(), left.transactionType(), left.transactionCount() + right.transactionCount(),
+                left.units() + right.units(), left.amount().add(right.amount()));
+    }
+
+    private static <T extends Comparable<? super T>> void validateRange(T from, T to) {
+        if (from == null || to == null)
+            throw new NameValueRequiredException("Both from and to are required");
+
+        if (from.compareTo(to) >= 0)
+            throw new NameValueRequiredException("from must be before to");
+    }
+
+    private static Response report(List<ReportRow> rows) {
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .report(rows)
+                .build();
+    }
+
+    // ================= REBUILD =================
+
+    /**
+     * Recomputes the rollups of every month still in the transactions table, {@code ims.reports.rebuild-threads}
+     * months at a time, each in its own DB transaction. Archived months keep their rollups. Meant for a quiet
+     * hour: a transaction recorded while its month is being recomputed may be counted twice or not at all
+     * until the next rebuild, which is why the schedule is off unless {@code ims.reports.rebuild-cron} is set.
+     *
+     * @return number of months recomputed
+     */
+    @Override
+    @Scheduled(cron = "${ims.reports.rebuild-cron:-}")
+    public int rebuildRollups() {
+        LocalDateTime oldest = transactionRepository.findOldestCreatedAt();
+        if (oldest == null) return 0;
+
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(oldest); !month.isAfter(YearMonth.now()); month = month.plusMonths(1)) {
+            if (!transactionArchiveService.isArchived(month)) months.add(month);
+        }
+
+        long start = System.nanoTime();
+        List<Future<Boolean>> chunks = new ArrayList<>(months.size());
+        try (ExecutorService executor = Executors.newFixedThreadPool(rebuildThreads,
+                Thread.ofPlatform().name("rollup-rebuild-", 0).daemon(true).factory())) {
+            for (YearMonth month : months) {
+                chunks.add(executor.submit(() -> transactionTemplate.execute(status -> transactionRollups.rebuildMonth(month))));
+            }
+        }
+
+        int rebuilt = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            try {
+                if (Boolean.TRUE.equals(chunks.get(i).get())) rebuilt++;
+            } catch (ExecutionException e) {
+                log.error("Rebuilding the rollups of {} failed, they are left as they were", months.get(i), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while rebuilding rollups", e);
+            }
+        }
+
+        log.info("Rebuilt the rollups of {} month(s) in {} ms", rebuilt, (System.nanoTime() - start) / 1_000_000);
+        return rebuilt;
+    }
+}
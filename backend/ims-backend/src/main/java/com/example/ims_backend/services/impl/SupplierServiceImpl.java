@@ -2,13 +2,14 @@ package com.example.ims_backend.services.impl;
 
 import com.example.ims_backend.dto.SupplierDto;
 import com.example.ims_backend.entity.Supplier;
+import com.example.ims_backend.events.SupplierChangedEvent;
 import com.example.ims_backend.exceptions.NotFoundException;
+import com.example.ims_backend.mapper.SupplierMapper;
 import com.example.ims_backend.repository.SupplierRepository;
 import com.example.ims_backend.services.ISupplierService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,7 +22,8 @@ import java.util.List;
 public class SupplierServiceImpl implements ISupplierService {
 
     private final SupplierRepository supplierRepository;
-    private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * @param supplierDto
      * @return
@@ -29,10 +31,11 @@ public class SupplierServiceImpl implements ISupplierService {
     @Override
     @Transactional
     public SupplierDto addSupplier(SupplierDto supplierDto) {
-        Supplier supplierToSave = modelMapper.map(supplierDto, Supplier.class);
+        Supplier supplierToSave = SupplierMapper.toEntity(supplierDto);
         Supplier savedSupplier = supplierRepository.save(supplierToSave);
+        eventPublisher.publishEvent(SupplierChangedEvent.saved(savedSupplier));
         log.info("Added new supplier: {}", supplierDto.getName());
-        return modelMapper.map(savedSupplier, SupplierDto.class);
+        return SupplierMapper.toDto(savedSupplier);
     }
 
     /**
@@ -59,8 +62,9 @@ public class SupplierServiceImpl implements ISupplierService {
             existingSupplier.setAddress(supplierDto.getAddress());
 
         Supplier savedSupplier = supplierRepository.save(existingSupplier);
+        eventPublisher.publishEvent(SupplierChangedEvent.saved(savedSupplier));
 
-        return modelMapper.map(savedSupplier, SupplierDto.class);
+        return SupplierMapper.toDto(savedSupplier);
     }
 
     /**
@@ -72,8 +76,7 @@ public class SupplierServiceImpl implements ISupplierService {
 
         List<Supplier> suppliers = supplierRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
 
-        return modelMapper.map(suppliers, new TypeToken<List<SupplierDto>>() {
-        }.getType());
+        return SupplierMapper.toDtos(suppliers);
     }
 
     /**
@@ -87,7 +90,7 @@ public class SupplierServiceImpl implements ISupplierService {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Supplier Not Found with id : " + id));
 
-        return modelMapper.map(supplier, SupplierDto.class);
+        return SupplierMapper.toDto(supplier);
     }
 
     /**
@@ -102,6 +105,7 @@ public class SupplierServiceImpl implements ISupplierService {
                 .orElseThrow(() -> new NotFoundException("Supplier not found with id : " + id));
 
         supplierRepository.delete(supplier);
+        eventPublisher.publishEvent(SupplierChangedEvent.deleted(id));
 
     }
 }
@@ -0,0 +1,237 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.dto.TransactionDto;
+import com.example.ims_backend.dto.TransactionExportRow;
+import com.example.ims_backend.enums.ExportFormat;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.events.TransactionsArchivedEvent;
+import com.example.ims_backend.exceptions.NameValueRequiredException;
+import com.example.ims_backend.mapper.TransactionMapper;
+import com.example.ims_backend.repository.TransactionRepository;
+import com.example.ims_backend.services.ITransactionArchiveService;
+import com.example.ims_backend.services.ITransactionExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the transactions table to the last {@code ims.retention.hot-months} months. Older months are written,
+ * one gzip-compressed NDJSON file per month (the export format), to {@code ims.retention.archive-dir} and then
+ * deleted from the table; {@link #readMonth} answers month reports for them from the file.
+ * <p>
+ * A month is archived in one DB transaction: the month's rows are locked, exported to a temporary file and
+ * deleted, the exported and deleted counts are checked against the locked one and the file is renamed into
+ * place before the commit. The lock makes a status change of one of the rows wait until the month is gone (and
+ * then fail) rather than commit after the export and be deleted with the row. If anything fails the rows stay
+ * and the file is removed, so a month is either in the table or in its archive.
+ */
+@Service
+@Slf4j
+public class TransactionArchiveServiceImpl implements ITransactionArchiveService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionRepository transactionRepository;
+    private final ITransactionExportService transactionExportService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+    private final int hotMonths;
+    private final Path archiveDir;
+
+    public TransactionArchiveServiceImpl(TransactionRepository transactionRepository,
+                                         ITransactionExportService transactionExportService,
+                                         ApplicationEventPublisher eventPublisher,
+                                         TransactionTemplate transactionTemplate,
+                                         JsonMapper jsonMapper,
+                                         @Value("${ims.retention.enabled:false}") boolean enabled,
+                                         @Value("${ims.retention.hot-months:24}") int hotMonths,
+                                         @Value("${ims.retention.archive-dir:archive/transactions}") Path archiveDir) {
+        if (hotMonths < 1)
+            throw new IllegalArgumentException("ims.retention.hot-months must be at least 1");
+
+        this.transactionRepository = transactionRepository;
+        this.transactionExportService = transactionExportService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled;
+        this.hotMonths = hotMonths;
+        this.archiveDir = archiveDir;
+    }
+
+    // ================= ARCHIVING =================
+
+    /**
+     * Moves the transactions created in {@code month} from the table to the month's archive file.
+     *
+     * @return number of archived transactions; 0 when the month has none (no file is written)
+     */
+    @Override
+    public long archiveMonth(YearMonth month) throws IOException {
+        Path target = archiveFile(month);
+        if (Files.exists(target))
+            throw new NameValueRequiredException("Transactions of " + month + " are already archived");
+
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.createDirectories(archiveDir);
+
+        try {
+            Long archived = transactionTemplate.execute(status -> {
+                int locked = transactionRepository.lockIdsByCreatedAtRange(from, to).size();
+                if (locked == 0) return 0L;
+
+                long exported = writeArchive(from, to, temp);
+                int deleted = transactionRepository.deleteByCreatedAtRange(from, to);
+                if (exported != locked || deleted != locked)
+                    throw new IllegalStateException("Locked " + locked + " transactions of " + month +
+                            " but archived " + exported + " and deleted " + deleted);
+
+                move(temp, target);
+                eventPublisher.publishEvent(new TransactionsArchivedEvent(month, exported));
+                return exported;
+            });
+            Files.deleteIfExists(temp);
+
+            if (archived != null && archived > 0)
+                log.info("Archived {} transactions of {} to {}", archived, month, target);
+            return archived == null ? 0 : archived;
+        } catch (UncheckedIOException e) {
+            discard(temp, target);
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            discard(temp, target);
+            throw e;
+        }
+    }
+
+    /**
+     * Archives every month older than the last {@code ims.retention.hot-months}, oldest first. Does nothing
+     * unless {@code ims.retention.enabled} is set.
+     *
+     * @return number of months archived
+     */
+    @Override
+    @Scheduled(cron = "${ims.retention.cron:0 0 4 1 * *}")
+    public int archiveExpiredMonths() {
+        if (!enabled) return 0;
+
+        LocalDateTime oldest = transactionRepository.findOldestCreatedAt();
+        if (oldest == null) return 0;
+
+        YearMonth cutoff = YearMonth.now().minusMonths(hotMonths);
+        int months = 0;
+        for (YearMonth month = YearMonth.from(oldest); month.isBefore(cutoff); month = month.plusMonths(1)) {
+            if (isArchived(month)) {
+                // rows recorded for the month after it was archived; left for an operator to look at
+                log.warn("Transactions of {} are already archived, skipping the rows left in the table", month);
+                continue;
+            }
+            try {
+                if (archiveMonth(month) > 0) months++;
+            } catch (IOException e) {
+                log.error("Archiving transactions of {} failed, they stay in the table", month, e);
+                break;
+            }
+        }
+        return months;
+    }
+
+    private long writeArchive(LocalDateTime from, LocalDateTime to, Path file) {
+        try (OutputStream outputStream = new GZIPOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE), BUFFER_SIZE)) {
+            return transactionExportService.exportTransactions(from, to, ExportFormat.NDJSON, outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void move(Path source, Path target) {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // the rows were rolled back, so the file must not claim the month
+    private static void discard(Path temp, Path target) {
+        try {
+            Files.deleteIfExists(temp);
+            Files.deleteIfExists(target);
+        } catch (IOException e) {
+            log.error("Could not remove the archive file {} of a rolled back month", target, e);
+        }
+    }
+
+    // ================= READING =================
+
+    @Override
+    public boolean isArchived(YearMonth month) {
+        return Files.exists(archiveFile(month));
+    }
+
+    /**
+     * Reads an archived month, applying the same optional filters as the database query.
+     *
+     * @return the matching transactions, oldest first
+     */
+    @Override
+    public List<TransactionDto> readMonth(YearMonth month, TransactionType type, TransactionStatus status, Long productId) {
+        List<TransactionExportRow> rows = new ArrayList<>();
+        try (InputStream inputStream = new GZIPInputStream(
+                new BufferedInputStream(Files.newInputStream(archiveFile(month)), BUFFER_SIZE), BUFFER_SIZE);
+             MappingIterator<TransactionExportRow> iterator = jsonMapper.readerFor(TransactionExportRow.class)
+                     .readValues(inputStream)) {
+
+            while (iterator.hasNext()) {
+                TransactionExportRow row = iterator.next();
+                if (type != null && row.getTransactionType() != type) continue;
+                if (status != null && row.getStatus() != status) continue;
+                if (productId != null && !productId.equals(row.getProductId())) continue;
+                rows.add(row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the archive of " + month, e);
+        }
+
+        // the export is in id order, month reports are by creation time
+        rows.sort(Comparator.comparing(TransactionExportRow::getCreatedAt).thenComparing(TransactionExportRow::getId));
+
+        List<TransactionDto> transactions = new ArrayList<>(rows.size());
+        for (TransactionExportRow row : rows) {
+            transactions.add(TransactionMapper.toDto(row));
+        }
+        return transactions;
+    }
+
+    private Path archiveFile(YearMonth month) {
+        return archiveDir.resolve("transactions-" + month + ".ndjson.gz");
+    }
+}
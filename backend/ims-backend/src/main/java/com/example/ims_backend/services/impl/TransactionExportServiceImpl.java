@@ -0,0 +1,148 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.dto.TransactionExportRow;
+import com.example.ims_backend.entity.Transaction;
+import com.example.ims_backend.enums.ExportFormat;
+import com.example.ims_backend.repository.TransactionRepository;
+import com.example.ims_backend.services.ITransactionExportService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionExportServiceImpl implements ITransactionExportService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String CSV_HEADER = "id,createdAt,transactionType,status,totalProducts,totalPrice," +
+            "productId,userId,supplierId,description,note,updateAt";
+
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Streams the transactions created in [from, to) straight from a DB cursor into the output.
+     * Memory stays constant: rows are written as they are read and the persistence context is
+     * cleared after every chunk. The output stream is flushed but not closed.
+     *
+     * @return number of exported rows
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTransactions(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream outputStream)
+            throws IOException {
+
+        long count;
+        try (Stream<Transaction> transactions = transactionRepository.streamByCreatedAtRange(from, to)) {
+            Iterator<Transaction> rows = transactions.iterator();
+            count = format == ExportFormat.CSV ? writeCsv(rows, outputStream) : writeNdjson(rows, outputStream);
+        }
+
+        log.info("Exported {} transactions between {} and {} as {}", count, from, to, format);
+        return count;
+    }
+
+    private long writeNdjson(Iterator<Transaction> rows, OutputStream outputStream) throws IOException {
+        long count = 0;
+        try (SequenceWriter writer = jsonMapper.writer()
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(outputStream)) {
+
+            while (rows.hasNext()) {
+                writer.write(toRow(rows.next()));
+                if (++count % CHUNK_SIZE == 0) endChunk(writer::flush);
+            }
+        }
+        if (count > 0) outputStream.write('\n');
+        outputStream.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<Transaction> rows, OutputStream outputStream) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        while (rows.hasNext()) {
+            TransactionExportRow row = toRow(rows.next());
+            writer.write(String.valueOf(row.getId()));
+            writeCsvField(writer, row.getCreatedAt());
+            writeCsvField(writer, row.getTransactionType());
+            writeCsvField(writer, row.getStatus());
+            writeCsvField(writer, row.getTotalProducts());
+            writeCsvField(writer, row.getTotalPrice() != null ? row.getTotalPrice().toPlainString() : null);
+            writeCsvField(writer, row.getProductId());
+            writeCsvField(writer, row.getUserId());
+            writeCsvField(writer, row.getSupplierId());
+            writeCsvField(writer, row.getDescription());
+            writeCsvField(writer, row.getNote());
+            writeCsvField(writer, row.getUpdateAt());
+            writer.write('\n');
+            if (++count % CHUNK_SIZE == 0) endChunk(writer::flush);
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void endChunk(IoAction flush) throws IOException {
+        flush.run();
+        entityManager.clear(); // detach the chunk so the persistence context does not grow with the export
+    }
+
+    private void writeCsvField(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value == null) return;
+
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // lazy associations are only asked for their id, which Hibernate answers without loading them
+    private TransactionExportRow toRow(Transaction transaction) {
+        return TransactionExportRow.builder()
+                .id(transaction.getId())
+                .createdAt(transaction.getCreatedAt())
+                .transactionType(transaction.getTransactionType())
+                .status(transaction.getStatus())
+                .totalProducts(transaction.getTotalProducts())
+                .totalPrice(transaction.getTotalPrice())
+                .productId(transaction.getProduct() != null ? transaction.getProduct().getId() : null)
+                .userId(transaction.getUser() != null ? transaction.getUser().getId() : null)
+                .supplierId(transaction.getSupplier() != null ? transaction.getSupplier().getId() : null)
+                .description(transaction.getDescription())
+                .note(transaction.getNote())
+                .updateAt(transaction.getUpdateAt())
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.ims_backend.services.impl;
 
 import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.dto.TransactionBatchLine;
+import com.example.ims_backend.dto.TransactionBatchResult;
 import com.example.ims_backend.dto.TransactionDto;
 import com.example.ims_backend.dto.TransactionRequest;
 import com.example.ims_backend.entity.Product;
@@ -9,18 +11,27 @@ import com.example.ims_backend.entity.Transaction;
 import com.example.ims_backend.entity.User;
 import com.example.ims_backend.enums.TransactionStatus;
 import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.events.ProductStockChangedEvent;
+import com.example.ims_backend.events.TransactionsChangedEvent;
+import com.example.ims_backend.exceptions.InsufficientStockException;
 import com.example.ims_backend.exceptions.NameValueRequiredException;
 import com.example.ims_backend.exceptions.NotFoundException;
+import com.example.ims_backend.mapper.TransactionMapper;
+import com.example.ims_backend.metrics.SearchMetrics;
+import com.example.ims_backend.reports.TransactionRollups;
 import com.example.ims_backend.repository.ProductRepository;
 import com.example.ims_backend.repository.SupplierRepository;
 import com.example.ims_backend.repository.TransactionRepository;
+import com.example.ims_backend.search.TransactionSearchIndex;
+import com.example.ims_backend.services.ITransactionArchiveService;
 import com.example.ims_backend.services.ITransactionService;
 import com.example.ims_backend.services.IUserService;
 import com.example.ims_backend.specification.TransactionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -30,8 +41,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -42,7 +57,11 @@ public class TransactionServiceImpl implements ITransactionService {
     private final ProductRepository productRepository;
     private final SupplierRepository supplierRepository;
     private final IUserService userService;
-    private final ModelMapper modelMapper;
+    private final TransactionSearchIndex transactionSearchIndex;
+    private final ITransactionArchiveService transactionArchiveService;
+    private final TransactionRollups transactionRollups;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     /**
      * @param transactionRequest
@@ -69,11 +88,6 @@ public class TransactionServiceImpl implements ITransactionService {
         log.info("Processing PURCHASE - Product ID: {}, Supplier ID: {}, Quantity: {}",
                 productId, supplierId, quantity);
 
-        // ===== Fetch Product =====
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() ->
-                        new NotFoundException("Product not found with id: " + productId));
-
         // ===== Fetch Supplier =====
         Supplier supplier = supplierRepository.findById(supplierId)
                 .orElseThrow(() ->
@@ -82,8 +96,13 @@ public class TransactionServiceImpl implements ITransactionService {
         // ===== Get Current User =====
         User user = userService.getCurrentLoggedInUser();
 
-        // ===== Update Stock (JPA will auto-flush inside transaction) =====
-        product.setStockQuantity(product.getStockQuantity() + quantity);
+        // ===== Update Stock (single row update, no read-modify-write) =====
+        addStock(productId, quantity);
+
+        // ===== Fetch Product (reflects the updated stock) =====
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() ->
+                        new NotFoundException("Product not found with id: " + productId));
 
         // ===== Create Transaction =====
         Transaction transaction = Transaction.builder()
@@ -99,10 +118,12 @@ public class TransactionServiceImpl implements ITransactionService {
                 .build();
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        transactionRollups.record(List.of(savedTransaction));
+        eventPublisher.publishEvent(new TransactionsChangedEvent(List.of(savedTransaction)));
 
         log.info("Purchase completed successfully. Transaction ID: {}", savedTransaction.getId());
 
-        return modelMapper.map(savedTransaction, TransactionDto.class);
+        return TransactionMapper.toDetailDto(savedTransaction, userService.getCurrentUser());
     }
 
 
@@ -116,14 +137,19 @@ public class TransactionServiceImpl implements ITransactionService {
         Long productId = transactionRequest.getProductId();
         Integer quantity = transactionRequest.getQuantity();
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new NotFoundException("Product not found with id : " + productId));
+        if (productId == null)
+            throw new NameValueRequiredException("Product Id is required!");
+
+        if (quantity == null || quantity <= 0)
+            throw new NameValueRequiredException("Quantity must be greater than 0");
 
         User user = userService.getCurrentLoggedInUser();
 
-        //update the stock quantity and re-save
-        product.setStockQuantity(product.getStockQuantity() - quantity);
-        productRepository.save(product);
+        //guarded stock update, rejects the sale instead of going negative
+        removeStock(productId, quantity);
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new NotFoundException("Product not found with id : " + productId));
 
         //create a transaction
         Transaction transaction = Transaction.builder()
@@ -138,7 +164,9 @@ public class TransactionServiceImpl implements ITransactionService {
                 .build();
 
         Transaction savedTransaction = transactionRepository.save(transaction);
-        return modelMapper.map(savedTransaction, TransactionDto.class);
+        transactionRollups.record(List.of(savedTransaction));
+        eventPublisher.publishEvent(new TransactionsChangedEvent(List.of(savedTransaction)));
+        return TransactionMapper.toDetailDto(savedTransaction, userService.getCurrentUser());
 
     }
 
@@ -147,30 +175,33 @@ public class TransactionServiceImpl implements ITransactionService {
      * @return
      */
     @Override
+    @Transactional
     public TransactionDto returnToSupplier(TransactionRequest transactionRequest) {
         Long productId = transactionRequest.getProductId();
         Long supplierId = transactionRequest.getSupplierId();
         Integer quantity = transactionRequest.getQuantity();
 
+        if (productId == null) throw new NameValueRequiredException("Product Id is Required");
         if (supplierId == null) throw new NameValueRequiredException("Supplier Id is Required");
-
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new NotFoundException("Product Not Found"));
+        if (quantity == null || quantity <= 0) throw new NameValueRequiredException("Quantity must be greater than 0");
 
         Supplier supplier = supplierRepository.findById(supplierId)
                 .orElseThrow(() -> new NotFoundException("Supplier Not Found"));
 
         User user = userService.getCurrentLoggedInUser();
 
-        //update the stock quantity and re-save
-        product.setStockQuantity(product.getStockQuantity() - quantity);
-        productRepository.save(product);
+        //guarded stock update, cannot return more than is in stock
+        removeStock(productId, quantity);
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new NotFoundException("Product Not Found"));
 
         Transaction transaction = Transaction.builder()
                 .transactionType(TransactionType.RETURN_TO_SUPPLIER)
                 .status(TransactionStatus.PROCESSING)
                 .product(product)
                 .user(user)
+                .supplier(supplier)
                 .totalProducts(quantity)
                 .totalPrice(BigDecimal.ZERO)
                 .description(transactionRequest.getDescription())
@@ -178,12 +209,179 @@ public class TransactionServiceImpl implements ITransactionService {
                 .build();
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        transactionRollups.record(List.of(savedTransaction));
+        eventPublisher.publishEvent(new TransactionsChangedEvent(List.of(savedTransaction)));
 
-        return modelMapper.map(savedTransaction, TransactionDto.class);
+        return TransactionMapper.toDetailDto(savedTransaction, userService.getCurrentUser());
 
 
     }
 
+    private static final int MAX_BATCH_LINES = 1000;
+
+    /**
+     * Validates every line up front, loads all referenced products and suppliers with one query each,
+     * applies the net stock change per product and inserts the accepted transactions in one JDBC batch,
+     * all inside one DB transaction. Lines that fail validation are reported and skipped.
+     *
+     * @param lines
+     * @return
+     */
+    @Override
+    @Transactional
+    public Response processBatch(List<TransactionBatchLine> lines) {
+
+        if (lines == null || lines.isEmpty())
+            throw new NameValueRequiredException("At least one transaction line is required");
+
+        if (lines.size() > MAX_BATCH_LINES)
+            throw new NameValueRequiredException("A batch cannot contain more than " + MAX_BATCH_LINES + " lines");
+
+        TransactionBatchResult[] results = new TransactionBatchResult[lines.size()];
+
+        // ===== Validation =====
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> supplierIds = new HashSet<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String error = validateBatchLine(lines.get(i));
+            if (error != null) {
+                results[i] = rejected(i, error);
+                continue;
+            }
+            productIds.add(lines.get(i).getProductId());
+            if (lines.get(i).getSupplierId() != null) supplierIds.add(lines.get(i).getSupplierId());
+        }
+
+        // ===== Fetch Products (locked, so the stock checked below is the stock updated) and Suppliers =====
+        Map<Long, Product> products = productRepository.findAllByIdForUpdate(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, Supplier> suppliers = supplierRepository.findAllById(supplierIds).stream()
+                .collect(Collectors.toMap(Supplier::getId, Function.identity()));
+
+        User user = userService.getCurrentLoggedInUser();
+
+        // ===== Build Transactions against a running stock level =====
+        Map<Long, Integer> runningStock = new HashMap<>();
+        Map<Long, Integer> stockDeltas = new TreeMap<>(); // ordered by id so concurrent batches lock rows in the same order
+        List<Transaction> transactions = new ArrayList<>();
+        List<Integer> transactionLines = new ArrayList<>();
+
+        for (int i = 0; i < lines.size(); i++) {
+            if (results[i] != null) continue;
+
+            TransactionBatchLine line = lines.get(i);
+            Product product = products.get(line.getProductId());
+            if (product == null) {
+                results[i] = rejected(i, "Product not found with id: " + line.getProductId());
+                continue;
+            }
+
+            Supplier supplier = null;
+            if (line.getTransactionType() != TransactionType.SALE) {
+                supplier = suppliers.get(line.getSupplierId());
+                if (supplier == null) {
+                    results[i] = rejected(i, "Supplier not found with id: " + line.getSupplierId());
+                    continue;
+                }
+            }
+
+            int quantity = line.getQuantity();
+            int delta = line.getTransactionType() == TransactionType.PURCHASE ? quantity : -quantity;
+            int stock = runningStock.getOrDefault(product.getId(), product.getStockQuantity());
+            if (stock + delta < 0) {
+                results[i] = rejected(i, "Insufficient stock for product id: " + product.getId());
+                continue;
+            }
+            runningStock.put(product.getId(), stock + delta);
+            stockDeltas.merge(product.getId(), delta, Integer::sum);
+
+            transactions.add(buildTransaction(line.getTransactionType(), product, supplier, user, quantity,
+                    line.getDescription(), line.getNote()));
+            transactionLines.add(i);
+        }
+
+        // ===== Apply the net stock change per product (cannot fall short, the rows are locked) =====
+        stockDeltas.forEach((productId, delta) -> {
+            if (delta > 0) addStock(productId, delta);
+            else if (delta < 0) removeStock(productId, -delta);
+        });
+
+        // ===== Batched Inserts =====
+        transactionRepository.insertAll(transactions);
+        transactionRollups.record(transactions);
+        eventPublisher.publishEvent(new TransactionsChangedEvent(transactions));
+
+        for (int t = 0; t < transactions.size(); t++) {
+            int line = transactionLines.get(t);
+            results[line] = TransactionBatchResult.builder()
+                    .line(line)
+                    .accepted(true)
+                    .transactionId(transactions.get(t).getId())
+                    .build();
+        }
+
+        log.info("Batch processed: {} accepted, {} rejected",
+                transactions.size(), lines.size() - transactions.size());
+
+        return Response.builder()
+                .status(200)
+                .message(transactions.size() + " of " + lines.size() + " transactions recorded")
+                .batchResults(Arrays.asList(results))
+                .build();
+    }
+
+    private String validateBatchLine(TransactionBatchLine line) {
+        if (line == null) return "Transaction line is required";
+        if (line.getTransactionType() == null) return "Transaction type is required";
+        if (line.getProductId() == null) return "Product Id is required";
+        if (line.getQuantity() == null || line.getQuantity() <= 0) return "Quantity must be greater than 0";
+        if (line.getTransactionType() != TransactionType.SALE && line.getSupplierId() == null)
+            return "Supplier Id is required";
+        return null;
+    }
+
+    private TransactionBatchResult rejected(int line, String message) {
+        return TransactionBatchResult.builder()
+                .line(line)
+                .accepted(false)
+                .message(message)
+                .build();
+    }
+
+    private Transaction buildTransaction(TransactionType type, Product product, Supplier supplier, User user,
+                                         int quantity, String description, String note) {
+        return Transaction.builder()
+                .transactionType(type)
+                .status(type == TransactionType.RETURN_TO_SUPPLIER ? TransactionStatus.PROCESSING : TransactionStatus.COMPLETED)
+                .product(product)
+                .user(user)
+                .supplier(supplier)
+                .totalProducts(quantity)
+                .totalPrice(type == TransactionType.RETURN_TO_SUPPLIER
+                        ? BigDecimal.ZERO
+                        : product.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                .description(description)
+                .note(note)
+                .build();
+    }
+
+    private void addStock(Long productId, int quantity) {
+        if (productRepository.incrementStock(productId, quantity) == 0) {
+            throw new NotFoundException("Product not found with id: " + productId);
+        }
+        eventPublisher.publishEvent(ProductStockChangedEvent.of(productId, quantity));
+    }
+
+    private void removeStock(Long productId, int quantity) {
+        if (productRepository.decrementStock(productId, quantity) == 0) {
+            if (!productRepository.existsById(productId)) {
+                throw new NotFoundException("Product not found with id: " + productId);
+            }
+            throw new InsufficientStockException("Insufficient stock for product id: " + productId);
+        }
+        eventPublisher.publishEvent(ProductStockChangedEvent.of(productId, -quantity));
+    }
+
     /**
      * @param page
      * @param size
@@ -191,22 +389,26 @@ public class TransactionServiceImpl implements ITransactionService {
      * @return
      */
     @Override
+    @Transactional(readOnly = true)
     public Response getAllTransactions(int page, int size, String filter) {
 
+        // free-text search is answered by the in-memory index, then only the requested page is loaded by id
+        boolean searching = filter != null && !filter.isBlank();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        BitSet matches = searching ? transactionSearchIndex.search(filter) : null;
+        if (matches != null) {
+            sample.stop(SearchMetrics.timer(meterRegistry, "transaction", "index"));
+            return getTransactionPageByIds(matches, page, size);
+        }
+
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
 
         //user the Transaction specification
         Specification<Transaction> spec = TransactionFilter.byFilter(filter);
         Page<Transaction> transactionPage = transactionRepository.findAll(spec, pageable);
+        if (searching) sample.stop(SearchMetrics.timer(meterRegistry, "transaction", "specification"));
 
-        List<TransactionDto> transactionDTOS = modelMapper.map(transactionPage.getContent(), new TypeToken<List<TransactionDto>>() {
-        }.getType());
-
-        transactionDTOS.forEach(transactionDTO -> {
-            transactionDTO.setUser(null);
-            transactionDTO.setProduct(null);
-            transactionDTO.setSupplier(null);
-        });
+        List<TransactionDto> transactionDTOS = TransactionMapper.toDtos(transactionPage.getContent());
 
         return Response.builder()
                 .status(200)
@@ -218,19 +420,134 @@ public class TransactionServiceImpl implements ITransactionService {
 
     }
 
+    private Response getTransactionPageByIds(BitSet matches, int page, int size) {
+
+        if (page < 0 || size <= 0)
+            throw new NameValueRequiredException("Page must not be negative and size must be greater than 0");
+
+        int total = matches.cardinality();
+
+        // newest first, same order as the Specification path (id desc)
+        List<Long> pageIds = new ArrayList<>(size);
+        long skip = (long) page * size;
+        for (int id = matches.length() - 1; id >= 0 && pageIds.size() < size; id = matches.previousSetBit(id - 1)) {
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            pageIds.add((long) id);
+        }
+
+        List<Transaction> transactions = transactionRepository.findAllById(pageIds).stream()
+                .sorted(Comparator.comparing(Transaction::getId).reversed())
+                .toList();
+
+        List<TransactionDto> transactionDTOS = TransactionMapper.toDtos(transactions);
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .transactions(transactionDTOS)
+                .totalElements((long) total)
+                .totalPages((total + size - 1) / size)
+                .build();
+    }
+
+    private static final int MAX_SCROLL_SIZE = 1000;
+    private static final String AFTER_CURSOR = "a";
+    private static final String BEFORE_CURSOR = "b";
+
+    /**
+     * Keyset pagination over the primary key: seeks with id &lt; afterId (next page) or id &gt; beforeId
+     * (previous page) and fetches one extra row to detect more data, so no OFFSET scan and no count query.
+     *
+     * @param cursor   opaque token from nextCursor/previousCursor of a previous response, wins over the ids
+     * @param afterId  return the transactions older than this id
+     * @param beforeId return the transactions newer than this id
+     * @param size
+     * @param filter
+     * @return
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Response getTransactionsByCursor(String cursor, Long afterId, Long beforeId, int size, String filter) {
+
+        if (size <= 0 || size > MAX_SCROLL_SIZE)
+            throw new NameValueRequiredException("Size must be between 1 and " + MAX_SCROLL_SIZE);
+
+        if (cursor != null && !cursor.isBlank()) {
+            String[] decoded = decodeCursor(cursor);
+            afterId = AFTER_CURSOR.equals(decoded[0]) ? Long.valueOf(decoded[1]) : null;
+            beforeId = BEFORE_CURSOR.equals(decoded[0]) ? Long.valueOf(decoded[1]) : null;
+        }
+
+        boolean backwards = afterId == null && beforeId != null;
+
+        Specification<Transaction> spec = TransactionFilter.byFilter(filter)
+                .and(backwards ? TransactionFilter.idGreaterThan(beforeId) : TransactionFilter.idLessThan(afterId));
+        Sort sort = Sort.by(backwards ? Sort.Direction.ASC : Sort.Direction.DESC, "id");
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<Transaction> rows = new ArrayList<>(transactionRepository.findBy(spec,
+                query -> query.sortBy(sort).limit(size + 1).all()));
+        if (filter != null && !filter.isBlank()) {
+            sample.stop(SearchMetrics.timer(meterRegistry, "transaction", "specification"));
+        }
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) rows = rows.subList(0, size);
+        if (backwards) Collections.reverse(rows);
+
+        String nextCursor = null;
+        String previousCursor = null;
+        if (!rows.isEmpty()) {
+            Long newestId = rows.get(0).getId();
+            Long oldestId = rows.get(rows.size() - 1).getId();
+            if (backwards || hasMore) nextCursor = encodeCursor(AFTER_CURSOR, oldestId);
+            if (backwards ? hasMore : afterId != null) previousCursor = encodeCursor(BEFORE_CURSOR, newestId);
+        }
+
+        List<TransactionDto> transactionDTOS = TransactionMapper.toDtos(rows);
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .transactions(transactionDTOS)
+                .nextCursor(nextCursor)
+                .previousCursor(previousCursor)
+                .build();
+    }
+
+    private String encodeCursor(String direction, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((direction + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 2 || !(AFTER_CURSOR.equals(parts[0]) || BEFORE_CURSOR.equals(parts[0]))) {
+                throw new IllegalArgumentException();
+            }
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new NameValueRequiredException("Invalid cursor");
+        }
+    }
+
     /**
      * @param id
      * @return
      */
     @Override
+    @Transactional(readOnly = true)
     public Response getAllTransactionById(Long id) {
 
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Transaction Not Found"));
 
-        TransactionDto transactionDTO = modelMapper.map(transaction, TransactionDto.class);
-
-        transactionDTO.getUser().setTransactions(null);
+        TransactionDto transactionDTO = TransactionMapper.toDetailDto(transaction);
 
         return Response.builder()
                 .status(200)
@@ -243,26 +560,66 @@ public class TransactionServiceImpl implements ITransactionService {
     /**
      * @param month
      * @param year
+     * @param type      optional
+     * @param status    optional
+     * @param productId optional
      * @return
      */
     @Override
-    public Response getAllTransactionByMonthAndYear(int month, int year) {
-        List<Transaction> transactions = transactionRepository.findAll(TransactionFilter.byMonthAndYear(month, year));
+    @Transactional(readOnly = true)
+    public Response getAllTransactionByMonthAndYear(int month, int year, TransactionType type, TransactionStatus status, Long productId) {
 
-        List<TransactionDto> transactionDTOS = modelMapper.map(transactions, new TypeToken<List<TransactionDto>>() {
-        }.getType());
+        if (month < 1 || month > 12)
+            throw new NameValueRequiredException("Month must be between 1 and 12");
 
-        transactionDTOS.forEach(transactionDTO -> {
-            transactionDTO.setUser(null);
-            transactionDTO.setProduct(null);
-            transactionDTO.setSupplier(null);
-        });
+        YearMonth period = YearMonth.of(year, month);
+
+        // months past the retention window are no longer in the table, they are read from their archive file
+        if (transactionArchiveService.isArchived(period)) {
+            return Response.builder()
+                    .status(200)
+                    .message("success")
+                    .transactions(transactionArchiveService.readMonth(period, type, status, productId))
+                    .build();
+        }
+
+        return getTransactionsByDateRange(period.atDay(1).atStartOfDay(), period.plusMonths(1).atDay(1).atStartOfDay(),
+                type, status, productId);
+    }
+
+    /**
+     * @param from      inclusive
+     * @param to        exclusive
+     * @param type      optional
+     * @param status    optional
+     * @param productId optional
+     * @return
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Response getTransactionsByDateRange(LocalDateTime from, LocalDateTime to, TransactionType type, TransactionStatus status, Long productId) {
+
+        if (from == null || to == null)
+            throw new NameValueRequiredException("Both from and to are required");
+
+        if (!from.isBefore(to))
+            throw new NameValueRequiredException("from must be before to");
+
+        Specification<Transaction> spec = TransactionFilter.createdBetween(from, to)
+                .and(TransactionFilter.byType(type))
+                .and(TransactionFilter.byStatus(status))
+                .and(TransactionFilter.byProduct(productId));
+
+        List<Transaction> transactions = transactionRepository.findAll(spec, Sort.by(Sort.Direction.ASC, "createdAt"));
+
+        List<TransactionDto> transactionDTOS = TransactionMapper.toDtos(transactions);
 
         return Response.builder()
                 .status(200)
                 .message("success")
                 .transactions(transactionDTOS)
-                .build();    }
+                .build();
+    }
 
     /**
      * @param transactionId
@@ -270,14 +627,19 @@ public class TransactionServiceImpl implements ITransactionService {
      * @return
      */
     @Override
+    @Transactional
     public Response updateTransactionStatus(Long transactionId, TransactionStatus status) {
         Transaction existingTransaction = transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new NotFoundException("Transaction Not Found"));
 
+        TransactionStatus previousStatus = existingTransaction.getStatus();
         existingTransaction.setStatus(status);
         existingTransaction.setUpdateAt(LocalDateTime.now());
 
         transactionRepository.save(existingTransaction);
+        // cancelling takes the transaction out of the report totals, un-cancelling puts it back
+        transactionRollups.recordStatusChange(existingTransaction, previousStatus);
+        eventPublisher.publishEvent(new TransactionsChangedEvent(List.of(existingTransaction)));
 
         return Response.builder()
                 .status(200)
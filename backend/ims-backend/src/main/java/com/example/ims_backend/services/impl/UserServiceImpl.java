@@ -1,28 +1,45 @@
 package com.example.ims_backend.services.impl;
 
+import com.example.ims_backend.cache.UserCache;
 import com.example.ims_backend.dto.LoginRequest;
 import com.example.ims_backend.dto.RegisterRequest;
 import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.dto.TransactionDto;
 import com.example.ims_backend.dto.UserDto;
+import com.example.ims_backend.dto.UserTransactionRow;
 import com.example.ims_backend.entity.User;
 import com.example.ims_backend.enums.UserRole;
+import com.example.ims_backend.events.UserChangedEvent;
 import com.example.ims_backend.exceptions.InvalidCredentialsException;
+import com.example.ims_backend.exceptions.NameValueRequiredException;
 import com.example.ims_backend.exceptions.NotFoundException;
+import com.example.ims_backend.mapper.TransactionMapper;
+import com.example.ims_backend.mapper.UserMapper;
+import com.example.ims_backend.repository.TransactionRepository;
 import com.example.ims_backend.repository.UserRepository;
+import com.example.ims_backend.security.AuthPrincipal;
+import com.example.ims_backend.security.IssuedToken;
 import com.example.ims_backend.security.JwtUtils;
+import com.example.ims_backend.security.LoginExecutor;
+import com.example.ims_backend.security.LoginRateLimiter;
+import com.example.ims_backend.security.TokenRevocationList;
 import com.example.ims_backend.services.IUserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -30,11 +47,18 @@ import java.util.List;
 public class UserServiceImpl implements IUserService {
 
     private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
     private final PasswordEncoder passwordEncoder;
-    private final ModelMapper modelMapper;
     private final JwtUtils jwtUtils;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserCache userCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final LoginRateLimiter loginRateLimiter;
+    private final LoginExecutor loginExecutor;
 
     private static final String DEFAULT_EXPIRATION = "6 months";
+    private static final int DEFAULT_HISTORY_DAYS = 90;
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
 
     // ================= REGISTER =================
     @Override
@@ -56,6 +80,7 @@ public class UserServiceImpl implements IUserService {
                 .build();
 
         userRepository.save(userToSave);
+        eventPublisher.publishEvent(UserChangedEvent.saved(userToSave));
 
         return Response.builder()
                 .status(200)
@@ -64,8 +89,23 @@ public class UserServiceImpl implements IUserService {
     }
 
     // ================= LOGIN =================
+
+    /**
+     * Rate limits the attempt on the calling thread, then verifies the password on the login pool.
+     *
+     * @param loginRequest
+     * @param clientAddress
+     * @return completes with the token, or exceptionally with InvalidCredentialsException
+     */
     @Override
-    public Response loginUser(LoginRequest loginRequest) {
+    public CompletableFuture<Response> loginUser(LoginRequest loginRequest, String clientAddress) {
+
+        loginRateLimiter.acquire(loginRequest.getEmail(), clientAddress);
+
+        return loginExecutor.submit(() -> authenticate(loginRequest));
+    }
+
+    private Response authenticate(LoginRequest loginRequest) {
 
         User user = userRepository.findByEmail(loginRequest.getEmail())
                 .orElseThrow(() ->
@@ -76,26 +116,54 @@ public class UserServiceImpl implements IUserService {
             throw new InvalidCredentialsException("Invalid email or password");
         }
 
-        String token = jwtUtils.generateToken(user.getEmail());
+        // the hash was made at a lower cost than is configured now
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(loginRequest.getPassword()));
+            userRepository.save(user);
+            log.info("Rehashed password of user {} at the current cost", user.getId());
+        }
+
+        IssuedToken token = jwtUtils.generateToken(user);
+        tokenRevocationList.register(token, user.getId());
 
         return Response.builder()
                 .status(200)
                 .message("User logged in successfully")
                 .role(user.getRole())
-                .token(token)
+                .token(token.token())
                 .expirationTime(DEFAULT_EXPIRATION)
                 .build();
     }
 
+    // ================= LOGOUT =================
+
+    /**
+     * Revokes the token the request was made with; the user's other sessions stay signed in.
+     *
+     * @return
+     */
+    @Override
+    public Response logoutUser() {
+
+        Authentication authentication =
+                SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication.getPrincipal() instanceof AuthPrincipal principal && principal.tokenId() != null) {
+            tokenRevocationList.revoke(principal.tokenId());
+        }
+
+        return Response.builder()
+                .status(200)
+                .message("User logged out successfully")
+                .build();
+    }
+
     // ================= GET ALL USERS =================
     @Override
     public Response getAllUsers() {
 
         List<User> users = userRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
-        users.forEach(user -> user.setTransactions(null));
-
-        Type listType = new TypeToken<List<UserDto>>() {}.getType();
-        List<UserDto> userDTOS = modelMapper.map(users, listType);
+        List<UserDto> userDTOS = UserMapper.toDtos(users);
 
         return Response.builder()
                 .status(200)
@@ -105,19 +173,44 @@ public class UserServiceImpl implements IUserService {
     }
 
     // ================= GET CURRENT LOGGED USER =================
+
+    /**
+     * For token-authenticated requests this is an unloaded reference built from the id claim, so recording a
+     * transaction does not query the users table; only its id may be read.
+     *
+     * @return
+     */
     @Override
     public User getCurrentLoggedInUser() {
 
         Authentication authentication =
                 SecurityContextHolder.getContext().getAuthentication();
 
-        String email = authentication.getName();
+        if (authentication.getPrincipal() instanceof AuthPrincipal principal) {
+            return userRepository.getReferenceById(principal.userId());
+        }
 
-        User user = userRepository.findByEmail(email)
+        return userRepository.findByEmail(authentication.getName())
                 .orElseThrow(() -> new NotFoundException("User not found"));
+    }
+
+    /**
+     * @return the signed-in user, from the user cache when the request carries a token principal
+     */
+    @Override
+    public UserDto getCurrentUser() {
+
+        Authentication authentication =
+                SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication.getPrincipal() instanceof AuthPrincipal principal) {
+            return userCache.getById(principal.userId(), () -> UserMapper.toDto(
+                    userRepository.findById(principal.userId())
+                            .orElseThrow(() -> new NotFoundException("User not found"))));
+        }
 
-        user.setTransactions(null);
-        return user;
+        return UserMapper.toDto(userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new NotFoundException("User not found")));
     }
 
     // ================= GET USER BY ID =================
@@ -127,8 +220,7 @@ public class UserServiceImpl implements IUserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        UserDto userDTO = modelMapper.map(user, UserDto.class);
-        userDTO.setTransactions(null);
+        UserDto userDTO = UserMapper.toDto(user);
 
         return Response.builder()
                 .status(200)
@@ -153,6 +245,7 @@ public class UserServiceImpl implements IUserService {
         if (userDTO.getName() != null)
             existingUser.setName(userDTO.getName());
 
+        boolean roleChanged = userDTO.getRole() != null && userDTO.getRole() != existingUser.getRole();
         if (userDTO.getRole() != null)
             existingUser.setRole(userDTO.getRole());
 
@@ -163,6 +256,10 @@ public class UserServiceImpl implements IUserService {
         }
 
         userRepository.save(existingUser);
+        eventPublisher.publishEvent(UserChangedEvent.saved(existingUser));
+
+        // outstanding tokens carry the old role
+        if (roleChanged) tokenRevocationList.revokeAll(id);
 
         return Response.builder()
                 .status(200)
@@ -178,6 +275,8 @@ public class UserServiceImpl implements IUserService {
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(UserChangedEvent.deleted(id));
+        tokenRevocationList.revokeAll(id);
 
         return Response.builder()
                 .status(200)
@@ -186,23 +285,41 @@ public class UserServiceImpl implements IUserService {
     }
 
     // ================= GET USER TRANSACTIONS =================
+    /**
+     * @param from optional, inclusive; defaults to {@value #DEFAULT_HISTORY_DAYS} days before {@code to}
+     * @param to   optional, exclusive; defaults to now
+     */
     @Override
-    public Response getUserTransactions(Long id) {
+    @Transactional(readOnly = true)
+    public Response getUserTransactions(Long id, LocalDateTime from, LocalDateTime to, int page, int size) {
 
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        if (page < 0 || size <= 0 || size > MAX_HISTORY_PAGE_SIZE)
+            throw new NameValueRequiredException("Page must not be negative and size must be between 1 and " +
+                    MAX_HISTORY_PAGE_SIZE);
+
+        LocalDateTime until = to != null ? to : LocalDateTime.now();
+        LocalDateTime since = from != null ? from : until.minusDays(DEFAULT_HISTORY_DAYS);
+        if (!since.isBefore(until))
+            throw new NameValueRequiredException("from must be before to");
 
-        UserDto userDTO = modelMapper.map(user, UserDto.class);
+        UserDto userDTO = userCache.getById(id, () -> UserMapper.toDto(userRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("User not found"))));
 
-        userDTO.getTransactions().forEach(transactionDTO -> {
-            transactionDTO.setUser(null);
-            transactionDTO.setSupplier(null);
-        });
+        Page<UserTransactionRow> rows = transactionRepository.findHistoryByUser(id, since, until,
+                PageRequest.of(page, size));
+
+        List<TransactionDto> transactionDTOS = new ArrayList<>(rows.getNumberOfElements());
+        for (UserTransactionRow row : rows) {
+            transactionDTOS.add(TransactionMapper.toDto(row));
+        }
 
         return Response.builder()
                 .status(200)
                 .message("success")
                 .user(userDTO)
+                .transactions(transactionDTOS)
+                .totalElements(rows.getTotalElements())
+                .totalPages(rows.getTotalPages())
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,15 @@
 package com.example.ims_backend.specification;
 
 import com.example.ims_backend.entity.Transaction;
-import jakarta.persistence.criteria.Expression;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -94,19 +97,58 @@ public class TransactionFilter {
 
 
     // ===== Filter by Month and Year =====
+    // Half-open range on the raw column so the created_at index can be used (no month()/year() wrapping)
     public static Specification<Transaction> byMonthAndYear(int month, int year) {
+        YearMonth period = YearMonth.of(year, month);
+        return createdBetween(period.atDay(1).atStartOfDay(), period.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    // ===== Filter by Date Range [from, to) =====
+    public static Specification<Transaction> createdBetween(LocalDateTime from, LocalDateTime to) {
         return (root, query, criteriaBuilder) -> {
 
-            Expression<Integer> monthExpression =
-                    criteriaBuilder.function("month", Integer.class, root.get("createdAt"));
+            List<Predicate> predicates = new ArrayList<>();
 
-            Expression<Integer> yearExpression =
-                    criteriaBuilder.function("year", Integer.class, root.get("createdAt"));
+            if (from != null)
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), from));
 
-            Predicate monthPredicate = criteriaBuilder.equal(monthExpression, month);
-            Predicate yearPredicate = criteriaBuilder.equal(yearExpression, year);
+            if (to != null)
+                predicates.add(criteriaBuilder.lessThan(root.get("createdAt"), to));
 
-            return criteriaBuilder.and(monthPredicate, yearPredicate);
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
-}
\ No newline at end of file
+
+    // ===== Filter by Type / Status / Product (ignored when null) =====
+    public static Specification<Transaction> byType(TransactionType transactionType) {
+        return (root, query, criteriaBuilder) -> transactionType == null
+                ? criteriaBuilder.conjunction()
+                : criteriaBuilder.equal(root.get("transactionType"), transactionType);
+    }
+
+    public static Specification<Transaction> byStatus(TransactionStatus status) {
+        return (root, query, criteriaBuilder) -> status == null
+                ? criteriaBuilder.conjunction()
+                : criteriaBuilder.equal(root.get("status"), status);
+    }
+
+    public static Specification<Transaction> byProduct(Long productId) {
+        return (root, query, criteriaBuilder) -> productId == null
+                ? criteriaBuilder.conjunction()
+                : criteriaBuilder.equal(root.get("product").get("id"), productId);
+    }
+
+
+    // ===== Keyset (seek) bounds on the primary key =====
+    public static Specification<Transaction> idLessThan(Long id) {
+        return (root, query, criteriaBuilder) -> id == null
+                ? criteriaBuilder.conjunction()
+                : criteriaBuilder.lessThan(root.get("id"), id);
+    }
+
+    public static Specification<Transaction> idGreaterThan(Long id) {
+        return (root, query, criteriaBuilder) -> id == null
+                ? criteriaBuilder.conjunction()
+                : criteriaBuilder.greaterThan(root.get("id"), id);
+    }
+}
@@ -0,0 +1,63 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update).
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE categories (
+    id   BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE supplier (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    name         VARCHAR(255),
+    contact_info VARCHAR(255),
+    address      VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    name         VARCHAR(255),
+    email        VARCHAR(255),
+    password     VARCHAR(255),
+    phone_number VARCHAR(255),
+    role         ENUM ('ADMIN', 'MANAGER'),
+    created_at   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE products (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    name           VARCHAR(255),
+    sku            VARCHAR(255),
+    price          DECIMAL(38, 2),
+    stock_quantity INT,
+    description    VARCHAR(255),
+    expiry_date    DATETIME(6),
+    image_url      VARCHAR(255),
+    created_at     DATETIME(6),
+    category_id    BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_products_sku UNIQUE (sku),
+    CONSTRAINT fk_products_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+
+CREATE TABLE transactions (
+    id               BIGINT NOT NULL AUTO_INCREMENT,
+    total_products   INT,
+    total_price      DECIMAL(38, 2),
+    transaction_type ENUM ('PURCHASE', 'SALE', 'RETURN_TO_SUPPLIER'),
+    status           ENUM ('PENDING', 'PROCESSING', 'COMPLETED', 'CANCELLED'),
+    description      VARCHAR(255),
+    note             VARCHAR(255),
+    created_at       DATETIME(6),
+    update_at        DATETIME(6),
+    product_id       BIGINT,
+    user_id          BIGINT,
+    supplier_id      BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_product FOREIGN KEY (product_id) REFERENCES products (id),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_transactions_supplier FOREIGN KEY (supplier_id) REFERENCES supplier (id)
+);
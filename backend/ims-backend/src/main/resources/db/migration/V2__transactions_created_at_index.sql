@@ -0,0 +1,2 @@
+-- Month/year and date range reports filter on a half-open created_at range.
+CREATE INDEX idx_transactions_created_at ON transactions (created_at);
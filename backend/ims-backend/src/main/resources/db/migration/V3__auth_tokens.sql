@@ -0,0 +1,12 @@
+-- One row per issued token (by its jti) so tokens can be revoked on logout, user delete and role change.
+-- Rows are purged once the token has expired.
+CREATE TABLE auth_tokens (
+    id         VARCHAR(36) NOT NULL,
+    user_id    BIGINT      NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_auth_tokens_user_id ON auth_tokens (user_id);
+CREATE INDEX idx_auth_tokens_revoked_at ON auth_tokens (revoked_at);
@@ -0,0 +1,11 @@
+-- One index per transaction query shape, equality columns first and the created_at range last:
+--   product_id / user_id / supplier_id + created_at: per-product reports, user history, per-supplier history
+--   transaction_type + status + created_at: date range reports filtered by type and status
+-- Each also covers the foreign key on its first column, so MySQL drops the index it created for that key.
+CREATE INDEX idx_transactions_product_created_at ON transactions (product_id, created_at);
+CREATE INDEX idx_transactions_user_created_at ON transactions (user_id, created_at);
+CREATE INDEX idx_transactions_supplier_created_at ON transactions (supplier_id, created_at);
+CREATE INDEX idx_transactions_type_status_created_at ON transactions (transaction_type, status, created_at);
+
+-- The nightly purge deletes tokens by expiry.
+CREATE INDEX idx_auth_tokens_expires_at ON auth_tokens (expires_at);
@@ -0,0 +1,3 @@
+-- Optimistic lock version for products. Not part of the schema Hibernate generated before migrations were
+-- introduced, so databases baselined at V1 get it here; existing rows start at 0.
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- The transaction search index catches up on rows changed since its last pass by id, created_at and update_at;
+-- without this index the update_at branch scans the table every max-staleness.
+CREATE INDEX idx_transactions_update_at ON transactions (update_at);
@@ -0,0 +1,51 @@
+package com.example.ims_backend;
+
+import com.example.ims_backend.dto.ResponseJsonBenchmark;
+import com.example.ims_backend.mapper.MapperBenchmark;
+import com.example.ims_backend.security.AuthFilterBenchmark;
+import com.example.ims_backend.specification.TransactionFilterBenchmark;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs every JMH benchmark of the hot paths (token verification, transaction filter and SQL generation,
+ * entity to DTO mapping, response JSON) in one go and writes the results as JMH JSON, to keep per release
+ * and compare, e.g. with jmh.morethan.io:
+ * {@code mvn test -Pbenchmark -Dtest=BenchmarkSuiteTest [-Djmh.result=target/jmh-result.json]}.
+ * {@code -Djmh.include=MapperBenchmark} (a regex over benchmark names) runs only the matching ones.
+ */
+class BenchmarkSuiteTest {
+
+    @Test
+    @Tag("benchmark")
+    void hotPaths() throws RunnerException {
+        OptionsBuilder options = new OptionsBuilder();
+        String only = System.getProperty("jmh.include");
+        List<Class<?>> benchmarks = Stream.<Class<?>>of(AuthFilterBenchmark.class, TransactionFilterBenchmark.class,
+                        MapperBenchmark.class, ResponseJsonBenchmark.class)
+                .filter(benchmark -> only == null || Pattern.compile(only).matcher(benchmark.getName()).find())
+                .toList();
+        // with no include at all JMH would run every benchmark on the classpath
+        if (benchmarks.isEmpty()) {
+            throw new IllegalArgumentException("jmh.include=" + only + " matches none of the benchmarks");
+        }
+        // JMH reads includes as regexes: anchor the exact class name so e.g. a dot or a longer name never widens it
+        benchmarks.forEach(benchmark -> options.include("^" + Pattern.quote(benchmark.getName()) + "\\."));
+        assertFalse(new Runner(options
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("jmh.result", "target/jmh-result.json"))
+                .build())
+                .run()
+                .isEmpty());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.ims_backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Boots against a database in the shape ddl-auto: update left it before migrations were introduced: Flyway
+ * must stamp it as V1, bring it up to date, and Hibernate's validate must accept the result.
+ */
+@SpringBootTest
+class SchemaBaselineTest {
+
+    private static final String URL = "jdbc:h2:mem:baseline_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void baselineDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:db/migration/V1__initial_schema.sql'");
+            statement.execute("INSERT INTO products (name, sku, price, stock_quantity) VALUES ('Old item', 'OLD-1', 1.00, 3)");
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void baselinedDatabaseIsMigratedAndValidates() {
+        assertEquals("1", jdbcTemplate.queryForObject(
+                "select version from flyway_schema_history where type = 'BASELINE'", String.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from flyway_schema_history where success = false", Integer.class));
+        assertEquals(0L, jdbcTemplate.queryForObject("select version from products where sku = 'OLD-1'", Long.class));
+    }
+}
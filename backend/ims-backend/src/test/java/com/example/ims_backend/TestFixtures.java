@@ -0,0 +1,87 @@
+package com.example.ims_backend;
+
+import com.example.ims_backend.entity.Category;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.entity.Supplier;
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.UserRole;
+import com.example.ims_backend.repository.CategoryRepository;
+import com.example.ims_backend.repository.ProductRepository;
+import com.example.ims_backend.repository.SupplierRepository;
+import com.example.ims_backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Rows the service tests set up before each test. Every test shares one in-memory database, so ids always
+ * come back from the insert itself, never from a {@code max(id)} read that another test may have moved.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestFixtures {
+
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public User saveUser(String name) {
+        return userRepository.save(User.builder()
+                .name(name)
+                .email(name.toLowerCase() + "-" + UUID.randomUUID() + "@ims.test")
+                .password("secret")
+                .phoneNumber("000")
+                .role(UserRole.MANAGER)
+                .build());
+    }
+
+    /** Saves a user and makes it the caller the services see until {@link SecurityContextHolder#clearContext()}. */
+    public User signIn(String name) {
+        User user = saveUser(name);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+        return user;
+    }
+
+    public Category saveCategory(String name) {
+        return categoryRepository.save(Category.builder().name(name).build());
+    }
+
+    public Supplier saveSupplier(String name) {
+        return supplierRepository.save(Supplier.builder().name(name).contactInfo("supplier@ims.test").build());
+    }
+
+    public Product saveProduct(String name, BigDecimal price, int stock, Category category) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .sku("SKU-" + UUID.randomUUID())
+                .price(price)
+                .stockQuantity(stock)
+                .category(category)
+                .build());
+    }
+
+    /** Runs a plain JDBC insert and returns the id the database generated for the row. */
+    public long insert(String sql, Object... args) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"});
+            new ArgumentPreparedStatementSetter(args).setValues(statement);
+            return statement;
+        }, keyHolder);
+        return Objects.requireNonNull(keyHolder.getKey()).longValue();
+    }
+}
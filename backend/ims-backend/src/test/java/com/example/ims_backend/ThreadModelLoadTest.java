@@ -0,0 +1,227 @@
+package com.example.ims_backend;
+
+import com.example.ims_backend.dto.LoginRequest;
+import com.example.ims_backend.dto.RegisterRequest;
+import com.example.ims_backend.services.IUserService;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Platform versus virtual request threads ({@code spring.threads.virtual.enabled}) under many concurrent
+ * clients: each client is a virtual thread in this JVM that keeps one request in flight, mixing product
+ * listing, product by id, the transaction list and sells. Tomcat keeps its default 200 threads in platform
+ * mode; Hikari is sized as in application.yml. In virtual mode, virtual threads that pin their carrier
+ * (JFR {@code jdk.VirtualThreadPinned}) are reported by the first frame outside the JDK.
+ * <p>
+ * Run with {@code mvn test -Pload -Dtest=ThreadModelLoadTest}; size with {@code -Dload.clients} and
+ * {@code -Dload.seconds}.
+ */
+@Tag("load")
+class ThreadModelLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 1000);
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASURE = Duration.ofSeconds(Integer.getInteger("load.seconds", 20));
+    private static final int PRODUCTS = 2_000;
+    private static final int TRANSACTIONS = 50_000;
+
+    private enum Endpoint { PRODUCT_PAGE, PRODUCT_BY_ID, TRANSACTION_PAGE, SELL }
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Run platform = run(false);
+        Run virtual = run(true);
+
+        System.out.printf("%d clients, %d s measured%n", CLIENTS, MEASURE.toSeconds());
+        System.out.printf("%-9s %-17s %8s %8s %8s %8s %8s %7s%n",
+                "threads", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Run run : List.of(platform, virtual)) {
+            for (Endpoint endpoint : Endpoint.values()) {
+                double[] latencies = run.latencies.get(endpoint);
+                System.out.printf("%-9s %-17s %8d %8.0f %8.1f %8.1f %8.1f %7d%n", run.mode, endpoint,
+                        latencies.length, latencies.length / (double) MEASURE.toSeconds(),
+                        percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0),
+                        run.errors.getOrDefault(endpoint, new AtomicInteger()).get());
+            }
+        }
+        System.out.println("virtual thread pinning (first non-JDK frame -> events): " + new TreeMap<>(virtual.pinned));
+
+        for (Run run : List.of(platform, virtual)) {
+            for (Endpoint endpoint : Endpoint.values()) {
+                assertTrue(run.latencies.get(endpoint).length > 0, run.mode + " " + endpoint);
+            }
+        }
+    }
+
+    private Run run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ImsBackendApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:threads-" + UUID.randomUUID()
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--spring.datasource.hikari.connection-timeout=5000",
+                "--ims.security.login.rate-limit.per-address=0",
+                "--logging.level.root=WARN");
+             RecordingStream pinning = new RecordingStream()) {
+
+            Run run = new Run(virtualThreads ? "virtual" : "platform");
+            pinning.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1)).withStackTrace();
+            pinning.onEvent("jdk.VirtualThreadPinned", event -> run.pinned.merge(
+                    firstApplicationFrame(event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames()),
+                    1, Integer::sum));
+
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String token = seed(context);
+
+            run(base, token, WARMUP, null);
+            pinning.startAsync();
+            run(base, token, MEASURE, run);
+            return run;
+        }
+    }
+
+    /**
+     * Keeps {@link #CLIENTS} requests in flight for {@code duration}; records into {@code run} unless null.
+     */
+    private void run(String base, String token, Duration duration, Run run) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        Map<Endpoint, List<Double>> recorded = new ConcurrentHashMap<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < CLIENTS; client++) {
+                clients.submit(() -> {
+                    Map<Endpoint, List<Double>> mine = new EnumMap<>(Endpoint.class);
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Endpoint endpoint = pick(random.nextInt(100));
+                        long start = System.nanoTime();
+                        boolean ok = send(request(base, token, endpoint, random));
+                        double millis = (System.nanoTime() - start) / 1e6;
+                        if (run == null) continue;
+                        mine.computeIfAbsent(endpoint, e -> new ArrayList<>()).add(millis);
+                        if (!ok) run.errors.computeIfAbsent(endpoint, e -> new AtomicInteger()).incrementAndGet();
+                    }
+                    mine.forEach((endpoint, latencies) -> recorded.merge(endpoint, latencies, (a, b) -> {
+                        List<Double> merged = new ArrayList<>(a);
+                        merged.addAll(b);
+                        return merged;
+                    }));
+                });
+            }
+        }
+        if (run == null) return;
+        for (Endpoint endpoint : Endpoint.values()) {
+            run.latencies.put(endpoint, recorded.getOrDefault(endpoint, List.of()).stream()
+                    .mapToDouble(Double::doubleValue).toArray());
+        }
+    }
+
+    private static Endpoint pick(int roll) {
+        if (roll < 35) return Endpoint.PRODUCT_PAGE;
+        if (roll < 70) return Endpoint.PRODUCT_BY_ID;
+        if (roll < 90) return Endpoint.TRANSACTION_PAGE;
+        return Endpoint.SELL;
+    }
+
+    private HttpRequest request(String base, String token, Endpoint endpoint, ThreadLocalRandom random) {
+        HttpRequest.Builder request = switch (endpoint) {
+            case PRODUCT_PAGE -> HttpRequest.newBuilder(URI.create(base + "/api/products?page="
+                    + random.nextInt(10) + "&size=20&sort=name,asc"));
+            case PRODUCT_BY_ID -> HttpRequest.newBuilder(URI.create(base + "/api/products/"
+                    + (random.nextInt(PRODUCTS) + 1)));
+            case TRANSACTION_PAGE -> HttpRequest.newBuilder(URI.create(base + "/api/transactions/all?page="
+                    + random.nextInt(10) + "&size=20"));
+            case SELL -> HttpRequest.newBuilder(URI.create(base + "/api/transactions/sell"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"productId\":" + (random.nextInt(PRODUCTS) + 1) + ",\"quantity\":1}"));
+        };
+        return request.header("Authorization", "Bearer " + token).timeout(Duration.ofSeconds(60)).build();
+    }
+
+    private boolean send(HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static String seed(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into categories (name) select concat('Category ', \"X\") from system_range(1, 50)");
+        jdbcTemplate.update("insert into users (name, email, phone_number, role) " +
+                "select concat('Operator ', \"X\"), concat('ops-', \"X\", '@ims.test'), concat('555-', \"X\"), 'MANAGER' " +
+                "from system_range(1, 100)");
+        jdbcTemplate.update("insert into products (name, sku, description, price, stock_quantity, version, category_id) " +
+                "select concat('Product ', \"X\"), concat('SKU-', \"X\"), 'Standard stock item', 9.99, 1000000, 0, " +
+                "mod(\"X\", 50) + 1 from system_range(1, ?)", PRODUCTS);
+        jdbcTemplate.update("insert into transactions (total_products, total_price, transaction_type, status, description, " +
+                        "created_at, product_id, user_id) " +
+                        "select 1, 9.99, 'SALE', 'COMPLETED', concat('Order ', \"X\"), " +
+                        "dateadd('SECOND', \"X\", cast(? as timestamp)), mod(\"X\", ?) + 1, mod(\"X\", 100) + 1 " +
+                        "from system_range(1, ?)",
+                Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0)), PRODUCTS, TRANSACTIONS);
+
+        IUserService userService = context.getBean(IUserService.class);
+        userService.registerUser(new RegisterRequest("Load", "load@ims.test", "secret-password", "000", null));
+        jdbcTemplate.update("update users set role = 'ADMIN' where email = 'load@ims.test'"); // products are admin-only
+        return userService.loginUser(new LoginRequest("load@ims.test", "secret-password"), null).join().getToken();
+    }
+
+    private static String firstApplicationFrame(List<RecordedFrame> frames) {
+        Optional<RecordedFrame> frame = frames.stream()
+                .filter(f -> f.isJavaFrame() && !f.getMethod().getType().getName().startsWith("java.")
+                        && !f.getMethod().getType().getName().startsWith("jdk."))
+                .findFirst();
+        return frame.map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName()).orElse("(jdk only)");
+    }
+
+    private static double percentile(double[] values, double quantile) {
+        if (values.length == 0) return Double.NaN;
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static final class Run {
+        final String mode;
+        final Map<Endpoint, double[]> latencies = new EnumMap<>(Endpoint.class);
+        final Map<Endpoint, AtomicInteger> errors = new ConcurrentHashMap<>();
+        final Map<String, Integer> pinned = new ConcurrentHashMap<>();
+
+        Run(String mode) {
+            this.mode = mode;
+        }
+    }
+}
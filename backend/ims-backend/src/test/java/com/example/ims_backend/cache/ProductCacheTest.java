@@ -0,0 +1,177 @@
+package com.example.ims_backend.cache;
+
+import com.example.ims_backend.dto.CategoryDto;
+import com.example.ims_backend.dto.ProductDto;
+import com.example.ims_backend.dto.TransactionRequest;
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.UserRole;
+import com.example.ims_backend.exceptions.NotFoundException;
+import com.example.ims_backend.repository.ProductRepository;
+import com.example.ims_backend.repository.UserRepository;
+import com.example.ims_backend.services.ICategoryService;
+import com.example.ims_backend.services.IProductService;
+import com.example.ims_backend.services.ITransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class ProductCacheTest {
+
+    @Autowired
+    private IProductService productService;
+    @Autowired
+    private ICategoryService categoryService;
+    @Autowired
+    private ITransactionService transactionService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ProductCache productCache;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        String email = "cache-" + UUID.randomUUID() + "@ims.test";
+        userRepository.save(User.builder()
+                .name("Cache")
+                .email(email)
+                .password("secret")
+                .phoneNumber("000")
+                .role(UserRole.MANAGER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+
+        categoryId = categoryService.createCategory(new CategoryDto(null, "Cached", null)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void servesRepeatedReadsFromCacheAndExportsHitsAndMisses() {
+        ProductDto product = save("SKU-" + UUID.randomUUID(), 5);
+        double hits = gets("hit");
+        double misses = gets("miss");
+
+        productService.getProductById(product.getId());
+        productService.getProductById(product.getId());
+        productService.getProductById(product.getId());
+
+        assertEquals(misses + 1, gets("miss"));
+        assertEquals(hits + 2, gets("hit"));
+
+        // a write that bypasses the service is not seen until the entry is invalidated
+        productRepository.findById(product.getId()).ifPresent(p -> {
+            p.setName("Changed behind the cache");
+            productRepository.save(p);
+        });
+        assertEquals("Cached item", productService.getProductById(product.getId()).getName());
+    }
+
+    @Test
+    void updateDeleteAndStockMovementsInvalidate() {
+        ProductDto product = save("SKU-" + UUID.randomUUID(), 5);
+        assertEquals(5, productService.getProductById(product.getId()).getStockQuantity());
+
+        transactionService.sell(request(product.getId(), 2));
+        assertEquals(3, productService.getProductById(product.getId()).getStockQuantity());
+
+        ProductDto update = new ProductDto();
+        update.setProductId(product.getId());
+        update.setPrice(BigDecimal.valueOf(7));
+        productService.updateProduct(update, null);
+        assertEquals(0, BigDecimal.valueOf(7).compareTo(productService.getProductById(product.getId()).getPrice()));
+
+        // a product with transactions cannot be deleted, use a fresh one
+        ProductDto discontinued = save("SKU-" + UUID.randomUUID(), 0);
+        productService.getProductById(discontinued.getId());
+        productService.deleteProduct(discontinued.getId());
+        assertThrows(NotFoundException.class, () -> productService.getProductById(discontinued.getId()));
+    }
+
+    @Test
+    void skuLookupFollowsSkuChanges() {
+        String oldSku = "SKU-" + UUID.randomUUID();
+        String newSku = "SKU-" + UUID.randomUUID();
+        ProductDto product = save(oldSku, 1);
+
+        assertEquals(product.getId(), productService.getProductBySku(oldSku).getId());
+        assertEquals(product.getId(), productService.getProductBySku(oldSku).getId());
+
+        ProductDto update = new ProductDto();
+        update.setProductId(product.getId());
+        update.setSku(newSku);
+        productService.updateProduct(update, null);
+
+        assertEquals(product.getId(), productService.getProductBySku(newSku).getId());
+        assertThrows(NotFoundException.class, () -> productService.getProductBySku(oldSku));
+
+        // the old SKU can be taken by another product
+        ProductDto successor = save(oldSku, 1);
+        assertEquals(successor.getId(), productService.getProductBySku(oldSku).getId());
+    }
+
+    @Test
+    void loadRacingAnInvalidationIsNotKept() {
+        ProductDto product = save("SKU-" + UUID.randomUUID(), 5);
+        AtomicInteger loads = new AtomicInteger();
+
+        // the stock changes and is evicted while the first read is still loading the old row
+        ProductDto stale = productCache.getById(product.getId(), () -> {
+            loads.incrementAndGet();
+            productCache.evict(product.getId());
+            return product;
+        });
+        assertEquals(5, stale.getStockQuantity());
+
+        productCache.getById(product.getId(), () -> {
+            loads.incrementAndGet();
+            return productService.getProductById(product.getId());
+        });
+        assertEquals(2, loads.get());
+    }
+
+    private ProductDto save(String sku, int stock) {
+        ProductDto productDto = new ProductDto();
+        productDto.setName("Cached item");
+        productDto.setSku(sku);
+        productDto.setPrice(BigDecimal.TEN);
+        productDto.setStockQuantity(stock);
+        productDto.setCategoryId(categoryId);
+        return productService.saveProduct(productDto, null);
+    }
+
+    private TransactionRequest request(Long productId, int quantity) {
+        TransactionRequest request = new TransactionRequest();
+        request.setProductId(productId);
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "products").tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.ims_backend.dto;
+
+import com.example.ims_backend.entity.Category;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.entity.Supplier;
+import com.example.ims_backend.entity.Transaction;
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.enums.UserRole;
+import com.example.ims_backend.mapper.ProductMapper;
+import com.example.ims_backend.mapper.TransactionMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Response} to JSON bytes with Jackson 3, which is what the web layer writes: a page of products and
+ * a page of transactions (with their user, product and supplier), at a normal page size and a large one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseJsonBenchmark {
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private Response productPage;
+    private Response transactionPage;
+
+    @Setup
+    public void setUp() {
+        Category category = Category.builder().id(1L).name("Tools").build();
+        Supplier supplier = Supplier.builder().id(1L).name("Acme").contactInfo("acme@ims.test").address("Main St").build();
+        User user = User.builder().id(1L).name("Cashier").email("cashier@ims.test").password("hash")
+                .phoneNumber("000").role(UserRole.MANAGER).build();
+
+        List<Product> products = new ArrayList<>(size);
+        List<Transaction> transactions = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            Product product = Product.builder().id(i).name("Product " + i).sku("SKU-" + i)
+                    .price(BigDecimal.valueOf(i)).stockQuantity((int) i).description("Description " + i)
+                    .expiryDate(LocalDateTime.now()).imageUrl("/img/" + i).category(category).build();
+            products.add(product);
+            transactions.add(Transaction.builder().id(i).totalProducts(1).totalPrice(BigDecimal.TEN)
+                    .transactionType(TransactionType.SALE).status(TransactionStatus.COMPLETED)
+                    .description("Sale " + i).product(product).user(user).supplier(supplier).build());
+        }
+
+        productPage = Response.builder()
+                .status(200)
+                .message("success")
+                .products(ProductMapper.toDtos(products))
+                .totalPages(10)
+                .totalElements(10L * size)
+                .build();
+        transactionPage = Response.builder()
+                .status(200)
+                .message("success")
+                .transactions(transactions.stream().map(TransactionMapper::toDetailDto).toList())
+                .totalPages(10)
+                .totalElements(10L * size)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] productPage() {
+        return jsonMapper.writeValueAsBytes(productPage);
+    }
+
+    @Benchmark
+    public byte[] transactionPage() {
+        return jsonMapper.writeValueAsBytes(transactionPage);
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.ims_backend.loadtest;
+
+import com.example.ims_backend.reports.TransactionRollups;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a large synthetic dataset straight through batched JDBC: categories, suppliers, products, users and
+ * transactions, with Zipfian popularity (a few products, users and suppliers take most of the traffic) and
+ * {@code created_at} spread evenly over several years ending at a fixed instant, in id order as a live
+ * system would write them. Everything but the password hash, which the caller supplies, is a function of the
+ * {@link Scale}, so the same seed gives the same rows on any database.
+ * <p>
+ * Rows are appended to whatever the tables already hold and the generated ids are read back, so nothing
+ * assumes an empty schema. Batches of {@value #BATCH} rows, committed every {@value #COMMIT_EVERY}; on
+ * MySQL add {@code rewriteBatchedStatements=true} to the URL so a batch is one multi-row insert.
+ * <p>
+ * The inserts bypass the services, so once the transactions are in, every seeded month's daily and monthly
+ * rollups are recomputed with {@link TransactionRollups#rebuildMonth}, one DB transaction per month; the
+ * reports then cover the seeded history. Nothing else may write to those months while the seeder runs.
+ */
+@Slf4j
+public class DatasetSeeder {
+
+    private static final int BATCH = 5_000;
+    private static final int COMMIT_EVERY = 50_000;
+
+    /**
+     * @param transactions number of transactions; the other counts scale from it
+     * @param skew         Zipf exponent of product, user and supplier popularity (0 = uniform)
+     * @param end          latest {@code created_at}; transactions go back {@code years} from it
+     * @param seed         random seed
+     */
+    public record Scale(int categories, int suppliers, int products, int users, long transactions,
+                        double skew, int years, LocalDateTime end, long seed) {
+
+        public static Scale of(long transactions, long seed) {
+            return new Scale(
+                    clamp(transactions / 20_000, 20, 500),
+                    clamp(transactions / 10_000, 50, 5_000),
+                    clamp(transactions / 50, 1_000, 100_000),
+                    clamp(transactions / 20_000, 20, 5_000),
+                    transactions, 1.0, 3, LocalDateTime.of(2026, 1, 1, 0, 0), seed);
+        }
+
+        private static int clamp(long value, int min, int max) {
+            return (int) Math.max(min, Math.min(max, value));
+        }
+    }
+
+    /**
+     * Ids of the seeded rows, in insertion order, and the product popularity the transactions were drawn
+     * from, so a workload can favour the same products.
+     */
+    public record Dataset(long[] categoryIds, long[] supplierIds, long[] productIds, long[] userIds,
+                          String[] userEmails, Zipf productPopularity) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionRollups transactionRollups;
+    private final TransactionTemplate transactionTemplate;
+
+    public DatasetSeeder(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionRollups = new TransactionRollups(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * @param scale        what to generate
+     * @param passwordHash stored as every seeded user's password
+     * @return the ids of what was written
+     */
+    public Dataset seed(Scale scale, String passwordHash) {
+        Dataset dataset = jdbcTemplate.execute((ConnectionCallback<Dataset>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                return seed(connection, scale, passwordHash);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+        rebuildRollups(scale);
+        return dataset;
+    }
+
+    private void rebuildRollups(Scale scale) {
+        long started = System.nanoTime();
+        YearMonth last = YearMonth.from(scale.end());
+        for (YearMonth month = YearMonth.from(scale.end().minusYears(scale.years())); !month.isAfter(last);
+             month = month.plusMonths(1)) {
+            YearMonth current = month;
+            transactionTemplate.executeWithoutResult(status -> transactionRollups.rebuildMonth(current));
+        }
+        log.info("Rebuilt the rollups of the seeded months in {} s", (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private Dataset seed(Connection connection, Scale scale, String passwordHash) throws SQLException {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(scale.seed());
+        String tag = "s" + scale.seed();
+
+        // ===== Categories =====
+        long since = maxId(connection, "categories");
+        try (PreparedStatement insert = connection.prepareStatement("insert into categories (name) values (?)")) {
+            for (int i = 0; i < scale.categories(); i++) {
+                insert.setString(1, "Category " + tag + "-" + i);
+                add(insert, i);
+            }
+            finish(connection, insert);
+        }
+        long[] categoryIds = idsAfter(connection, "categories", since, scale.categories());
+
+        // ===== Suppliers =====
+        since = maxId(connection, "supplier");
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into supplier (name, contact_info, address) values (?, ?, ?)")) {
+            for (int i = 0; i < scale.suppliers(); i++) {
+                insert.setString(1, "Supplier " + tag + "-" + i);
+                insert.setString(2, "supplier-" + tag + "-" + i + "@seed.ims.test");
+                insert.setString(3, (1 + random.nextInt(999)) + " Harbour Road");
+                add(insert, i);
+            }
+            finish(connection, insert);
+        }
+        long[] supplierIds = idsAfter(connection, "supplier", since, scale.suppliers());
+
+        // ===== Products =====
+        Zipf categoryPopularity = new Zipf(categoryIds.length, scale.skew(), random);
+        BigDecimal[] prices = new BigDecimal[scale.products()];
+        since = maxId(connection, "products");
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into products (name, sku, description, price, stock_quantity, version, created_at, " +
+                        "category_id) values (?, ?, ?, ?, ?, 0, ?, ?)")) {
+            Timestamp created = Timestamp.valueOf(scale.end().minusYears(scale.years()));
+            for (int i = 0; i < scale.products(); i++) {
+                prices[i] = BigDecimal.valueOf(99 + random.nextInt(49_900), 2);
+                insert.setString(1, "Product " + tag + "-" + i);
+                insert.setString(2, "SKU-" + tag + "-" + i);
+                insert.setString(3, "Synthetic item " + i);
+                insert.setBigDecimal(4, prices[i]);
+                insert.setInt(5, 1_000 + random.nextInt(100_000));
+                insert.setTimestamp(6, created);
+                insert.setLong(7, categoryIds[categoryPopularity.next()]);
+                add(insert, i);
+            }
+            finish(connection, insert);
+        }
+        long[] productIds = idsAfter(connection, "products", since, scale.products());
+
+        // ===== Users =====
+        String[] userEmails = new String[scale.users()];
+        since = maxId(connection, "users");
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into users (name, email, password, phone_number, role, created_at) values (?, ?, ?, ?, ?, ?)")) {
+            Timestamp created = Timestamp.valueOf(scale.end().minusYears(scale.years()));
+            for (int i = 0; i < scale.users(); i++) {
+                userEmails[i] = "user-" + tag + "-" + i + "@seed.ims.test";
+                insert.setString(1, "User " + i);
+                insert.setString(2, userEmails[i]);
+                insert.setString(3, passwordHash);
+                insert.setString(4, "555-" + String.format("%07d", i));
+                insert.setString(5, i % 10 == 0 ? "ADMIN" : "MANAGER");
+                insert.setTimestamp(6, created);
+                add(insert, i);
+            }
+            finish(connection, insert);
+        }
+        long[] userIds = idsAfter(connection, "users", since, scale.users());
+
+        // ===== Transactions =====
+        Zipf productPopularity = new Zipf(productIds.length, scale.skew(), random);
+        Zipf userPopularity = new Zipf(userIds.length, scale.skew(), random);
+        Zipf supplierPopularity = new Zipf(supplierIds.length, scale.skew(), random);
+        LocalDateTime start = scale.end().minusYears(scale.years());
+        long spanMillis = Duration.between(start, scale.end()).toMillis();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into transactions (total_products, total_price, transaction_type, status, description, " +
+                        "created_at, update_at, product_id, user_id, supplier_id) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long i = 0; i < scale.transactions(); i++) {
+                int product = productPopularity.next();
+                int quantity = 1 + (int) Math.floor(-Math.log(1 - random.nextDouble()) * 2); // mostly 1-3
+                int roll = random.nextInt(100);
+                String type = roll < 70 ? "SALE" : roll < 95 ? "PURCHASE" : "RETURN_TO_SUPPLIER";
+                int statusRoll = random.nextInt(100);
+                String status = statusRoll < 94 ? "COMPLETED" : statusRoll < 97 ? "PENDING" : "CANCELLED";
+                Timestamp created = Timestamp.valueOf(start.plusNanos(
+                        (long) ((i + random.nextDouble()) * spanMillis / scale.transactions()) * 1_000_000));
+
+                insert.setInt(1, quantity);
+                insert.setBigDecimal(2, prices[product].multiply(BigDecimal.valueOf(quantity)));
+                insert.setString(3, type);
+                insert.setString(4, status);
+                insert.setString(5, type.charAt(0) + type.substring(1).toLowerCase() + " #" + i);
+                insert.setTimestamp(6, created);
+                insert.setTimestamp(7, created);
+                insert.setLong(8, productIds[product]);
+                insert.setLong(9, userIds[userPopularity.next()]);
+                if (type.equals("SALE")) {
+                    insert.setNull(10, Types.BIGINT);
+                } else {
+                    insert.setLong(10, supplierIds[supplierPopularity.next()]);
+                }
+                add(insert, i);
+                if ((i + 1) % 1_000_000 == 0) {
+                    log.info("Seeded {} of {} transactions", i + 1, scale.transactions());
+                }
+            }
+            finish(connection, insert);
+        }
+
+        log.info("Seeded {} transactions over {} products, {} users, {} suppliers in {} s", scale.transactions(),
+                scale.products(), scale.users(), scale.suppliers(), (System.nanoTime() - started) / 1_000_000_000);
+        return new Dataset(categoryIds, supplierIds, productIds, userIds, userEmails, productPopularity);
+    }
+
+    private static void add(PreparedStatement insert, long row) throws SQLException {
+        insert.addBatch();
+        if ((row + 1) % BATCH == 0) insert.executeBatch();
+        if ((row + 1) % COMMIT_EVERY == 0) insert.getConnection().commit();
+    }
+
+    private static void finish(Connection connection, PreparedStatement insert) throws SQLException {
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement("select coalesce(max(id), 0) from " + table);
+             ResultSet resultSet = query.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static long[] idsAfter(Connection connection, String table, long since, int count) throws SQLException {
+        long[] ids = new long[count];
+        try (PreparedStatement query = connection.prepareStatement(
+                "select id from " + table + " where id > ? order by id")) {
+            query.setLong(1, since);
+            try (ResultSet resultSet = query.executeQuery()) {
+                int i = 0;
+                while (resultSet.next() && i < count) ids[i++] = resultSet.getLong(1);
+                if (i != count) throw new IllegalStateException(table + ": expected " + count + " new rows, found " + i);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Ranks drawn with probability proportional to 1 / rank^skew by binary search over the cumulative
+     * weights; ranks are shuffled onto indexes so the popular rows are not simply the first ones.
+     * {@link #next()} uses the seeder's random; {@link #sample(double)} is safe to share between threads.
+     */
+    public static final class Zipf {
+
+        private final double[] cumulative;
+        private final int[] indexOfRank;
+        private final SplittableRandom random;
+
+        Zipf(int size, double skew, SplittableRandom random) {
+            this.random = random;
+            this.cumulative = new double[size];
+            double sum = 0;
+            for (int rank = 0; rank < size; rank++) {
+                sum += 1 / Math.pow(rank + 1, skew);
+                cumulative[rank] = sum;
+            }
+            this.indexOfRank = new int[size];
+            for (int i = 0; i < size; i++) indexOfRank[i] = i;
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = indexOfRank[i];
+                indexOfRank[i] = indexOfRank[j];
+                indexOfRank[j] = swap;
+            }
+        }
+
+        int next() {
+            return sample(random.nextDouble());
+        }
+
+        /**
+         * @param uniform in [0, 1)
+         * @return an index
+         */
+        public int sample(double uniform) {
+            double target = uniform * cumulative[cumulative.length - 1];
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cumulative[middle] < target) low = middle + 1;
+                else high = middle;
+            }
+            return indexOfRank[low];
+        }
+    }
+}
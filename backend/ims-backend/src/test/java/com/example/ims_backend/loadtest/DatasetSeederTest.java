@@ -0,0 +1,122 @@
+package com.example.ims_backend.loadtest;
+
+import com.example.ims_backend.loadtest.DatasetSeeder.Dataset;
+import com.example.ims_backend.loadtest.DatasetSeeder.Scale;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatasetSeederTest {
+
+    private static final String PASSWORD = "seed-password";
+
+    @Test
+    void sameSeedWritesTheSameRows() {
+        DataSource first = migratedDatabase(inMemory());
+        DataSource second = migratedDatabase(inMemory());
+        new DatasetSeeder(first).seed(Scale.of(10_000, 7), "hash");
+        new DatasetSeeder(second).seed(Scale.of(10_000, 7), "hash");
+
+        assertEquals(digest(first), digest(second));
+    }
+
+    @Test
+    void popularityIsSkewedAndHistorySpansTheYears() {
+        DataSource dataSource = migratedDatabase(inMemory());
+        Scale scale = Scale.of(10_000, 7);
+        Dataset dataset = new DatasetSeeder(dataSource).seed(scale, "hash");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        assertEquals(scale.products(), dataset.productIds().length);
+        assertEquals(10_000, jdbcTemplate.queryForObject("select count(*) from transactions", Long.class));
+
+        // with skew 1 over 1,000 products the top 1% take roughly 39% of the transactions
+        List<Long> perProduct = jdbcTemplate.queryForList(
+                "select count(*) from transactions group by product_id order by count(*) desc", Long.class);
+        long top = perProduct.stream().limit(scale.products() / 100).mapToLong(Long::longValue).sum();
+        assertTrue(top > 3_000, "top 1% of products: " + top);
+
+        Timestamp oldest = jdbcTemplate.queryForObject("select min(created_at) from transactions", Timestamp.class);
+        Timestamp newest = jdbcTemplate.queryForObject("select max(created_at) from transactions", Timestamp.class);
+        assertTrue(oldest.toLocalDateTime().isBefore(scale.end().minusYears(scale.years()).plusDays(1)));
+        assertTrue(newest.toLocalDateTime().isAfter(scale.end().minusDays(1)));
+        assertEquals(scale.years() * 12, jdbcTemplate.queryForObject(
+                "select count(distinct year(created_at) * 100 + month(created_at)) from transactions", Integer.class));
+
+        // the reports read the rollups, which must cover the seeded history
+        long counted = jdbcTemplate.queryForObject(
+                "select count(*) from transactions where status <> 'CANCELLED'", Long.class);
+        assertEquals(counted, jdbcTemplate.queryForObject(
+                "select sum(transaction_count) from daily_transaction_rollup", Long.class));
+        assertEquals(counted, jdbcTemplate.queryForObject(
+                "select sum(transaction_count) from monthly_transaction_rollup", Long.class));
+    }
+
+    /**
+     * The seeding command: migrates the schema and appends a dataset, by default to an H2 file database
+     * under target/ that the application can then be started against. Users log in with "seed-password";
+     * every tenth is an admin.
+     * {@code mvn test -Pload -Dtest=DatasetSeederTest#seed -Dseed.transactions=5000000 [-Dseed.random=42]
+     * [-Dseed.datasource.url=jdbc:mysql://localhost/ims?rewriteBatchedStatements=true -Dseed.datasource.username=
+     * -Dseed.datasource.password=]}
+     */
+    @Test
+    @Tag("load")
+    void seed() {
+        Scale scale = Scale.of(Long.getLong("seed.transactions", 1_000_000), Long.getLong("seed.random", 42));
+        DataSource dataSource = migratedDatabase(new DriverManagerDataSource(
+                System.getProperty("seed.datasource.url",
+                        "jdbc:h2:file:./target/seed-db/ims;MODE=MySQL;DATABASE_TO_LOWER=TRUE"),
+                System.getProperty("seed.datasource.username", "sa"),
+                System.getProperty("seed.datasource.password", "")));
+
+        long start = System.nanoTime();
+        Dataset dataset = new DatasetSeeder(dataSource).seed(scale, new BCryptPasswordEncoder(10).encode(PASSWORD));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%s%n%d transactions in %.1f s (%.0f rows/s); admin login: %s / %s%n", scale,
+                scale.transactions(), seconds, scale.transactions() / seconds, dataset.userEmails()[0], PASSWORD);
+    }
+
+    private static DriverManagerDataSource inMemory() {
+        return new DriverManagerDataSource(
+                "jdbc:h2:mem:seed-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+    }
+
+    private static DataSource migratedDatabase(DataSource dataSource) {
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        return dataSource;
+    }
+
+    private static String digest(DataSource dataSource) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            new JdbcTemplate(dataSource).query("select t.total_products, t.total_price, t.transaction_type, " +
+                    "t.status, t.created_at, p.sku, u.email, s.name from transactions t " +
+                    "join products p on p.id = t.product_id join users u on u.id = t.user_id " +
+                    "left join supplier s on s.id = t.supplier_id order by t.id", resultSet -> {
+                for (int column = 1; column <= 8; column++) {
+                    digest.update(String.valueOf(resultSet.getObject(column)).getBytes());
+                }
+            });
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.ims_backend.loadtest;
+
+import com.example.ims_backend.ImsBackendApplication;
+import com.example.ims_backend.dto.RegisterRequest;
+import com.example.ims_backend.loadtest.DatasetSeeder.Dataset;
+import com.example.ims_backend.loadtest.DatasetSeeder.Scale;
+import com.example.ims_backend.loadtest.DatasetSeeder.Zipf;
+import com.example.ims_backend.services.IUserService;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Single-node capacity: boots the application over HTTP against H2 in MySQL mode (or a local MySQL with
+ * {@code -Dload.datasource.url=jdbc:mysql://...}, {@code load.datasource.username} / {@code password}),
+ * seeds {@code load.transactions} of history with {@link DatasetSeeder} (other volumes scale from it), then
+ * drives a mix of logins, sells, purchases, product pages and transaction pages. Sells and purchases favour
+ * the products that are popular in the history, so hot rows see contention as they would in production.
+ * <p>
+ * {@code load.clients} clients each keep one request in flight. With {@code -Dload.rate} (requests/s over
+ * all clients) each client follows a fixed schedule and latency is measured from the intended start, so a
+ * stall is charged to every request it delayed (no coordinated omission); without it the clients run
+ * closed-loop as fast as the node answers. Latency goes into HdrHistogram per operation; the report gives
+ * throughput and p50 / p99 / p99.9 / max, and the full distributions are written to
+ * {@code target/load-test/*.hgrm} for plotting.
+ * <p>
+ * Passwords are hashed at the production BCrypt cost and the login rate limits are off, so logins cost what
+ * they cost in production and are never refused. Run with
+ * {@code mvn test -Pload -Dtest=TransactionLoadTest [-Dload.clients=64 -Dload.seconds=30 -Dload.rate=0
+ * -Dload.mix=login:5,sell:25,purchase:15,products:30,transactions:25]}.
+ */
+@Tag("load")
+class TransactionLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 64);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load.warmup", 10));
+    private static final Duration MEASURE = Duration.ofSeconds(Integer.getInteger("load.seconds", 30));
+    private static final int RATE = Integer.getInteger("load.rate", 0);
+    private static final String MIX = System.getProperty("load.mix", "login:5,sell:25,purchase:15,products:30,transactions:25");
+
+    private static final long TRANSACTIONS = Long.getLong("load.transactions", 500_000);
+    private static final int OPERATORS = 20;
+    private static final String PASSWORD = "load-password";
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private enum Operation { LOGIN, SELL, PURCHASE, PRODUCTS, TRANSACTIONS }
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void mixedWorkload() throws Exception {
+        Operation[] mix = parseMix(MIX);
+        String url = System.getProperty("load.datasource.url", "jdbc:h2:mem:load-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ImsBackendApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + System.getProperty("load.datasource.username", "sa"),
+                "--spring.datasource.password=" + System.getProperty("load.datasource.password", ""),
+                "--ims.security.password.min-strength=10",
+                "--ims.security.password.target-hash-time=250ms",
+                "--ims.security.login.rate-limit.per-account=0",
+                "--ims.security.login.rate-limit.per-address=0",
+                "--logging.level.root=WARN")) {
+
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            Fixture fixture = seed(context);
+            List<String> tokens = new ArrayList<>();
+            for (String email : fixture.operators()) {
+                tokens.add(token(http.send(login(base, email), HttpResponse.BodyHandlers.ofString())));
+            }
+            Workload workload = new Workload(base, fixture, tokens, mix);
+
+            workload.run(WARMUP);
+            workload.reset();
+            long start = System.nanoTime();
+            workload.run(MEASURE);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            report(workload, seconds);
+            for (Operation operation : mix) {
+                assertTrue(workload.histogram(operation).getTotalCount() > 0, operation.name());
+            }
+        }
+    }
+
+    // ================= Dataset =================
+
+    private record Fixture(long[] productIds, long[] supplierIds, Zipf productPopularity, List<String> operators) {
+    }
+
+    /**
+     * History from {@link DatasetSeeder}; the operators driving the load are registered through the service,
+     * so their passwords are hashed at the calibrated cost, and made admins as the product endpoints require.
+     */
+    private static Fixture seed(ConfigurableApplicationContext context) {
+        Dataset dataset = new DatasetSeeder(context.getBean(DataSource.class))
+                .seed(Scale.of(TRANSACTIONS, 42), context.getBean(PasswordEncoder.class).encode(PASSWORD));
+
+        IUserService userService = context.getBean(IUserService.class);
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<String> operators = new ArrayList<>();
+        for (int i = 0; i < OPERATORS; i++) {
+            String email = "load-" + run + "-" + i + "@ims.test";
+            userService.registerUser(new RegisterRequest("Operator " + i, email, PASSWORD, "555-" + i, null));
+            operators.add(email);
+        }
+        context.getBean(JdbcTemplate.class).update("update users set role = 'ADMIN' where email like ?", "load-" + run + "-%");
+        return new Fixture(dataset.productIds(), dataset.supplierIds(), dataset.productPopularity(), operators);
+    }
+
+    // ================= Workload =================
+
+    private final class Workload {
+
+        private final String base;
+        private final Fixture fixture;
+        private final List<String> tokens;
+        private final Operation[] mix;
+        private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+        private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+
+        Workload(String base, Fixture fixture, List<String> tokens, Operation[] mix) {
+            this.base = base;
+            this.fixture = fixture;
+            this.tokens = tokens;
+            this.mix = mix;
+            for (Operation operation : Operation.values()) recorders.put(operation, new Recorder(HIGHEST_MICROS, 3));
+            reset();
+        }
+
+        void run(Duration duration) throws InterruptedException {
+            long start = System.nanoTime();
+            long deadline = start + duration.toNanos();
+            long interval = RATE > 0 ? TimeUnit.SECONDS.toNanos(CLIENTS) / RATE : 0; // per client
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int client = 0; client < CLIENTS; client++) {
+                    String token = tokens.get(client % tokens.size());
+                    String email = fixture.operators().get(client % fixture.operators().size());
+                    long offset = interval * client / CLIENTS; // spread the clients over one interval
+                    clients.submit(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        long intended = start + offset;
+                        while (intended < deadline) {
+                            if (interval > 0) {
+                                LockSupport.parkNanos(intended - System.nanoTime());
+                            } else {
+                                intended = System.nanoTime();
+                            }
+                            Operation operation = mix[random.nextInt(mix.length)];
+                            int status = status(request(operation, token, email, random));
+                            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                            recorders.get(operation).recordValue(Math.min(micros, HIGHEST_MICROS));
+                            if (status / 100 != 2) {
+                                failures.computeIfAbsent(operation + " " + status, k -> new AtomicInteger())
+                                        .incrementAndGet();
+                            }
+                            intended += interval;
+                        }
+                        return null;
+                    });
+                }
+            }
+            for (Operation operation : Operation.values()) {
+                histograms.get(operation).add(recorders.get(operation).getIntervalHistogram());
+            }
+        }
+
+        void reset() {
+            histograms.clear();
+            for (Operation operation : Operation.values()) histograms.put(operation, new Histogram(HIGHEST_MICROS, 3));
+            failures.clear();
+        }
+
+        Histogram histogram(Operation operation) {
+            return histograms.get(operation);
+        }
+
+        private HttpRequest request(Operation operation, String token, String email, ThreadLocalRandom random) {
+            long productId = fixture.productIds()[fixture.productPopularity().sample(random.nextDouble())];
+            return switch (operation) {
+                case LOGIN -> login(base, email);
+                case SELL -> post("/api/transactions/sell", token,
+                        "{\"productId\":" + productId + ",\"quantity\":" + (1 + random.nextInt(3)) + "}");
+                case PURCHASE -> post("/api/transactions/purchase", token,
+                        "{\"productId\":" + productId + ",\"quantity\":" + (1 + random.nextInt(20))
+                                + ",\"supplierId\":" + fixture.supplierIds()[random.nextInt(fixture.supplierIds().length)] + "}");
+                case PRODUCTS -> get("/api/products?page=" + random.nextInt(50) + "&size=20&sort=name,asc", token);
+                case TRANSACTIONS -> get("/api/transactions/all?page=" + random.nextInt(50) + "&size=20", token);
+            };
+        }
+
+        private HttpRequest get(String path, String token) {
+            return HttpRequest.newBuilder(URI.create(base + path))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofMinutes(1))
+                    .build();
+        }
+
+        private HttpRequest post(String path, String token, String body) {
+            return HttpRequest.newBuilder(URI.create(base + path))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofMinutes(1))
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    }
+
+    // ================= HTTP =================
+
+    private static HttpRequest login(String base, String email) {
+        return HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMinutes(1))
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+
+    /**
+     * @return the response status, 0 when the request failed without one
+     */
+    private int status(HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private static String token(HttpResponse<String> response) {
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (!matcher.find()) throw new IllegalStateException("login failed: " + response.statusCode() + " " + response.body());
+        return matcher.group(1);
+    }
+
+    // ================= Report =================
+
+    private static Operation[] parseMix(String mix) {
+        List<Operation> weighted = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split(":");
+            Operation operation = Operation.valueOf(entry[0].trim().toUpperCase());
+            for (int i = Integer.parseInt(entry[1].trim()); i > 0; i--) weighted.add(operation);
+        }
+        return weighted.toArray(Operation[]::new);
+    }
+
+    private static void report(Workload workload, double seconds) throws IOException {
+        Path directory = Files.createDirectories(Path.of("target", "load-test"));
+        System.out.printf("%d clients, %s, %.0f s measured%n", CLIENTS,
+                RATE > 0 ? "target " + RATE + " req/s" : "closed loop", seconds);
+        System.out.printf("%-13s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram total = new Histogram(HIGHEST_MICROS, 3);
+        long stockChanges = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = workload.histogram(operation);
+            if (histogram.getTotalCount() == 0) continue;
+            total.add(histogram);
+            if (operation == Operation.SELL || operation == Operation.PURCHASE) stockChanges += histogram.getTotalCount();
+            print(operation.name().toLowerCase(), histogram, seconds);
+            try (PrintStream out = new PrintStream(directory.resolve(operation.name().toLowerCase() + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(out, 1000.0); // microseconds -> milliseconds
+            }
+        }
+        print("all", total, seconds);
+        System.out.printf("sells + purchases: %.1f /s%n", stockChanges / seconds);
+        System.out.println("non-2xx by operation and status: " + new TreeMap<>(workload.failures));
+        System.out.println("histograms: " + directory.toAbsolutePath());
+    }
+
+    private static void print(String name, Histogram histogram, double seconds) {
+        System.out.printf("%-13s %9d %9.1f %9.1f %9.1f %9.1f %9.1f%n", name, histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0);
+    }
+}
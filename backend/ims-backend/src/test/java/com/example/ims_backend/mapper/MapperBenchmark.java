@@ -0,0 +1,107 @@
+package com.example.ims_backend.mapper;
+
+import com.example.ims_backend.dto.ProductDto;
+import com.example.ims_backend.dto.TransactionDto;
+import com.example.ims_backend.entity.Category;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.entity.Supplier;
+import com.example.ims_backend.entity.Transaction;
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.enums.UserRole;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeToken;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity list -> DTO list, hand-written mappers against the ModelMapper setup the services used before
+ * (field matching, private access, STANDARD strategy, associations mapped and then nulled for lists).
+ * Entities are plain objects here, so the lazy-loading queries ModelMapper used to trigger are not counted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ModelMapper modelMapper;
+    private List<Product> products;
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE)
+                .setMatchingStrategy(MatchingStrategies.STANDARD);
+
+        Category category = Category.builder().id(1L).name("Tools").build();
+        Supplier supplier = Supplier.builder().id(1L).name("Acme").contactInfo("acme@ims.test").address("Main St").build();
+        User user = User.builder().id(1L).name("Cashier").email("cashier@ims.test").password("hash")
+                .phoneNumber("000").role(UserRole.MANAGER).build();
+
+        products = new ArrayList<>(size);
+        transactions = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            Product product = Product.builder().id(i).name("Product " + i).sku("SKU-" + i)
+                    .price(BigDecimal.valueOf(i)).stockQuantity((int) i).description("Description " + i)
+                    .expiryDate(LocalDateTime.now()).imageUrl("/img/" + i).category(category).build();
+            products.add(product);
+            transactions.add(Transaction.builder().id(i).totalProducts(1).totalPrice(BigDecimal.TEN)
+                    .transactionType(TransactionType.SALE).status(TransactionStatus.COMPLETED)
+                    .description("Sale " + i).product(product).user(user).supplier(supplier).build());
+        }
+    }
+
+    @Benchmark
+    public List<ProductDto> productsModelMapper() {
+        return modelMapper.map(products, new TypeToken<List<ProductDto>>() {
+        }.getType());
+    }
+
+    @Benchmark
+    public List<ProductDto> productsHandWritten() {
+        return ProductMapper.toDtos(products);
+    }
+
+    @Benchmark
+    public List<TransactionDto> transactionsModelMapper() {
+        List<TransactionDto> transactionDtos = modelMapper.map(transactions, new TypeToken<List<TransactionDto>>() {
+        }.getType());
+        transactionDtos.forEach(transactionDto -> {
+            transactionDto.setUser(null);
+            transactionDto.setProduct(null);
+            transactionDto.setSupplier(null);
+        });
+        return transactionDtos;
+    }
+
+    @Benchmark
+    public List<TransactionDto> transactionsHandWritten() {
+        return TransactionMapper.toDtos(transactions);
+    }
+}
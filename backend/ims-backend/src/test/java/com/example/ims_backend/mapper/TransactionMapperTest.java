@@ -0,0 +1,122 @@
+package com.example.ims_backend.mapper;
+
+import com.example.ims_backend.dto.TransactionDto;
+import com.example.ims_backend.dto.TransactionRequest;
+import com.example.ims_backend.entity.Category;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.entity.Supplier;
+import com.example.ims_backend.entity.Transaction;
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.UserRole;
+import com.example.ims_backend.repository.CategoryRepository;
+import com.example.ims_backend.repository.ProductRepository;
+import com.example.ims_backend.repository.SupplierRepository;
+import com.example.ims_backend.repository.TransactionRepository;
+import com.example.ims_backend.repository.UserRepository;
+import com.example.ims_backend.services.ITransactionService;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TransactionMapperTest {
+
+    @Autowired
+    private ITransactionService transactionService;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String email;
+    private Product product;
+    private Supplier supplier;
+
+    @BeforeEach
+    void setUp() {
+        email = "mapper-" + UUID.randomUUID() + "@ims.test";
+        userRepository.save(User.builder()
+                .name("Mapper")
+                .email(email)
+                .password("secret")
+                .phoneNumber("000")
+                .role(UserRole.MANAGER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+
+        Category category = categoryRepository.save(Category.builder().name("Mapped").build());
+        supplier = supplierRepository.save(Supplier.builder().name("Acme").contactInfo("acme@ims.test").build());
+        product = productRepository.save(Product.builder()
+                .name("Mapped item")
+                .sku("SKU-" + UUID.randomUUID())
+                .price(BigDecimal.valueOf(4))
+                .stockQuantity(0)
+                .category(category)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void listMappingLeavesAssociationsUninitialized() {
+        Long id = transactionService.purchase(new TransactionRequest(product.getId(), 3, supplier.getId(), "restock", null)).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Transaction transaction = transactionRepository.findById(id).orElseThrow();
+
+            TransactionDto transactionDto = TransactionMapper.toDtos(List.of(transaction)).get(0);
+
+            assertEquals(id, transactionDto.getId());
+            assertEquals(3, transactionDto.getTotalProducts());
+            assertEquals(0, BigDecimal.valueOf(12).compareTo(transactionDto.getTotalPrice()));
+            assertEquals("restock", transactionDto.getDescription());
+            assertNotNull(transactionDto.getCreatedAt());
+            assertNull(transactionDto.getProduct());
+            assertNull(transactionDto.getUser());
+            assertNull(transactionDto.getSupplier());
+
+            assertFalse(Hibernate.isInitialized(transaction.getProduct()));
+            assertFalse(Hibernate.isInitialized(transaction.getUser()));
+            assertFalse(Hibernate.isInitialized(transaction.getSupplier()));
+        });
+    }
+
+    @Test
+    void detailMappingCarriesProductUserAndSupplier() {
+        TransactionDto transactionDto = transactionService.purchase(
+                new TransactionRequest(product.getId(), 2, supplier.getId(), null, null));
+
+        assertEquals(product.getId(), transactionDto.getProduct().getId());
+        assertEquals(product.getId(), transactionDto.getProduct().getProductId());
+        assertEquals(product.getCategory().getId(), transactionDto.getProduct().getCategoryId());
+        assertEquals(2, transactionDto.getProduct().getStockQuantity());
+        assertEquals(email, transactionDto.getUser().getEmail());
+        assertNull(transactionDto.getUser().getPassword());
+        assertNull(transactionDto.getUser().getTransactions());
+        assertEquals("Acme", transactionDto.getSupplier().getName());
+    }
+}
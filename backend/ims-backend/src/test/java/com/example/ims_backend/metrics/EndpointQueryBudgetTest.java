@@ -0,0 +1,147 @@
+package com.example.ims_backend.metrics;
+
+import com.example.ims_backend.TestFixtures;
+import com.example.ims_backend.dto.LoginRequest;
+import com.example.ims_backend.dto.RegisterRequest;
+import com.example.ims_backend.services.IUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the main endpoints over a few related rows with budgets enforced (the test configuration's
+ * {@code ims.sql.budget.enforce=true}), so a change that adds statements to one of them, or makes a lookup
+ * run per row, fails here with the count in the message.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "ims.sql.response-headers=true")
+class EndpointQueryBudgetTest {
+
+    private static final int ROWS = 12;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Value("${local.server.port}")
+    private int port;
+    @Autowired
+    private IUserService userService;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String token;
+    private long userId;
+    private long categoryId;
+    private long supplierId;
+    private long productId;
+    private String sku;
+    private long transactionId;
+
+    @BeforeEach
+    void setUp() {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        String email = "budget-" + tag + "@ims.test";
+        userService.registerUser(new RegisterRequest("Budget", email, "secret-password", "000", null));
+        jdbcTemplate.update("update users set role = 'ADMIN' where email = ?", email);
+        userId = jdbcTemplate.queryForObject("select id from users where email = ?", Long.class, email);
+        token = userService.loginUser(new LoginRequest(email, "secret-password"), null).join().getToken();
+
+        categoryId = fixtures.insert("insert into categories (name) values (?)", "Budget " + tag);
+        supplierId = fixtures.insert("insert into supplier (name, contact_info, address) values (?, 'c', 'a')", "Budget " + tag);
+        for (int i = 0; i < ROWS; i++) {
+            productId = fixtures.insert("insert into products (name, sku, description, price, stock_quantity, version, " +
+                    "category_id) values (?, ?, 'Budget item', 9.99, 1000, 0, ?)", "Budget " + tag + " " + i,
+                    "BUDGET-" + tag + "-" + i, categoryId);
+            transactionId = fixtures.insert("insert into transactions (total_products, total_price, transaction_type, " +
+                    "status, description, created_at, product_id, user_id) values (1, 9.99, 'SALE', 'COMPLETED', ?, " +
+                    "current_timestamp, ?, ?)", "Budget order " + i, productId, userId);
+        }
+        sku = "BUDGET-" + tag + "-" + (ROWS - 1);
+    }
+
+    @Test
+    void productEndpoints() throws Exception {
+        ok("GET", "/api/products?page=0&size=20", null);
+        ok("GET", "/api/products/" + productId, null);
+        ok("GET", "/api/products/sku/" + sku, null);
+        ok("GET", "/api/products/search?searchValue=Budget", null);
+        ok("GET", "/api/products/typeahead?q=Budg", null);
+    }
+
+    @Test
+    void transactionEndpoints() throws Exception {
+        ok("GET", "/api/transactions/all?page=0&size=20", null);
+        ok("GET", "/api/transactions/all?page=0&size=20&filter=Budget", null);
+        ok("GET", "/api/transactions/scroll?size=20", null);
+        ok("GET", "/api/transactions/" + transactionId, null);
+        ok("GET", "/api/transactions/by-month-year?month=1&year=2026", null);
+        ok("GET", "/api/transactions/by-date-range?from=2026-01-01T00:00:00&to=2027-01-01T00:00:00", null);
+        ok("POST", "/api/transactions/sell", "{\"productId\":" + productId + ",\"quantity\":1}");
+        ok("POST", "/api/transactions/purchase",
+                "{\"productId\":" + productId + ",\"quantity\":1,\"supplierId\":" + supplierId + "}");
+        ok("POST", "/api/transactions/return",
+                "{\"productId\":" + productId + ",\"quantity\":1,\"supplierId\":" + supplierId + "}");
+        ok("POST", "/api/transactions/batch", "[{\"transactionType\":\"SALE\",\"productId\":" + productId +
+                ",\"quantity\":1},{\"transactionType\":\"PURCHASE\",\"productId\":" + productId +
+                ",\"supplierId\":" + supplierId + ",\"quantity\":2}]");
+        ok("PUT", "/api/transactions/" + transactionId, "\"PROCESSING\"");
+    }
+
+    @Test
+    void catalogueAndUserEndpoints() throws Exception {
+        ok("GET", "/api/categories", null);
+        ok("GET", "/api/categories/" + categoryId, null);
+        ok("GET", "/api/suppliers", null);
+        ok("GET", "/api/suppliers/" + supplierId, null);
+        ok("GET", "/api/users/" + userId, null);
+        ok("GET", "/api/users/current", null);
+    }
+
+    @Test
+    void reportEndpoints() throws Exception {
+        ok("GET", "/api/reports/daily?from=2026-01-01&to=2026-02-01&productId=" + productId, null);
+        ok("GET", "/api/reports/monthly?from=2025-01&to=2027-01&type=SALE", null);
+        ok("GET", "/api/reports/summary?from=2025-01-15&to=2026-06-15", null);
+    }
+
+    @Test
+    void dashboardIsServedFromMemory() throws Exception {
+        HttpResponse<String> summary = ok("GET", "/api/dashboard/summary", null);
+
+        assertEquals("0", summary.headers().firstValue("X-Sql-Statements").orElseThrow());
+    }
+
+    @Test
+    void userHistoryIsOneQueryPerPage() throws Exception {
+        HttpResponse<String> firstPage = ok("GET", "/api/users/transactions/" + userId, null);
+        HttpResponse<String> laterPage = ok("GET", "/api/users/transactions/" + userId + "?page=1&size=5", null);
+
+        assertEquals("0", firstPage.headers().firstValue("X-Sql-Repeated").orElseThrow());
+        // user (cached from the first request), the page of rows and its count
+        assertEquals("2", laterPage.headers().firstValue("X-Sql-Statements").orElseThrow());
+    }
+
+    private HttpResponse<String> ok(String method, String path, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json");
+        request.method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertTrue(response.statusCode() / 100 == 2, method + " " + path + ": " + response.body());
+        return response;
+    }
+}
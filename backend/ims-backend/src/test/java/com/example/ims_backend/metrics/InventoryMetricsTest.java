@@ -0,0 +1,132 @@
+package com.example.ims_backend.metrics;
+
+import com.example.ims_backend.dto.CategoryDto;
+import com.example.ims_backend.dto.ProductDto;
+import com.example.ims_backend.dto.TransactionRequest;
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.UserRole;
+import com.example.ims_backend.exceptions.InsufficientStockException;
+import com.example.ims_backend.repository.UserRepository;
+import com.example.ims_backend.services.ICategoryService;
+import com.example.ims_backend.services.IProductService;
+import com.example.ims_backend.services.ITransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "ims.metrics.tracked-skus=METRICS-TRACKED",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class InventoryMetricsTest {
+
+    @Autowired
+    private ITransactionService transactionService;
+    @Autowired
+    private IProductService productService;
+    @Autowired
+    private ICategoryService categoryService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        String email = "metrics-" + UUID.randomUUID() + "@ims.test";
+        userRepository.save(User.builder()
+                .name("Metrics")
+                .email(email)
+                .password("secret")
+                .phoneNumber("000")
+                .role(UserRole.MANAGER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+        categoryId = categoryService.createCategory(new CategoryDto(null, "Metered", null)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void stockOperationsAreTimedByTypeAndOutcomeAndTrackedSkusGauged() {
+        ProductDto product = save("METRICS-TRACKED", 10);
+        assertEquals(10, meterRegistry.get("ims.stock.level").tag("sku", "METRICS-TRACKED").gauge().value());
+
+        long sells = operations("sell", "SALE", "success");
+        long refused = operations("sell", "SALE", "insufficient_stock");
+        double units = meterRegistry.counter("ims.transactions.units", "type", "SALE").count();
+
+        transactionService.sell(request(product.getId(), 3));
+        assertThrows(InsufficientStockException.class, () -> transactionService.sell(request(product.getId(), 100)));
+
+        assertEquals(sells + 1, operations("sell", "SALE", "success"));
+        assertEquals(refused + 1, operations("sell", "SALE", "insufficient_stock"));
+        assertEquals(units + 3, meterRegistry.counter("ims.transactions.units", "type", "SALE").count());
+        assertEquals(7, meterRegistry.get("ims.stock.level").tag("sku", "METRICS-TRACKED").gauge().value());
+    }
+
+    @Test
+    void searchesAreTimedBySource() {
+        save("SKU-" + UUID.randomUUID(), 1);
+        productService.searchProduct("Metered item");
+        transactionService.getAllTransactions(0, 20, "Metered");
+
+        assertTrue(meterRegistry.get("ims.search").tag("entity", "product").timers().stream()
+                .mapToLong(Timer::count).sum() > 0);
+        assertTrue(meterRegistry.get("ims.search").tag("entity", "transaction").timers().stream()
+                .mapToLong(Timer::count).sum() > 0);
+    }
+
+    @Test
+    void hibernateAndConnectionPoolMetricsAreBound() {
+        transactionService.getAllTransactions(0, 20, null);
+
+        assertTrue(meterRegistry.get("hibernate.query.executions").functionCounter().count() > 0);
+        assertNotNull(meterRegistry.get("hibernate.entities.loads").functionCounter());
+        assertNotNull(meterRegistry.get("hikaricp.connections.acquire").timer());
+    }
+
+    private long operations(String operation, String type, String outcome) {
+        Timer timer = meterRegistry.find("ims.transactions.operation")
+                .tag("operation", operation).tag("type", type).tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private ProductDto save(String sku, int stock) {
+        ProductDto productDto = new ProductDto();
+        productDto.setName("Metered item");
+        productDto.setSku(sku);
+        productDto.setPrice(BigDecimal.TEN);
+        productDto.setStockQuantity(stock);
+        productDto.setCategoryId(categoryId);
+        return productService.saveProduct(productDto, null);
+    }
+
+    private TransactionRequest request(Long productId, int quantity) {
+        TransactionRequest request = new TransactionRequest();
+        request.setProductId(productId);
+        request.setQuantity(quantity);
+        return request;
+    }
+}
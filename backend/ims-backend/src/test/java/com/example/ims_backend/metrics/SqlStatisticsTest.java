@@ -0,0 +1,149 @@
+package com.example.ims_backend.metrics;
+
+import com.example.ims_backend.TestFixtures;
+import com.example.ims_backend.dto.LoginRequest;
+import com.example.ims_backend.dto.RegisterRequest;
+import com.example.ims_backend.repository.CategoryRepository;
+import com.example.ims_backend.services.IUserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "ims.sql.response-headers=true",
+        "ims.sql.budget.default=3"
+})
+@Import(SqlStatisticsTest.ProbeController.class)
+class SqlStatisticsTest {
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Value("${local.server.port}")
+    private int port;
+    @Autowired
+    private IUserService userService;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        String email = "sql-" + UUID.randomUUID() + "@ims.test";
+        userService.registerUser(new RegisterRequest("Sql", email, "secret-password", "000", null));
+        jdbcTemplate.update("update users set role = 'ADMIN' where email = ?", email);
+        token = userService.loginUser(new LoginRequest(email, "secret-password"), null).join().getToken();
+    }
+
+    @Test
+    void statementsAreCountedPerRequestAndReported() throws Exception {
+        long id = fixtures.insert("insert into categories (name) values ('Counted')");
+        long requests = categoryRequests();
+
+        HttpResponse<String> response = send("GET", "/api/categories/" + id, null);
+
+        assertEquals(200, response.statusCode(), response.body());
+        assertEquals("2", response.headers().firstValue("X-Sql-Statements").orElseThrow()); // category, its products
+        assertEquals("0", response.headers().firstValue("X-Sql-Repeated").orElseThrow());
+        assertTrue(response.headers().firstValue("X-Sql-Time-Ms").isPresent());
+        assertEquals(requests + 1, categoryRequests());
+        assertTrue(meterRegistry.get("ims.sql.time").tag("uri", "/api/categories/{id}").timer()
+                .totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void requestsOverTheirBudgetFail() throws Exception {
+        // unannotated endpoint, default budget of 3 in this test: 3 lookups by id are fine, the 4th is not
+        assertEquals(200, sequentialLookups(3).statusCode());
+
+        HttpResponse<String> response = sequentialLookups(4);
+
+        assertEquals(500, response.statusCode());
+        JsonNode body = jsonMapper.readTree(response.body());
+        assertEquals("POST /api/sql-probe ran 4 SQL statements, over its budget of 3", body.get("message").asString());
+    }
+
+    @Test
+    void repeatedSelectShapesAreProbableNPlusOne() {
+        SqlStatistics statistics = SqlStatistics.start();
+        try {
+            for (int id = 1; id <= 6; id++) {
+                statistics.statement("select c.id, c.name from categories c where c.id = " + id);
+            }
+            statistics.statement("select   c.id,\n c.name from categories c where c.name = 'x'");
+            statistics.statement("update products set stock_quantity = ? where id = ?");
+
+            assertEquals(8, statistics.statements());
+            assertEquals(1, statistics.repeatedSelects(5).size());
+            assertEquals(6, statistics.repeatedSelects(5).get("select c.id, c.name from categories c where c.id = ?"));
+            assertEquals(2, statistics.repeatedSelects(1).size());
+        } finally {
+            SqlStatistics.stop();
+        }
+    }
+
+    private long categoryRequests() {
+        return meterRegistry.find("ims.sql.statements").tag("uri", "/api/categories/{id}").summaries().stream()
+                .mapToLong(DistributionSummary::count).sum();
+    }
+
+    private HttpResponse<String> sequentialLookups(int count) throws IOException, InterruptedException {
+        return send("POST", "/api/sql-probe", String.valueOf(count));
+    }
+
+    private HttpResponse<String> send(String method, String path, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json");
+        request.method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /** Runs as many single-row selects as it is asked to. */
+    @TestConfiguration
+    @RestController
+    static class ProbeController {
+
+        private final CategoryRepository categoryRepository;
+
+        ProbeController(CategoryRepository categoryRepository) {
+            this.categoryRepository = categoryRepository;
+        }
+
+        @PostMapping("/api/sql-probe")
+        public String lookups(@RequestBody int count) {
+            for (long id = 1; id <= count; id++) {
+                categoryRepository.existsById(-id);
+            }
+            return "{}";
+        }
+    }
+}
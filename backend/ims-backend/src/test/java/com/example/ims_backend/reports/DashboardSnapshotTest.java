@@ -0,0 +1,209 @@
+package com.example.ims_backend.reports;
+
+import com.example.ims_backend.dto.DashboardSummary;
+import com.example.ims_backend.dto.TopSeller;
+import com.example.ims_backend.dto.TransactionRequest;
+import com.example.ims_backend.entity.Category;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.entity.Supplier;
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.UserRole;
+import com.example.ims_backend.events.ProductChangedEvent;
+import com.example.ims_backend.repository.CategoryRepository;
+import com.example.ims_backend.repository.ProductRepository;
+import com.example.ims_backend.repository.SupplierRepository;
+import com.example.ims_backend.repository.UserRepository;
+import com.example.ims_backend.services.ITransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest
+class DashboardSnapshotTest {
+
+    @Autowired
+    private DashboardSnapshot dashboardSnapshot;
+    @Autowired
+    private ITransactionService transactionService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private DataSource dataSource;
+
+    private Supplier supplier;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        String tag = UUID.randomUUID().toString();
+        String email = "dashboard-" + tag + "@ims.test";
+        userRepository.save(User.builder()
+                .name("Dashboard")
+                .email(email)
+                .password("secret")
+                .phoneNumber("000")
+                .role(UserRole.MANAGER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+
+        Category category = categoryRepository.save(Category.builder().name("Dashboard " + tag).build());
+        supplier = supplierRepository.save(Supplier.builder().name("Dashboard " + tag).contactInfo("dashboard@ims.test").build());
+        // saved behind the services' back, so only a reload sees it
+        product = productRepository.save(Product.builder()
+                .name("Dashboard item")
+                .sku("DASHBOARD-" + tag)
+                .price(new BigDecimal("2.00"))
+                .stockQuantity(10_000)
+                .category(category)
+                .build());
+        dashboardSnapshot.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void stockMovementsAndSalesAreAppliedWithoutReloading() {
+        DashboardSummary before = dashboardSnapshot.summary();
+        assertSame(before, dashboardSnapshot.summary());
+
+        Long saleId = transactionService.sell(request(5_000, null)).getId();
+        transactionService.purchase(request(5_000, supplier.getId()));
+        transactionService.sell(request(9_995, null));
+        transactionService.updateTransactionStatus(saleId, TransactionStatus.COMPLETED);
+
+        DashboardSummary after = dashboardSnapshot.summary();
+        // 10 000 - 5 000 + 5 000 - 9 995 = 5 units left, now under the threshold
+        assertAmount(before.getInventoryValue().subtract(new BigDecimal("19990")), after.getInventoryValue());
+        assertEquals(before.getLowStockCount() + 1, after.getLowStockCount());
+        assertEquals(before.getSalesToday() + 2, after.getSalesToday());
+        assertEquals(before.getUnitsSoldToday() + 14_995, after.getUnitsSoldToday());
+        assertAmount(before.getRevenueToday().add(new BigDecimal("29990")), after.getRevenueToday());
+        TopSeller topSeller = after.getTopSellers().getFirst();
+        assertEquals(product.getId(), topSeller.productId());
+        assertEquals("Dashboard item", topSeller.name());
+        assertEquals(14_995, topSeller.units());
+        assertAmount(new BigDecimal("29990"), topSeller.revenue());
+
+        // a full reload from the database agrees with the incremental figures
+        dashboardSnapshot.reload();
+        DashboardSummary reloaded = dashboardSnapshot.summary();
+        assertAmount(after.getInventoryValue(), reloaded.getInventoryValue());
+        assertEquals(after.getLowStockCount(), reloaded.getLowStockCount());
+        assertEquals(after.getSalesToday(), reloaded.getSalesToday());
+        assertAmount(after.getRevenueToday(), reloaded.getRevenueToday());
+        assertEquals(after.getTopSellers().stream().map(TopSeller::productId).toList(),
+                reloaded.getTopSellers().stream().map(TopSeller::productId).toList());
+    }
+
+    @Test
+    void cancelledSalesAreNotCounted() {
+        Long saleId = transactionService.sell(request(7, null)).getId();
+        DashboardSummary sold = dashboardSnapshot.summary();
+
+        transactionService.updateTransactionStatus(saleId, TransactionStatus.CANCELLED);
+        DashboardSummary cancelled = dashboardSnapshot.summary();
+        assertEquals(sold.getSalesToday() - 1, cancelled.getSalesToday());
+        assertEquals(sold.getUnitsSoldToday() - 7, cancelled.getUnitsSoldToday());
+        assertAmount(sold.getRevenueToday().subtract(new BigDecimal("14")), cancelled.getRevenueToday());
+
+        dashboardSnapshot.reload();
+        assertEquals(cancelled.getSalesToday(), dashboardSnapshot.summary().getSalesToday());
+
+        transactionService.updateTransactionStatus(saleId, TransactionStatus.COMPLETED);
+        assertEquals(sold.getUnitsSoldToday(), dashboardSnapshot.summary().getUnitsSoldToday());
+    }
+
+    @Test
+    void requestsBeforeTheFirstLoadShareOneLoad() throws InterruptedException {
+        AtomicInteger productScans = new AtomicInteger();
+        JdbcTemplate slowTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String sql, RowCallbackHandler handler) {
+                if (sql.contains("from products")) {
+                    productScans.incrementAndGet();
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.query(sql, handler);
+            }
+        };
+        DashboardSnapshot cold = new DashboardSnapshot(slowTemplate, 10, 5);
+
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> polls = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            polls.add(Thread.ofPlatform().start(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                cold.summary();
+            }));
+        }
+        go.countDown();
+        for (Thread poll : polls) poll.join();
+
+        assertEquals(1, productScans.get());
+    }
+
+    @Test
+    void productUpdatesAndDeletesAreApplied() {
+        DashboardSummary before = dashboardSnapshot.summary();
+
+        product.setPrice(new BigDecimal("3.00"));
+        eventPublisher.publishEvent(ProductChangedEvent.saved(product));
+        assertAmount(before.getInventoryValue().add(new BigDecimal("10000")), dashboardSnapshot.summary().getInventoryValue());
+
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(product.getId()));
+        DashboardSummary deleted = dashboardSnapshot.summary();
+        assertAmount(before.getInventoryValue().subtract(new BigDecimal("20000")), deleted.getInventoryValue());
+        assertEquals(before.getProductCount() - 1, deleted.getProductCount());
+    }
+
+    private static void assertAmount(BigDecimal expected, BigDecimal actual) {
+        assertEquals(0, expected.compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+
+    private TransactionRequest request(int quantity, Long supplierId) {
+        TransactionRequest request = new TransactionRequest();
+        request.setProductId(product.getId());
+        request.setSupplierId(supplierId);
+        request.setQuantity(quantity);
+        return request;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.ims_backend.reports;
+
+import com.example.ims_backend.dto.LoginRequest;
+import com.example.ims_backend.dto.RegisterRequest;
+import com.example.ims_backend.services.IUserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Boots against a database that has transactions from before the rollup tables existed: the migration that
+ * creates them must fill them, so reports cover that history without a rebuild.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RollupBackfillTest {
+
+    private static final String URL = "jdbc:h2:mem:backfill_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Value("${local.server.port}")
+    private int port;
+    @Autowired
+    private IUserService userService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void databaseAtV4(DynamicPropertyRegistry registry) throws SQLException {
+        Flyway.configure().dataSource(URL, "sa", "").target("4").load().migrate();
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO categories (id, name) VALUES (1, 'Old')");
+            statement.execute("INSERT INTO supplier (id, name) VALUES (1, 'Old')");
+            statement.execute("INSERT INTO products (id, name, sku, price, stock_quantity, category_id) " +
+                    "VALUES (1, 'Old item', 'OLD-1', 2.00, 10, 1)");
+            statement.execute("INSERT INTO transactions (total_products, total_price, transaction_type, status, " +
+                    "created_at, product_id, supplier_id) VALUES " +
+                    "(2, 4.00, 'SALE', 'COMPLETED', '2020-01-20 10:00:00', 1, NULL), " +
+                    "(5, 10.00, 'SALE', 'CANCELLED', '2020-01-21 10:00:00', 1, NULL), " +
+                    "(30, 60.00, 'PURCHASE', 'COMPLETED', '2020-02-10 10:00:00', 1, 1), " +
+                    "(1, 2.00, 'SALE', 'PENDING', '2020-03-10 10:00:00', 1, NULL), " +
+                    "(7, 14.00, 'SALE', 'COMPLETED', '2020-03-20 10:00:00', 1, NULL)");
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void historyFromBeforeTheRollupsIsReported() throws Exception {
+        // whole February from the monthly rollup, the ends of January and March from the daily one
+        Map<String, JsonNode> totals = summary("2020-01-15", "2020-03-15");
+
+        assertEquals(2, totals.get("SALE").get("transactionCount").asLong());
+        assertEquals(3, totals.get("SALE").get("units").asLong());
+        assertEquals(0, totals.get("SALE").get("amount").decimalValue().compareTo(new BigDecimal("6.00")));
+        assertEquals(1, totals.get("PURCHASE").get("transactionCount").asLong());
+        assertEquals(30, totals.get("PURCHASE").get("units").asLong());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from monthly_transaction_rollup where rollup_month = '2020-02-01' and category_id = 1 " +
+                        "and supplier_id = 1", Integer.class));
+    }
+
+    private Map<String, JsonNode> summary(String from, String to) throws Exception {
+        String email = "backfill@ims.test";
+        userService.registerUser(new RegisterRequest("Backfill", email, "secret-password", "000", null));
+        jdbcTemplate.update("update users set role = 'ADMIN' where email = ?", email);
+        String token = userService.loginUser(new LoginRequest(email, "secret-password"), null).join().getToken();
+
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/reports/summary?from=" + from + "&to=" + to))
+                .header("Authorization", "Bearer " + token)
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+
+        Map<String, JsonNode> totals = new HashMap<>();
+        for (JsonNode row : jsonMapper.readTree(response.body()).get("report")) {
+            totals.put(row.get("transactionType").asString(), row);
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.ims_backend.repository;
+
+import com.example.ims_backend.entity.Transaction;
+import com.example.ims_backend.enums.ProductField;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.specification.TransactionFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every repository query the services issue, captures the SQL Hibernate generates for it with the values
+ * it binds, and EXPLAINs each statement with those values: a full table scan fails the test, naming the query
+ * and its plan. Queries that scan by
+ * design (substring search, unfiltered listings of small tables) are not listed here.
+ * <p>
+ * Runs against the test database (H2, where a scan shows as {@code tableScan}); pointed at MySQL with
+ * {@code -Dspring.datasource.url=...} it checks for {@code type = ALL} instead.
+ */
+@SpringBootTest
+@Import(QueryPlanTest.CapturedSql.class)
+class QueryPlanTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private AuthTokenRepository authTokenRepository;
+    @Autowired
+    private DailyTransactionRollupRepository dailyRollupRepository;
+    @Autowired
+    private MonthlyTransactionRollupRepository monthlyRollupRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        Map<String, Runnable> queries = Map.ofEntries(
+                // ===== Products =====
+                Map.entry("product by id", () -> productRepository.findById(1L)),
+                Map.entry("products by ids", () -> productRepository.findAllById(List.of(1L, 2L))),
+                Map.entry("products by ids for update", () -> productRepository.findAllByIdForUpdate(List.of(1L, 2L))),
+                Map.entry("product by sku", () -> productRepository.findBySku("SKU-1")),
+                Map.entry("product stock", () -> productRepository.findStockQuantityById(1L)),
+                Map.entry("increment stock", () -> productRepository.incrementStock(-1L, 1)),
+                Map.entry("decrement stock", () -> productRepository.decrementStock(-1L, 1)),
+                Map.entry("product page by category", () -> productRepository.findProductPage(1L,
+                        Set.of(ProductField.ID, ProductField.NAME),
+                        PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, ProductField.ID.name())))),
+                Map.entry("category with products", () -> categoryRepository.findById(1L)
+                        .ifPresent(category -> category.getProducts().size())),
+                Map.entry("supplier by id", () -> supplierRepository.findById(1L)),
+
+                // ===== Users and tokens =====
+                Map.entry("user by id", () -> userRepository.findById(1L)),
+                Map.entry("user by email", () -> userRepository.findByEmail("someone@ims.test")),
+                Map.entry("token revoked", () -> authTokenRepository.existsByIdAndRevokedAtIsNotNull("jti")),
+                Map.entry("active tokens of user", () -> authTokenRepository.findActiveIdsByUserId(1L, NOW)),
+                Map.entry("revoked tokens", () -> authTokenRepository.findRevokedIds(NOW)),
+                Map.entry("tokens revoked since", () -> authTokenRepository.findIdsRevokedSince(NOW, NOW)),
+                Map.entry("revoke tokens", () -> authTokenRepository.revoke(List.of("jti"), NOW)),
+                Map.entry("purge tokens", () -> authTokenRepository.deleteExpired(NOW)),
+
+                // ===== Transactions =====
+                Map.entry("transaction by id", () -> transactionRepository.findById(1L)),
+                Map.entry("transaction page", () -> transactionRepository.findAll(TransactionFilter.byFilter(null),
+                        PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "id")))),
+                Map.entry("transaction keyset", () -> transactionRepository.findBy(TransactionFilter.idLessThan(1000L),
+                        query -> query.sortBy(Sort.by(Sort.Direction.DESC, "id")).limit(21).all())),
+                Map.entry("month report", () -> transactionRepository.findAll(
+                        TransactionFilter.createdBetween(NOW.minusMonths(1), NOW), Sort.by("createdAt"))),
+                Map.entry("month report by product", () -> transactionRepository.findAll(
+                        dateRange().and(TransactionFilter.byProduct(1L)), Sort.by("createdAt"))),
+                Map.entry("month report by type and status", () -> transactionRepository.findAll(
+                        dateRange().and(TransactionFilter.byType(TransactionType.SALE))
+                                .and(TransactionFilter.byStatus(TransactionStatus.COMPLETED)), Sort.by("createdAt"))),
+                Map.entry("export stream", () -> {
+                    try (var rows = transactionRepository.streamByCreatedAtRange(NOW.minusMonths(1), NOW)) {
+                        rows.count();
+                    }
+                }),
+                Map.entry("oldest transaction", () -> transactionRepository.findOldestCreatedAt()),
+                Map.entry("archive month", () -> transactionRepository.deleteByCreatedAtRange(NOW.minusMonths(1), NOW)),
+                Map.entry("user history", () -> transactionRepository.findHistoryByUser(1L, NOW.minusDays(90), NOW,
+                        PageRequest.of(1, 20))),
+
+                // ===== Reports =====
+                Map.entry("daily report", () -> dailyRollupRepository.findDaily(NOW.toLocalDate().minusDays(30),
+                        NOW.toLocalDate(), null, null)),
+                Map.entry("daily report by product", () -> dailyRollupRepository.findDaily(
+                        NOW.toLocalDate().minusDays(30), NOW.toLocalDate(), 1L, TransactionType.SALE)),
+                Map.entry("monthly report", () -> monthlyRollupRepository.findMonthly(NOW.toLocalDate().minusYears(1),
+                        NOW.toLocalDate(), 1L, null, TransactionType.SALE))
+        );
+
+        List<String> scans = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            List<CapturedSql.Statement> statements = CapturedSql.capture(() -> transactionTemplate.executeWithoutResult(status -> {
+                query.run();
+                status.setRollbackOnly();
+            }));
+            assertTrue(!statements.isEmpty(), name + ": no SQL captured");
+            for (CapturedSql.Statement statement : statements) {
+                String plan = explain(statement);
+                if (isFullScan(plan)) scans.add(name + ":\n" + plan);
+            }
+        });
+
+        assertTrue(scans.isEmpty(), "full table scans:\n\n" + String.join("\n\n", scans));
+    }
+
+    private static Specification<Transaction> dateRange() {
+        return TransactionFilter.createdBetween(NOW.minusMonths(1), NOW);
+    }
+
+    private String explain(CapturedSql.Statement statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            boolean mysql = connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("MySQL");
+            try (PreparedStatement explain = connection.prepareStatement("explain " + statement.sql())) {
+                // the values the query ran with: MySQL folds a comparison with NULL into "Impossible WHERE",
+                // which would hide the access path
+                for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                    explain.setObject(parameter.getKey(), parameter.getValue());
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    while (resultSet.next()) {
+                        if (mysql) {
+                            plan.append("table=").append(resultSet.getString("table"))
+                                    .append(" type=").append(resultSet.getString("type"))
+                                    .append(" key=").append(resultSet.getString("key")).append('\n');
+                        } else {
+                            plan.append(resultSet.getString(1)).append('\n');
+                        }
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    private static boolean isFullScan(String plan) {
+        return plan.contains(".tableScan") || plan.contains(" type=ALL ");
+    }
+
+    /**
+     * Records the SQL and bound parameters of every statement the test thread prepares while a query runs, by
+     * wrapping the data source.
+     */
+    @TestConfiguration
+    static class CapturedSql {
+
+        record Statement(String sql, Map<Integer, Object> parameters) {
+        }
+
+        private static final List<Statement> STATEMENTS = new ArrayList<>();
+        private static volatile Thread capturing;
+
+        static List<Statement> capture(Runnable query) {
+            STATEMENTS.clear();
+            capturing = Thread.currentThread();
+            try {
+                query.run();
+            } finally {
+                capturing = null;
+            }
+            return List.copyOf(STATEMENTS);
+        }
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? wrap(DataSource.class, dataSource, CapturedSql::connection) : bean;
+                }
+            };
+        }
+
+        private static Object connection(Method method, Object[] args, Object result) {
+            if (!(result instanceof Connection connection)) return result;
+            return wrap(Connection.class, connection, (connectionMethod, connectionArgs, prepared) -> {
+                if (!connectionMethod.getName().equals("prepareStatement") || Thread.currentThread() != capturing)
+                    return prepared;
+                Map<Integer, Object> parameters = new TreeMap<>();
+                STATEMENTS.add(new Statement((String) connectionArgs[0], parameters));
+                return wrap(PreparedStatement.class, (PreparedStatement) prepared, (setter, setterArgs, ignored) -> {
+                    if (setter.getName().startsWith("set") && setterArgs != null && setterArgs.length >= 2
+                            && setterArgs[0] instanceof Integer index) {
+                        parameters.put(index, setter.getName().equals("setNull") ? null : setterArgs[1]);
+                    }
+                    return ignored;
+                });
+            });
+        }
+
+        private interface AfterCall {
+            Object apply(Method method, Object[] args, Object result);
+        }
+
+        private static <T> T wrap(Class<T> type, T target, AfterCall afterCall) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    return afterCall.apply(method, args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }));
+        }
+    }
+}
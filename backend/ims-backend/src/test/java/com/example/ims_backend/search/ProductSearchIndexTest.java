@@ -0,0 +1,143 @@
+package com.example.ims_backend.search;
+
+import com.example.ims_backend.dto.CategoryDto;
+import com.example.ims_backend.dto.ProductDto;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.events.ProductChangedEvent;
+import com.example.ims_backend.repository.ProductRepository;
+import com.example.ims_backend.services.ICategoryService;
+import com.example.ims_backend.services.IProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ProductSearchIndexTest {
+
+    @Autowired
+    private IProductService productService;
+    @Autowired
+    private ICategoryService categoryService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String tag;
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        // letters only so the tag stays a single token
+        tag = UUID.randomUUID().toString().replaceAll("[^a-f]", "").substring(0, 5) + "q";
+        categoryId = categoryService.createCategory(new CategoryDto(null, "Typeahead", null)).getId();
+    }
+
+    @Test
+    void ranksNamePrefixAboveOtherMatches() {
+        ProductDto inDescription = save("Plain box", "SKU-" + tag + "-1", "fits a " + tag + "zzle lid");
+        ProductDto laterNameToken = save("Large " + tag + "zzle crate", "SKU-" + tag + "-2", null);
+        ProductDto firstNameTokenLong = save(tag + "zzle deluxe edition", "SKU-" + tag + "-3", null);
+        ProductDto firstNameTokenShort = save(tag + "zzle", "SKU-" + tag + "-4", null);
+
+        List<Long> ids = ids(productService.suggestProducts(tag + "zz", 10));
+
+        assertEquals(List.of(firstNameTokenShort.getId(), firstNameTokenLong.getId(),
+                laterNameToken.getId(), inDescription.getId()), ids);
+        assertEquals(List.of(firstNameTokenShort.getId()), ids(productService.suggestProducts(tag, 1)));
+    }
+
+    @Test
+    void matchesEveryTokenAndFallsBackToInfix() {
+        ProductDto blue = save("Blue " + tag + " mug", "MUG-" + tag + "-BLUE", null);
+        save("Red " + tag + " mug", "MUG-" + tag + "-RED", null);
+
+        assertEquals(List.of(blue.getId()), ids(productService.suggestProducts("blu " + tag, 10)));
+        assertEquals(List.of(blue.getId()), ids(productService.suggestProducts("mug-" + tag + "-blu", 10)));
+
+        // no token starts with the tail of the tag, only the trigram fallback finds it
+        assertEquals(2, productService.suggestProducts(tag.substring(1) + " mug", 10).size());
+    }
+
+    @Test
+    void idPastTheIntRangeTurnsTheIndexOffInsteadOfFailingTheSave() {
+        ProductSearchIndex index = new ProductSearchIndex(jdbcTemplate, true);
+        index.rebuild();
+        assertNotNull(index.findContaining(tag));
+
+        Product huge = Product.builder().id(Integer.MAX_VALUE + 1L).name("Huge " + tag).build();
+        index.onProductChanged(ProductChangedEvent.saved(huge));
+
+        assertFalse(index.isReady());
+        assertNull(index.findContaining(tag));
+        assertNull(index.suggest(tag, 5));
+    }
+
+    @Test
+    void staysInSyncWithUpdatesAndDeletes() {
+        ProductDto product = save("Gadget " + tag, "GAD-" + tag, null);
+
+        ProductDto rename = new ProductDto();
+        rename.setProductId(product.getId());
+        rename.setName("Gizmo " + tag);
+        productService.updateProduct(rename, null);
+
+        assertTrue(productService.suggestProducts("gadget " + tag, 10).isEmpty());
+        assertEquals(List.of(product.getId()), ids(productService.suggestProducts("gizmo " + tag, 10)));
+
+        productService.deleteProduct(product.getId());
+        assertTrue(productService.suggestProducts(tag, 10).isEmpty());
+    }
+
+    @Test
+    void searchMatchesTheRepositoryQuery() {
+        save("Kettle " + tag, "KET-" + tag, "Steel kettle");
+        save("Teapot", "TEA-" + tag, "goes with the " + tag + " kettle");
+        save("Cup", "CUP-" + tag, null);
+
+        for (String term : List.of(tag, "KETTLE " + tag, "with the", "cup", "st")) {
+            List<Long> expected = productRepository
+                    .findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(term, term).stream()
+                    .map(Product::getId).sorted().limit(ProductSearchIndex.MAX_SEARCH_RESULTS).toList();
+            assertEquals(expected, ids(productService.searchProduct(term)), term);
+        }
+    }
+
+    @Test
+    void broadSearchReturnsTheLowestIdsOnly() {
+        List<Long> saved = new ArrayList<>();
+        for (int i = 0; i <= ProductSearchIndex.MAX_SEARCH_RESULTS; i++) {
+            saved.add(save("Crate " + tag, "CRATE-" + tag + "-" + i, null).getId());
+        }
+
+        assertEquals(saved.subList(0, ProductSearchIndex.MAX_SEARCH_RESULTS), ids(productService.searchProduct(tag)));
+    }
+
+    private ProductDto save(String name, String sku, String description) {
+        ProductDto productDto = new ProductDto();
+        productDto.setName(name);
+        productDto.setSku(sku);
+        productDto.setDescription(description);
+        productDto.setPrice(BigDecimal.ONE);
+        productDto.setStockQuantity(1);
+        productDto.setCategoryId(categoryId);
+        return productService.saveProduct(productDto, null);
+    }
+
+    private List<Long> ids(List<ProductDto> products) {
+        return products.stream().map(ProductDto::getId).toList();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.ims_backend.search;
+
+import com.example.ims_backend.repository.ProductRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Typeahead latency on a synthetic catalog (500k SKUs by default, {@code -Dtypeahead.benchmark.products=...}).
+ * {@code mvn test -Pbenchmark -Dtest=ProductTypeaheadBenchmarkTest}
+ */
+@Tag("benchmark")
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:file:./target/typeahead-benchmark-db-${random.uuid};MODE=MySQL;DATABASE_TO_LOWER=TRUE;CACHE_SIZE=65536")
+class ProductTypeaheadBenchmarkTest {
+
+    private static final int PRODUCTS = Integer.getInteger("typeahead.benchmark.products", 500_000);
+    private static final int QUERIES = 20_000;
+    private static final String[] ADJECTIVES = {"blue", "red", "steel", "oak", "large", "compact", "premium", "basic",
+            "wireless", "organic", "heavy", "mini", "classic", "smart", "eco", "pro"};
+    private static final String[] NOUNS = {"widget", "kettle", "drill", "chair", "lamp", "cable", "bottle", "hammer",
+            "router", "blanket", "speaker", "notebook", "charger", "valve", "bracket", "sensor"};
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void suggestionsOnLargeCatalog() {
+        seed();
+
+        long start = System.nanoTime();
+        productSearchIndex.rebuild();
+        System.out.printf("index build: %d products in %d ms%n", PRODUCTS, (System.nanoTime() - start) / 1_000_000);
+
+        Random random = new Random(42);
+        List<String> singleToken = new ArrayList<>();
+        List<String> twoTokens = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            String word = random.nextBoolean()
+                    ? ADJECTIVES[random.nextInt(ADJECTIVES.length)]
+                    : NOUNS[random.nextInt(NOUNS.length)];
+            singleToken.add(word.substring(0, 1 + random.nextInt(word.length())));
+
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            twoTokens.add(ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + noun.substring(0, 1 + random.nextInt(noun.length())));
+        }
+
+        double singleP50 = measure("single token", singleToken);
+        double twoTokenP50 = measure("two tokens", twoTokens);
+
+        start = System.nanoTime();
+        productRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("wid", "wid",
+                PageRequest.of(0, 10, Sort.by("name")));
+        System.out.printf("LIKE '%%wid%%' top-10 through the repository: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        assertTrue(singleP50 < 1.0, "p50 " + singleP50 + " ms");
+        assertTrue(twoTokenP50 < 1.0, "p50 " + twoTokenP50 + " ms");
+    }
+
+    private double measure(String label, List<String> queries) {
+        double[] first = run(queries);
+        double[] repeated = run(queries);
+
+        System.out.printf("typeahead %-12s over %d products: first p50 %.3f ms p99 %.3f ms | repeated p50 %.3f ms p99 %.3f ms%n",
+                label, PRODUCTS, first[first.length / 2], first[first.length * 99 / 100],
+                repeated[repeated.length / 2], repeated[repeated.length * 99 / 100]);
+        return repeated[repeated.length / 2];
+    }
+
+    private double[] run(List<String> queries) {
+        double[] latencies = new double[queries.size()];
+        for (int i = 0; i < queries.size(); i++) {
+            long start = System.nanoTime();
+            List<?> suggestions = productSearchIndex.suggest(queries.get(i), 10);
+            latencies[i] = (System.nanoTime() - start) / 1e6;
+            assertFalse(suggestions.isEmpty(), queries.get(i));
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private void seed() {
+        jdbcTemplate.update("insert into categories (name) select concat('Category ', \"X\") from system_range(1, 40)");
+
+        List<Object[]> rows = new ArrayList<>(10_000);
+        Random random = new Random(7);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + NOUNS[random.nextInt(NOUNS.length)] + " " + (i % 977);
+            rows.add(new Object[]{name, "SKU-" + i, "Model " + Integer.toString(i, 36), 1 + i % 40});
+            if (rows.size() == 10_000 || i == PRODUCTS) {
+                jdbcTemplate.batchUpdate("insert into products (name, sku, description, price, stock_quantity, version, category_id) " +
+                        "values (?, ?, ?, 9.99, 10, 0, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+}
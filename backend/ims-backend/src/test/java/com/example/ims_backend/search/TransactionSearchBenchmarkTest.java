@@ -0,0 +1,125 @@
+package com.example.ims_backend.search;
+
+import com.example.ims_backend.entity.Transaction;
+import com.example.ims_backend.repository.TransactionRepository;
+import com.example.ims_backend.specification.TransactionFilter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares free-text search through {@link TransactionFilter#byFilter} with the in-memory index on a
+ * synthetic dataset. Scale it up with e.g.
+ * {@code mvn test -Pload -Dtest=TransactionSearchBenchmarkTest -Dsearch.benchmark.rows=5000000 -DargLine=-Xmx4g}
+ */
+@Tag("load")
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:file:./target/search-benchmark-db-${random.uuid};MODE=MySQL;DATABASE_TO_LOWER=TRUE;CACHE_SIZE=65536")
+class TransactionSearchBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("search.benchmark.rows", 1_000_000);
+    private static final int INDEX_RUNS = 200;
+    private static final int SPECIFICATION_RUNS = 3;
+
+    @Autowired
+    private TransactionSearchIndex transactionSearchIndex;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void indexVersusSpecification() {
+        seed();
+
+        long start = System.nanoTime();
+        transactionSearchIndex.rebuild();
+        System.out.printf("index build: %d rows in %d ms%n", ROWS, (System.nanoTime() - start) / 1_000_000);
+
+        List<String> terms = List.of("order 4242", "supplier 77", "product 1234", "ops-19@", "category 7", "returned");
+        for (String term : terms) {
+            PageRequest firstPage = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"));
+
+            double[] specification = new double[SPECIFICATION_RUNS];
+            Page<Transaction> expected = null;
+            for (int run = 0; run < SPECIFICATION_RUNS; run++) {
+                start = System.nanoTime();
+                expected = transactionRepository.findAll(TransactionFilter.byFilter(term), firstPage);
+                specification[run] = (System.nanoTime() - start) / 1e6;
+            }
+
+            double[] index = new double[INDEX_RUNS];
+            for (int run = 0; run < INDEX_RUNS; run++) {
+                start = System.nanoTime();
+                transactionSearchIndex.search(term);
+                index[run] = (System.nanoTime() - start) / 1e6;
+            }
+
+            // search plus loading the first page by primary key, i.e. what getAllTransactions does before mapping
+            double[] indexedPage = new double[INDEX_RUNS];
+            for (int run = 0; run < INDEX_RUNS; run++) {
+                start = System.nanoTime();
+                BitSet matches = transactionSearchIndex.search(term);
+                List<Long> pageIds = new ArrayList<>();
+                for (int id = matches.length() - 1; id >= 0 && pageIds.size() < 20; id = matches.previousSetBit(id - 1)) {
+                    pageIds.add((long) id);
+                }
+                transactionRepository.findAllById(pageIds);
+                indexedPage[run] = (System.nanoTime() - start) / 1e6;
+            }
+
+            System.out.printf("%-14s matches %8d | specification page %9.1f ms | index search p50 %6.2f ms p99 %6.2f ms "
+                            + "| indexed page p50 %6.2f ms%n",
+                    term, expected.getTotalElements(), median(specification),
+                    percentile(index, 0.5), percentile(index, 0.99), percentile(indexedPage, 0.5));
+
+            assertEquals(expected.getTotalElements(), transactionSearchIndex.search(term).cardinality(), term);
+            assertTrue(median(index) < median(specification), term);
+        }
+    }
+
+    private void seed() {
+        jdbcTemplate.update("insert into categories (name) select concat('Category ', \"X\") from system_range(1, 50)");
+        jdbcTemplate.update("insert into supplier (name, contact_info) " +
+                "select concat('Supplier ', \"X\"), concat('sales-', \"X\", '@vendor.test') from system_range(1, 200)");
+        jdbcTemplate.update("insert into users (name, email, phone_number, role) " +
+                "select concat('Operator ', \"X\"), concat('ops-', \"X\", '@ims.test'), concat('555-', \"X\"), 'MANAGER' " +
+                "from system_range(1, 100)");
+        jdbcTemplate.update("insert into products (name, sku, description, price, stock_quantity, version, category_id) " +
+                "select concat('Product ', \"X\"), concat('SKU-', \"X\"), 'Standard stock item', 9.99, 100, 0, mod(\"X\", 50) + 1 " +
+                "from system_range(1, 5000)");
+        jdbcTemplate.update("insert into transactions (total_products, total_price, transaction_type, status, description, note, " +
+                        "created_at, product_id, user_id, supplier_id) " +
+                        "select 1, 9.99, case mod(\"X\", 3) when 0 then 'SALE' when 1 then 'PURCHASE' else 'RETURN_TO_SUPPLIER' end, " +
+                        "'COMPLETED', concat('Order ', \"X\"), case when mod(\"X\", 1000) = 0 then 'returned' end, " +
+                        "dateadd('SECOND', \"X\", cast(? as timestamp)), mod(\"X\", 5000) + 1, mod(\"X\", 100) + 1, " +
+                        "case when mod(\"X\", 3) = 1 then mod(\"X\", 200) + 1 end " +
+                        "from system_range(1, ?)",
+                Timestamp.valueOf(LocalDateTime.of(2020, 1, 1, 0, 0)), ROWS);
+    }
+
+    private static double median(double[] samples) {
+        return percentile(samples, 0.5);
+    }
+
+    private static double percentile(double[] samples, double percentile) {
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(percentile * sorted.length))];
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.ims_backend.search;
+
+import com.example.ims_backend.TestFixtures;
+import com.example.ims_backend.dto.CategoryDto;
+import com.example.ims_backend.dto.ProductDto;
+import com.example.ims_backend.dto.RegisterRequest;
+import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.dto.SupplierDto;
+import com.example.ims_backend.dto.TransactionDto;
+import com.example.ims_backend.dto.TransactionRequest;
+import com.example.ims_backend.entity.Transaction;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.events.TransactionsChangedEvent;
+import com.example.ims_backend.repository.TransactionRepository;
+import com.example.ims_backend.services.ICategoryService;
+import com.example.ims_backend.services.IProductService;
+import com.example.ims_backend.services.ISupplierService;
+import com.example.ims_backend.services.ITransactionService;
+import com.example.ims_backend.services.IUserService;
+import com.example.ims_backend.specification.TransactionFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransactionSearchIndexTest {
+
+    @Autowired
+    private TransactionSearchIndex transactionSearchIndex;
+    @Autowired
+    private ITransactionService transactionService;
+    @Autowired
+    private ICategoryService categoryService;
+    @Autowired
+    private ISupplierService supplierService;
+    @Autowired
+    private IProductService productService;
+    @Autowired
+    private IUserService userService;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestFixtures fixtures;
+
+    private String tag;
+    private SupplierDto supplier;
+    private ProductDto product;
+    private TransactionDto purchase;
+    private TransactionDto sale;
+
+    @BeforeEach
+    void setUp() {
+        tag = UUID.randomUUID().toString().substring(0, 8);
+
+        String email = "clerk-" + tag + "@ims.test";
+        userService.registerUser(new RegisterRequest("Clerk " + tag, email, "secret", "555-" + tag, null));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+
+        CategoryDto category = categoryService.createCategory(new CategoryDto(null, "Shelf " + tag, null));
+        supplier = supplierService.addSupplier(new SupplierDto(null, "Vendor " + tag, "vendor-" + tag + "@ims.test", null));
+
+        ProductDto productDto = new ProductDto();
+        productDto.setName("Widget " + tag);
+        productDto.setSku("SKU-" + tag);
+        productDto.setDescription("Blue widget");
+        productDto.setPrice(BigDecimal.TEN);
+        productDto.setStockQuantity(0);
+        productDto.setCategoryId(category.getId());
+        product = productService.saveProduct(productDto, null);
+
+        purchase = transactionService.purchase(new TransactionRequest(product.getId(), 5, supplier.getId(), "inbound " + tag, null));
+        sale = transactionService.sell(new TransactionRequest(product.getId(), 2, null, null, "walk-in " + tag));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void matchesTheSpecificationOnEveryField() {
+        assertTrue(transactionSearchIndex.isReady());
+
+        for (String term : List.of(
+                "inbound " + tag, "walk-in " + tag,                  // description, note
+                "clerk " + tag, "clerk-" + tag, "555-" + tag,         // user name, email, phone
+                "vendor " + tag, "vendor-" + tag,                     // supplier name, contact
+                "widget " + tag, "sku-" + tag.toUpperCase(),          // product name, sku
+                "shelf " + tag)) {                                    // category
+            assertEquals(specificationIds(term), indexIds(term), term);
+        }
+
+        // other tests insert rows with plain JDBC, which only a full load picks up
+        transactionSearchIndex.rebuild();
+        for (String term : List.of("blue widget", "return_to", "sale", "complet", "ab", "zz-no-such-text")) {
+            assertEquals(specificationIds(term), indexIds(term), term);
+        }
+
+        BitSet byCategory = transactionSearchIndex.search("SHELF " + tag);
+        assertEquals(2, byCategory.cardinality());
+        assertTrue(byCategory.get(purchase.getId().intValue()));
+        assertTrue(byCategory.get(sale.getId().intValue()));
+    }
+
+    @Test
+    void followsRenamesAndStatusChanges() {
+        supplierService.updateSupplier(supplier.getId(), new SupplierDto(null, "Renamed " + tag, null, null));
+
+        assertEquals(0, transactionSearchIndex.search("vendor " + tag).cardinality());
+        assertEquals(List.of(purchase.getId()), indexIds("renamed " + tag));
+
+        transactionService.updateTransactionStatus(sale.getId(), TransactionStatus.CANCELLED);
+        assertTrue(transactionSearchIndex.search("cancelled").get(sale.getId().intValue()));
+        assertEquals(specificationIds("cancelled"), indexIds("cancelled"));
+    }
+
+    @Test
+    void changeAppliedDuringALoadIsNotOverwrittenByTheLoadedRow() {
+        Transaction cancelled = transactionRepository.findById(sale.getId()).orElseThrow();
+        cancelled.setStatus(TransactionStatus.CANCELLED);
+
+        // a second index whose transaction stream sees the sale's status change right after its first row
+        TransactionSearchIndex[] index = new TransactionSearchIndex[1];
+        JdbcTemplate streamingTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(PreparedStatementCreator creator, RowCallbackHandler handler) {
+                boolean[] changed = new boolean[1];
+                super.query(creator, (ResultSet rs) -> {
+                    handler.processRow(rs);
+                    if (!changed[0]) {
+                        changed[0] = true;
+                        index[0].onTransactionsChanged(new TransactionsChangedEvent(List.of(cancelled)));
+                    }
+                });
+            }
+        };
+        index[0] = new TransactionSearchIndex(streamingTemplate, true);
+        index[0].rebuild();
+
+        assertTrue(index[0].search("cancelled").get(sale.getId().intValue()));
+        assertFalse(index[0].search("completed").get(sale.getId().intValue()));
+    }
+
+    @Test
+    void catchesUpOnWritesThatPublishedNoEvent() {
+        long inserted = fixtures.insert("insert into transactions (total_products, total_price, transaction_type, " +
+                "status, description, created_at, product_id) values (1, 10, 'SALE', 'COMPLETED', ?, current_timestamp, ?)",
+                "backdoor " + tag, product.getId());
+        jdbcTemplate.update("update transactions set note = ?, update_at = current_timestamp where id = ?",
+                "amended " + tag, purchase.getId());
+        jdbcTemplate.update("update supplier set name = ? where id = ?", "Relabelled " + tag, supplier.getId());
+        assertEquals(0, transactionSearchIndex.search("backdoor " + tag).cardinality());
+
+        transactionSearchIndex.catchUp();
+
+        assertEquals(List.of(inserted), indexIds("backdoor " + tag));
+        assertEquals(List.of(purchase.getId()), indexIds("amended " + tag));
+        assertEquals(List.of(purchase.getId()), indexIds("relabelled " + tag));
+        assertEquals(0, transactionSearchIndex.search("vendor " + tag).cardinality());
+    }
+
+    @Test
+    void idPastTheIntRangeTurnsTheIndexOffInsteadOfFailingTheWrite() {
+        TransactionSearchIndex index = new TransactionSearchIndex(jdbcTemplate, true);
+        index.rebuild();
+        assertNotNull(index.search("widget " + tag));
+
+        Transaction huge = new Transaction();
+        huge.setId(Integer.MAX_VALUE + 1L);
+        huge.setDescription("huge " + tag);
+        index.onTransactionsChanged(new TransactionsChangedEvent(List.of(huge)));
+
+        assertFalse(index.isReady());
+        assertNull(index.search("widget " + tag));
+        index.rebuild();
+        assertNull(index.search("widget " + tag));
+    }
+
+    @Test
+    void pagesIndexedResultsNewestFirst() {
+        Response page = transactionService.getAllTransactions(0, 1, "widget " + tag);
+
+        assertEquals(2L, page.getTotalElements());
+        assertEquals(2, page.getTotalPages());
+        assertEquals(List.of(sale.getId()), page.getTransactions().stream().map(TransactionDto::getId).toList());
+
+        Response second = transactionService.getAllTransactions(1, 1, "widget " + tag);
+        assertEquals(List.of(purchase.getId()), second.getTransactions().stream().map(TransactionDto::getId).toList());
+    }
+
+    private List<Long> indexIds(String term) {
+        BitSet matches = transactionSearchIndex.search(term);
+        assertNotNull(matches);
+        return matches.stream().mapToObj(id -> (long) id).toList();
+    }
+
+    private List<Long> specificationIds(String term) {
+        return transactionRepository.findAll(TransactionFilter.byFilter(term)).stream()
+                .map(Transaction::getId)
+                .sorted()
+                .toList();
+    }
+}
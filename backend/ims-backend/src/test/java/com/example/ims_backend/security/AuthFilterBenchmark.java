@@ -0,0 +1,145 @@
+package com.example.ims_backend.security;
+
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.UserRole;
+import com.example.ims_backend.repository.AuthTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Per-request token handling: the former three-parse path (fresh parser per parse) against a single verify
+ * with a prebuilt parser, with and without the verified-token cache, and the whole AuthFilter. The token
+ * carries id, role and jti claims, so the filter never reaches the (stubbed) user lookup, and it is checked
+ * against a revocation list holding 10,000 other revoked tokens, so the (stubbed) table is never asked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthFilterBenchmark {
+
+    private static final String SECRET = "disha395123456789disha395123456789";
+
+    private SecretKey key;
+    private String token;
+    private String tokenId;
+    private TokenRevocationList revocationList;
+    private JwtUtils uncached;
+    private JwtUtils cached;
+    private AuthFilter uncachedFilter;
+    private AuthFilter cachedFilter;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        uncached = new JwtUtils(SECRET, 0, Duration.ofMinutes(15));
+        cached = new JwtUtils(SECRET, 10_000, Duration.ofMinutes(15));
+        IssuedToken issued = cached.generateToken(
+                User.builder().id(1L).email("cashier@ims.test").role(UserRole.MANAGER).build());
+        token = issued.token();
+        tokenId = issued.tokenId();
+
+        List<String> revokedIds = Stream.generate(() -> UUID.randomUUID().toString())
+                .limit(10_000).toList();
+        AuthTokenRepository table = (AuthTokenRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{AuthTokenRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findRevokedIds" -> revokedIds;
+                    case "findIdsRevokedSince" -> List.of();
+                    case "existsByIdAndRevokedAtIsNotNull" -> revokedIds.contains((String) args[0]);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        revocationList = new TokenRevocationList(table, 100_000, 0.001);
+        revocationList.rebuild();
+
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(null) {
+            private final UserDetails user = AuthUser.builder()
+                    .user(User.builder().id(1L).email("cashier@ims.test").role(UserRole.MANAGER).build())
+                    .build();
+
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return user;
+            }
+        };
+        uncachedFilter = new AuthFilter(uncached, userDetailsService, revocationList);
+        cachedFilter = new AuthFilter(cached, userDetailsService, revocationList);
+    }
+
+    @Benchmark
+    public boolean legacyThreeParses() {
+        String username = legacyClaims().getSubject();
+        return username.equals(legacyClaims().getSubject()) && !legacyClaims().getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean revocationCheck() {
+        return revocationList.isRevoked(tokenId);
+    }
+
+    @Benchmark
+    public Object authFilterUncached() throws Exception {
+        return filter(uncachedFilter);
+    }
+
+    @Benchmark
+    public Object authFilterCached() throws Exception {
+        return filter(cachedFilter);
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private Object filter(AuthFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ims_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void neverMissesAnAddedKeyAndStaysNearItsFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<String> added = randomIds(10_000);
+        added.forEach(filter::add);
+
+        added.forEach(id -> assertTrue(filter.mightContain(id)));
+
+        long falsePositives = randomIds(100_000).stream().filter(filter::mightContain).count();
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives); // 1% target, 2% bound
+        assertFalse(filter.isSaturated());
+    }
+
+    @Test
+    void isSizedFromExpectedInsertionsAndRate() {
+        BloomFilter filter = new BloomFilter(100_000, 0.001);
+
+        // m = -n ln p / (ln 2)^2 ~ 1,437,759 bits, k = m / n ln 2 ~ 10
+        assertEquals(1_437_760, filter.bitCount(), 64);
+        assertEquals(10, filter.hashCount());
+    }
+
+    @Test
+    void reportsSaturationPastItsSize() {
+        BloomFilter filter = new BloomFilter(10, 0.01);
+        randomIds(10).forEach(filter::add);
+        assertFalse(filter.isSaturated());
+
+        filter.add(UUID.randomUUID().toString());
+        assertTrue(filter.isSaturated());
+    }
+
+    private static List<String> randomIds(int count) {
+        return Stream.generate(() -> UUID.randomUUID().toString()).limit(count).toList();
+    }
+}
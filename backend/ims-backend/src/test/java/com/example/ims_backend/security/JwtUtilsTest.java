@@ -0,0 +1,83 @@
+package com.example.ims_backend.security;
+
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.UserRole;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "disha395123456789disha395123456789";
+
+    private final JwtUtils jwtUtils = new JwtUtils(SECRET, 100, Duration.ofMinutes(15));
+
+    @Test
+    void verifiesOnceAndServesRepeatsFromCache() {
+        IssuedToken issued = jwtUtils.generateToken(user("cashier@ims.test"));
+        String token = issued.token();
+
+        VerifiedToken first = jwtUtils.verify(token);
+        assertEquals("cashier@ims.test", first.subject());
+        assertEquals(issued.tokenId(), first.tokenId());
+        assertEquals(issued.expiresAt().getEpochSecond(), first.expiresAt().getEpochSecond());
+        assertEquals(7L, first.userId());
+        assertEquals(UserRole.MANAGER, first.role());
+        assertTrue(first.hasIdentityClaims());
+        assertTrue(first.expiresAt().isAfter(Instant.now().plus(Duration.ofDays(100))));
+        assertSame(first, jwtUtils.verify(token));
+    }
+
+    @Test
+    void rejectsForgedMalformedAndExpiredTokens() {
+        String token = jwtUtils.generateToken(user("cashier@ims.test")).token();
+        String[] parts = token.split("\\.");
+        String otherSignature = jwtUtils.generateToken(user("admin@ims.test")).token().split("\\.")[2];
+
+        assertNull(jwtUtils.verify(parts[0] + "." + parts[1] + "." + otherSignature));
+        assertNull(jwtUtils.verify("not-a-token"));
+        assertNull(jwtUtils.verify(""));
+
+        String expired = Jwts.builder()
+                .setSubject("cashier@ims.test")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        assertNull(jwtUtils.verify(expired));
+    }
+
+    @Test
+    void acceptsTokensIssuedWithoutIdentityClaims() {
+        String legacy = Jwts.builder()
+                .setSubject("cashier@ims.test")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        VerifiedToken verified = jwtUtils.verify(legacy);
+        assertEquals("cashier@ims.test", verified.subject());
+        assertNull(verified.tokenId());
+        assertFalse(verified.hasIdentityClaims());
+    }
+
+    @Test
+    void cacheCanBeTurnedOff() {
+        JwtUtils uncached = new JwtUtils(SECRET, 0, Duration.ofMinutes(15));
+        String token = uncached.generateToken(user("cashier@ims.test")).token();
+
+        VerifiedToken first = uncached.verify(token);
+        assertEquals(first, uncached.verify(token));
+        assertNotSame(first, uncached.verify(token));
+    }
+
+    private static User user(String email) {
+        return User.builder().id(7L).email(email).role(UserRole.MANAGER).build();
+    }
+}
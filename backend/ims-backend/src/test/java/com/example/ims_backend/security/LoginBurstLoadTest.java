@@ -0,0 +1,170 @@
+package com.example.ims_backend.security;
+
+import com.example.ims_backend.ImsBackendApplication;
+import com.example.ims_backend.dto.RegisterRequest;
+import com.example.ims_backend.entity.Category;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.repository.CategoryRepository;
+import com.example.ims_backend.repository.ProductRepository;
+import com.example.ims_backend.services.IUserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sell latency over HTTP while a burst of logins hashes passwords at BCrypt cost 10, once with logins
+ * verified on the request thread ({@code ims.security.login.threads=0}, the former behaviour) and once on
+ * the login pool with its default queue bound, past which logins are refused with 503. Tomcat is capped at a
+ * few request threads so the burst can saturate it on a small machine.
+ * Run with {@code mvn test -Pload -Dtest=LoginBurstLoadTest}; size with {@code -Dlogin.burst.logins}.
+ */
+@Tag("load")
+class LoginBurstLoadTest {
+
+    private static final int LOGINS = Integer.getInteger("login.burst.logins", 120);
+    private static final int BASELINE_SELLS = 100;
+    private static final String PASSWORD = "secret-password";
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void sellLatencyStaysFlatDuringALoginBurst() throws Exception {
+        Run inline = run(0);
+        Run pooled = run(-1);
+
+        System.out.printf("%-8s %-9s %6s %8s %8s %8s %8s   logins by status%n",
+                "logins", "phase", "sells", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Run run : List.of(inline, pooled)) {
+            print(run.mode, "baseline", run.baseline, null);
+            print(run.mode, "burst", run.burst, run.loginStatuses);
+        }
+
+        assertEquals(0, pooled.failedSells);
+        assertTrue(percentile(pooled.burst, 0.99) < percentile(inline.burst, 0.99),
+                "the login pool should keep sells faster than verifying on the request thread");
+    }
+
+    private Run run(int loginThreads) throws Exception {
+        String database = "login-burst-" + UUID.randomUUID();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ImsBackendApplication.class).run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=8",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--ims.security.password.min-strength=10",
+                "--ims.security.password.target-hash-time=0ms",
+                "--ims.security.login.threads=" + loginThreads,
+                "--ims.security.login.rate-limit.per-account=0",
+                "--ims.security.login.rate-limit.per-address=0",
+                "--logging.level.root=WARN")) {
+
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            Long productId = seed(context);
+            String token = login(base, "seller@ims.test").join().body();
+            Matcher matcher = TOKEN.matcher(token);
+            assertTrue(matcher.find(), token);
+            String sellerToken = matcher.group(1);
+
+            Run run = new Run(loginThreads == 0 ? "inline" : "pooled");
+            run.baseline = sells(base, sellerToken, productId, BASELINE_SELLS, null, run);
+
+            List<CompletableFuture<HttpResponse<String>>> burst = new ArrayList<>();
+            for (int i = 0; i < LOGINS; i++) {
+                burst.add(login(base, "burst-" + (i % 10) + "@ims.test"));
+            }
+            CompletableFuture<Void> burstDone = CompletableFuture.allOf(burst.toArray(CompletableFuture[]::new));
+            run.burst = sells(base, sellerToken, productId, Integer.MAX_VALUE, burstDone, run);
+            burstDone.join();
+            burst.forEach(response -> run.loginStatuses.merge(response.join().statusCode(), 1, Integer::sum));
+            return run;
+        }
+    }
+
+    private Long seed(ConfigurableApplicationContext context) {
+        IUserService userService = context.getBean(IUserService.class);
+        userService.registerUser(new RegisterRequest("Seller", "seller@ims.test", PASSWORD, "000", null));
+        for (int i = 0; i < 10; i++) {
+            userService.registerUser(new RegisterRequest("Burst " + i, "burst-" + i + "@ims.test", PASSWORD, "000", null));
+        }
+        Category category = context.getBean(CategoryRepository.class).save(Category.builder().name("Load").build());
+        return context.getBean(ProductRepository.class).save(Product.builder()
+                .name("Load item")
+                .sku("SKU-" + UUID.randomUUID())
+                .price(BigDecimal.ONE)
+                .stockQuantity(1_000_000)
+                .category(category)
+                .build()).getId();
+    }
+
+    /**
+     * Sells one item at a time until {@code count} sells are done or {@code until} completes.
+     */
+    private double[] sells(String base, String token, Long productId, int count, CompletableFuture<?> until, Run run)
+            throws Exception {
+        HttpRequest sell = HttpRequest.newBuilder(URI.create(base + "/api/transactions/sell"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"productId\":" + productId + ",\"quantity\":1}"))
+                .build();
+        List<Double> latencies = new ArrayList<>();
+        while (latencies.size() < count && (until == null || !until.isDone())) {
+            long start = System.nanoTime();
+            HttpResponse<Void> response = http.send(sell, HttpResponse.BodyHandlers.discarding());
+            latencies.add((System.nanoTime() - start) / 1e6);
+            if (response.statusCode() != 200) run.failedSells++;
+        }
+        return latencies.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private CompletableFuture<HttpResponse<String>> login(String base, String email) {
+        return http.sendAsync(HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void print(String mode, String phase, double[] latencies, Map<Integer, Integer> statuses) {
+        System.out.printf("%-8s %-9s %6d %8.1f %8.1f %8.1f %8.1f   %s%n", mode, phase, latencies.length,
+                percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99),
+                percentile(latencies, 1.0), statuses == null ? "" : statuses);
+    }
+
+    private static double percentile(double[] values, double quantile) {
+        if (values.length == 0) return Double.NaN;
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static final class Run {
+        final String mode;
+        final Map<Integer, Integer> loginStatuses = new TreeMap<>();
+        double[] baseline;
+        double[] burst;
+        int failedSells;
+
+        Run(String mode) {
+            this.mode = mode;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.ims_backend.security;
+
+import com.example.ims_backend.exceptions.InvalidCredentialsException;
+import com.example.ims_backend.exceptions.ServiceBusyException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginExecutorTest {
+
+    @Test
+    void refusesOnceTheQueueIsFull() throws Exception {
+        LoginExecutor executor = new LoginExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> running = executor.submit(() -> {
+                started.countDown();
+                await(release);
+                return Thread.currentThread().getName();
+            });
+            started.await();
+            CompletableFuture<String> queued = executor.submit(() -> "queued");
+
+            assertThrows(ServiceBusyException.class, () -> executor.submit(() -> "refused"));
+
+            release.countDown();
+            assertTrue(running.join().startsWith("login-"));
+            assertEquals("queued", queued.join());
+        } finally {
+            release.countDown();
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void failuresCompleteTheFutureExceptionally() {
+        LoginExecutor executor = new LoginExecutor(1, 10);
+        try {
+            CompletionException failure = assertThrows(CompletionException.class, () -> executor.submit(() -> {
+                throw new InvalidCredentialsException("Invalid email or password");
+            }).join());
+            assertInstanceOf(InvalidCredentialsException.class, failure.getCause());
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void zeroThreadsRunsOnTheCallingThread() {
+        LoginExecutor executor = new LoginExecutor(0, 10);
+
+        assertEquals(Thread.currentThread().getName(), executor.submit(() -> Thread.currentThread().getName()).join());
+        assertTrue(executor.submit(() -> {
+            throw new InvalidCredentialsException("Invalid email or password");
+        }).isCompletedExceptionally());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
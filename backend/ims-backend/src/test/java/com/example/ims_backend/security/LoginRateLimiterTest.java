@@ -0,0 +1,48 @@
+package com.example.ims_backend.security;
+
+import com.example.ims_backend.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    @Test
+    void allowsABurstPerAccountThenRefuses() {
+        LoginRateLimiter limiter = new LoginRateLimiter(3, 0, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("cashier@ims.test", "10.0.0." + i);
+        }
+        TooManyRequestsException refused = assertThrows(TooManyRequestsException.class,
+                () -> limiter.acquire(" Cashier@IMS.test ", "10.0.0.9"));
+        assertTrue(refused.getRetryAfter().compareTo(Duration.ofSeconds(15)) > 0);
+
+        // other accounts are unaffected
+        limiter.acquire("admin@ims.test", "10.0.0.1");
+    }
+
+    @Test
+    void limitsAnAddressAcrossAccounts() {
+        LoginRateLimiter limiter = new LoginRateLimiter(0, 2, Duration.ofMinutes(1));
+
+        limiter.acquire("a@ims.test", "10.0.0.1");
+        limiter.acquire("b@ims.test", "10.0.0.1");
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("c@ims.test", "10.0.0.1"));
+        limiter.acquire("c@ims.test", "10.0.0.2");
+    }
+
+    @Test
+    void refillsAtTheSustainedRate() throws InterruptedException {
+        LoginRateLimiter limiter = new LoginRateLimiter(2, 0, Duration.ofMillis(200));
+
+        limiter.acquire("cashier@ims.test", null);
+        limiter.acquire("cashier@ims.test", null);
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("cashier@ims.test", null));
+
+        Thread.sleep(150); // one interval is 100 ms
+        limiter.acquire("cashier@ims.test", null);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.ims_backend.security;
+
+import com.example.ims_backend.dto.LoginRequest;
+import com.example.ims_backend.dto.RegisterRequest;
+import com.example.ims_backend.dto.UserDto;
+import com.example.ims_backend.enums.UserRole;
+import com.example.ims_backend.repository.UserRepository;
+import com.example.ims_backend.services.IUserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TokenRevocationTest {
+
+    private static final String PASSWORD = "secret-password";
+
+    @Autowired
+    private AuthFilter authFilter;
+    @Autowired
+    private IUserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String email;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        email = "revoke-" + UUID.randomUUID() + "@ims.test";
+        userService.registerUser(new RegisterRequest("Revocable", email, PASSWORD, "000", null));
+        userId = userRepository.findByEmail(email).orElseThrow().getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void logoutRevokesOnlyThatToken() {
+        String token = login();
+        String otherSession = login();
+        Authentication authentication = authenticate(token);
+        assertNotNull(authentication);
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        userService.logoutUser();
+        SecurityContextHolder.clearContext();
+
+        assertNull(authenticate(token));
+        assertNotNull(authenticate(otherSession));
+    }
+
+    @Test
+    void roleChangeRevokesEveryTokenOfTheUser() {
+        String first = login();
+        String second = login();
+
+        UserDto promotion = new UserDto();
+        promotion.setRole(UserRole.ADMIN);
+        userService.updateUser(userId, promotion);
+
+        assertNull(authenticate(first));
+        assertNull(authenticate(second));
+        assertTrue(authenticate(login()).getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN")));
+    }
+
+    @Test
+    void otherUpdatesKeepTokensValid() {
+        String token = login();
+
+        UserDto rename = new UserDto();
+        rename.setName("Renamed");
+        userService.updateUser(userId, rename);
+
+        assertNotNull(authenticate(token));
+    }
+
+    @Test
+    void deletingTheUserRevokesTheirTokens() {
+        String token = login();
+
+        userService.deleteUser(userId);
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void validTokensAreCheckedWithoutQueryingTheTable() {
+        String token = login();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            for (int i = 0; i < 10; i++) {
+                assertNotNull(authenticate(token));
+            }
+            assertEquals(0, statistics.getQueryExecutionCount());
+            assertEquals(0, statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    private String login() {
+        return userService.loginUser(new LoginRequest(email, PASSWORD), "127.0.0.1").join().getToken();
+    }
+
+    private Authentication authenticate(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Authorization", "Bearer " + token);
+        Authentication[] seen = new Authentication[1];
+        try {
+            authFilter.doFilter(request, new MockHttpServletResponse(),
+                    (req, res) -> seen[0] = SecurityContextHolder.getContext().getAuthentication());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return seen[0];
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.dto.LoginRequest;
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.UserRole;
+import com.example.ims_backend.exceptions.InvalidCredentialsException;
+import com.example.ims_backend.repository.UserRepository;
+import com.example.ims_backend.services.IUserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "ims.security.password.min-strength=5")
+class PasswordRehashTest {
+
+    private static final String PASSWORD = "secret-password";
+
+    @Autowired
+    private IUserService userService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void upgradesAWeakerHashOnSuccessfulLogin() {
+        User user = userRepository.save(User.builder()
+                .name("Old hash")
+                .email("rehash-" + UUID.randomUUID() + "@ims.test")
+                .password(new BCryptPasswordEncoder(4).encode(PASSWORD))
+                .phoneNumber("000")
+                .role(UserRole.MANAGER)
+                .build());
+
+        CompletionException wrongPassword = assertThrows(CompletionException.class,
+                () -> login(user.getEmail(), "wrong-password"));
+        assertInstanceOf(InvalidCredentialsException.class, wrongPassword.getCause());
+        assertTrue(storedHash(user).startsWith("$2a$04$"));
+
+        assertNotNull(login(user.getEmail(), PASSWORD));
+        String upgraded = storedHash(user);
+        assertTrue(upgraded.startsWith("$2a$05$"), upgraded);
+
+        assertNotNull(login(user.getEmail(), PASSWORD));
+        assertEquals(upgraded, storedHash(user));
+    }
+
+    private String login(String email, String password) {
+        return userService.loginUser(new LoginRequest(email, password), null).join().getToken();
+    }
+
+    private String storedHash(User user) {
+        return userRepository.findById(user.getId()).orElseThrow().getPassword();
+    }
+}
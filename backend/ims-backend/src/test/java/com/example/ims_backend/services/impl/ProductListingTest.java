@@ -0,0 +1,110 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.dto.CategoryDto;
+import com.example.ims_backend.dto.ProductDto;
+import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.exceptions.NameValueRequiredException;
+import com.example.ims_backend.services.ICategoryService;
+import com.example.ims_backend.services.IProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ProductListingTest {
+
+    @Autowired
+    private IProductService productService;
+    @Autowired
+    private ICategoryService categoryService;
+
+    private Long categoryId;
+    private List<ProductDto> saved;
+
+    @BeforeEach
+    void setUp() {
+        categoryId = categoryService.createCategory(new CategoryDto(null, "Listing", null)).getId();
+        Long otherCategoryId = categoryService.createCategory(new CategoryDto(null, "Elsewhere", null)).getId();
+
+        saved = new ArrayList<>();
+        for (String name : List.of("Delta", "Alpha", "Echo", "Charlie", "Bravo")) {
+            saved.add(save(name, categoryId));
+        }
+        save("Alpha", otherCategoryId);
+    }
+
+    @Test
+    void pagesThroughOneCategorySortedByName() {
+        Response first = productService.getAllProducts(0, 2, "name,asc", categoryId, null);
+        Response second = productService.getAllProducts(1, 2, "name,asc", categoryId, null);
+        Response last = productService.getAllProducts(2, 2, "name,asc", categoryId, null);
+
+        assertEquals(List.of("Alpha", "Bravo"), names(first));
+        assertEquals(List.of("Charlie", "Delta"), names(second));
+        assertEquals(List.of("Echo"), names(last));
+        assertEquals(5, first.getTotalElements());
+        assertEquals(3, first.getTotalPages());
+
+        ProductDto alpha = first.getProducts().get(0);
+        assertEquals(categoryId, alpha.getCategoryId());
+        assertEquals(0, BigDecimal.TEN.compareTo(alpha.getPrice()));
+        assertNotNull(alpha.getSku());
+        assertNotNull(alpha.getCreatedAt());
+    }
+
+    @Test
+    void defaultsToNewestFirst() {
+        Response response = productService.getAllProducts(0, 5, null, categoryId, null);
+
+        assertEquals(saved.reversed().stream().map(ProductDto::getId).toList(),
+                response.getProducts().stream().map(ProductDto::getId).toList());
+    }
+
+    @Test
+    void sparseFieldsetLeavesOtherFieldsUnset() {
+        Response response = productService.getAllProducts(0, 5, "name,desc", categoryId, "name, stockQuantity");
+
+        ProductDto echo = response.getProducts().get(0);
+        assertEquals("Echo", echo.getName());
+        assertEquals(3, echo.getStockQuantity());
+        assertNotNull(echo.getId());
+        assertNull(echo.getSku());
+        assertNull(echo.getPrice());
+        assertNull(echo.getCategoryId());
+        assertNull(echo.getCreatedAt());
+    }
+
+    @Test
+    void rejectsUnknownFieldsAndSorts() {
+        assertThrows(NameValueRequiredException.class,
+                () -> productService.getAllProducts(0, 5, null, categoryId, "name,password"));
+        assertThrows(NameValueRequiredException.class,
+                () -> productService.getAllProducts(0, 5, "category.name,asc", categoryId, null));
+        assertThrows(NameValueRequiredException.class,
+                () -> productService.getAllProducts(0, 5, "name,sideways", categoryId, null));
+        assertThrows(NameValueRequiredException.class,
+                () -> productService.getAllProducts(0, 0, null, categoryId, null));
+    }
+
+    private ProductDto save(String name, Long categoryId) {
+        ProductDto productDto = new ProductDto();
+        productDto.setName(name);
+        productDto.setSku("SKU-" + UUID.randomUUID());
+        productDto.setPrice(BigDecimal.TEN);
+        productDto.setStockQuantity(3);
+        productDto.setCategoryId(categoryId);
+        return productService.saveProduct(productDto, null);
+    }
+
+    private List<String> names(Response response) {
+        return response.getProducts().stream().map(ProductDto::getName).toList();
+    }
+}
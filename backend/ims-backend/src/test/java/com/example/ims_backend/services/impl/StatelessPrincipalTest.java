@@ -0,0 +1,127 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.dto.TransactionDto;
+import com.example.ims_backend.dto.TransactionRequest;
+import com.example.ims_backend.dto.UserDto;
+import com.example.ims_backend.entity.Category;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.UserRole;
+import com.example.ims_backend.repository.CategoryRepository;
+import com.example.ims_backend.repository.ProductRepository;
+import com.example.ims_backend.repository.UserRepository;
+import com.example.ims_backend.security.AuthPrincipal;
+import com.example.ims_backend.services.ITransactionService;
+import com.example.ims_backend.services.IUserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class StatelessPrincipalTest {
+
+    @Autowired
+    private ITransactionService transactionService;
+    @Autowired
+    private IUserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Product product;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("Token holder")
+                .email("token-" + UUID.randomUUID() + "@ims.test")
+                .password("secret")
+                .phoneNumber("000")
+                .role(UserRole.MANAGER)
+                .build());
+
+        // what AuthFilter puts in the context for a token with id and role claims
+        AuthPrincipal principal = new AuthPrincipal(user.getId(), user.getEmail(), user.getRole(), UUID.randomUUID().toString());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        Category category = categoryRepository.save(Category.builder().name("Stateless").build());
+        product = productRepository.save(Product.builder()
+                .name("Counter item")
+                .sku("SKU-" + UUID.randomUUID())
+                .price(BigDecimal.ONE)
+                .stockQuantity(100)
+                .category(category)
+                .build());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sellingDoesNotQueryUsersOnceTheUserIsCached() {
+        transactionService.sell(request(1)); // fills the user cache
+
+        statistics.clear();
+        TransactionDto last = null;
+        for (int i = 0; i < 5; i++) {
+            last = transactionService.sell(request(1));
+        }
+
+        assertEquals(0, userLoads());
+        assertEquals(user.getEmail(), last.getUser().getEmail());
+        assertEquals(user.getId(), last.getUser().getId());
+    }
+
+    @Test
+    void currentUserIsRefreshedAfterAnUpdate() {
+        assertEquals("Token holder", userService.getCurrentUser().getName());
+
+        UserDto rename = new UserDto();
+        rename.setName("Renamed holder");
+        userService.updateUser(user.getId(), rename);
+
+        assertEquals("Renamed holder", userService.getCurrentUser().getName());
+
+        statistics.clear();
+        userService.getCurrentUser();
+        assertEquals(0, userLoads());
+    }
+
+    private long userLoads() {
+        return statistics.getEntityStatistics(User.class.getName()).getLoadCount()
+                + statistics.getEntityStatistics(User.class.getName()).getFetchCount();
+    }
+
+    private TransactionRequest request(int quantity) {
+        TransactionRequest request = new TransactionRequest();
+        request.setProductId(product.getId());
+        request.setQuantity(quantity);
+        return request;
+    }
+}
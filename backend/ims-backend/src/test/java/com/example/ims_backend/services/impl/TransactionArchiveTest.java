@@ -0,0 +1,172 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.TestFixtures;
+import com.example.ims_backend.dto.TransactionDto;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.exceptions.NameValueRequiredException;
+import com.example.ims_backend.repository.TransactionRepository;
+import com.example.ims_backend.services.ITransactionArchiveService;
+import com.example.ims_backend.services.ITransactionExportService;
+import com.example.ims_backend.services.ITransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransactionArchiveTest {
+
+    private static final YearMonth MONTH = YearMonth.of(1995, 3);
+
+    @Autowired
+    private ITransactionArchiveService archiveService;
+    @Autowired
+    private ITransactionService transactionService;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private ITransactionExportService transactionExportService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JsonMapper jsonMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Value("${ims.retention.archive-dir}")
+    private Path archiveDir;
+
+    private String tag;
+    private long userId;
+    private long productId;
+    private long pendingId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.deleteIfExists(archiveDir.resolve("transactions-" + MONTH + ".ndjson.gz"));
+
+        tag = UUID.randomUUID().toString().substring(0, 8);
+        userId = fixtures.saveUser("Archive").getId();
+        productId = fixtures.saveProduct("Archive item", new BigDecimal("9.99"), 10, null).getId();
+
+        LocalDateTime start = MONTH.atDay(1).atStartOfDay();
+        insert(start.plusDays(20), "SALE", "COMPLETED", "third");
+        pendingId = insert(start, "SALE", "PENDING", "first");
+        insert(start.plusDays(10), "PURCHASE", "COMPLETED", "second");
+        insert(start.plusMonths(1), "SALE", "COMPLETED", "next month");
+    }
+
+    @Test
+    void archivedMonthIsReadFromItsFile() throws IOException {
+        assertEquals(3, archiveService.archiveMonth(MONTH));
+
+        assertTrue(archiveService.isArchived(MONTH));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from transactions where created_at >= ? and created_at < ?",
+                Integer.class, Timestamp.valueOf(MONTH.atDay(1).atStartOfDay()),
+                Timestamp.valueOf(MONTH.plusMonths(1).atDay(1).atStartOfDay())));
+
+        List<TransactionDto> month = transactionService.getAllTransactionByMonthAndYear(3, 1995, null, null, productId)
+                .getTransactions();
+        assertEquals(List.of(tag + " first", tag + " second", tag + " third"),
+                month.stream().map(TransactionDto::getDescription).toList());
+        assertEquals(MONTH.atDay(1).atStartOfDay(), month.getFirst().getCreatedAt());
+        assertEquals(TransactionStatus.PENDING, month.getFirst().getStatus());
+        assertNull(month.getFirst().getProduct());
+
+        assertEquals(1, transactionService.getAllTransactionByMonthAndYear(3, 1995, TransactionType.SALE,
+                TransactionStatus.COMPLETED, productId).getTransactions().size());
+        assertEquals(0, transactionService.getAllTransactionByMonthAndYear(3, 1995, null, null, -1L)
+                .getTransactions().size());
+
+        // the next month is still in the table
+        assertEquals(1, transactionService.getAllTransactionByMonthAndYear(4, 1995, null, null, productId)
+                .getTransactions().size());
+        // and the search index dropped the archived rows
+        assertEquals(1, transactionService.getAllTransactions(0, 10, tag).getTotalElements());
+    }
+
+    @Test
+    void statusChangeRacingTheArchiveWaitsForItAndFails() throws IOException {
+        AtomicReference<RuntimeException> updateFailure = new AtomicReference<>();
+        Thread[] update = new Thread[1];
+        ITransactionExportService exportThenUpdate = (from, to, format, outputStream) -> {
+            long exported = transactionExportService.exportTransactions(from, to, format, outputStream);
+            // between the export and the delete: this commits unless the month's rows are locked
+            update[0] = Thread.ofPlatform().start(() -> {
+                try {
+                    transactionService.updateTransactionStatus(pendingId, TransactionStatus.CANCELLED);
+                } catch (RuntimeException e) {
+                    updateFailure.set(e);
+                }
+            });
+            try {
+                update[0].join(Duration.ofMillis(500));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return exported;
+        };
+        TransactionArchiveServiceImpl archive = new TransactionArchiveServiceImpl(transactionRepository,
+                exportThenUpdate, eventPublisher, transactionTemplate, jsonMapper, false, 24, archiveDir);
+
+        assertEquals(3, archive.archiveMonth(MONTH));
+        assertDoesNotThrow(() -> update[0].join());
+
+        // the update was refused, so the archive still has the status every report agrees on
+        assertNotNull(updateFailure.get());
+        TransactionDto first = transactionService.getAllTransactionByMonthAndYear(3, 1995, null, null, productId)
+                .getTransactions().getFirst();
+        assertEquals(tag + " first", first.getDescription());
+        assertEquals(TransactionStatus.PENDING, first.getStatus());
+    }
+
+    @Test
+    void monthIsArchivedOnce() throws IOException {
+        archiveService.archiveMonth(MONTH);
+
+        assertThrows(NameValueRequiredException.class, () -> archiveService.archiveMonth(MONTH));
+    }
+
+    @Test
+    void emptyMonthWritesNoFile() throws IOException {
+        YearMonth empty = YearMonth.of(1990, 1);
+
+        assertEquals(0, archiveService.archiveMonth(empty));
+        assertFalse(archiveService.isArchived(empty));
+    }
+
+    private long insert(LocalDateTime createdAt, String type, String status, String description) {
+        return fixtures.insert("insert into transactions (total_products, total_price, transaction_type, status, description, " +
+                        "created_at, product_id, user_id) values (1, 9.99, ?, ?, ?, ?, ?, ?)",
+                type, status, tag + " " + description, Timestamp.valueOf(createdAt), productId, userId);
+    }
+}
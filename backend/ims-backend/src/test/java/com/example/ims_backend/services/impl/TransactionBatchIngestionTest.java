@@ -0,0 +1,163 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.TestFixtures;
+import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.dto.TransactionBatchLine;
+import com.example.ims_backend.dto.TransactionBatchResult;
+import com.example.ims_backend.dto.TransactionRequest;
+import com.example.ims_backend.entity.Category;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.entity.Supplier;
+import com.example.ims_backend.entity.Transaction;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.repository.ProductRepository;
+import com.example.ims_backend.repository.TransactionRepository;
+import com.example.ims_backend.services.ITransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TransactionBatchIngestionTest {
+
+    @Autowired
+    private ITransactionService transactionService;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Category category;
+    private Supplier supplier;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.signIn("Scanner");
+        category = fixtures.saveCategory("Warehouse");
+        supplier = fixtures.saveSupplier("Acme");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void reportsPerLineResultsAndAppliesNetStock() {
+        Product product = saveProduct(5);
+
+        List<TransactionBatchLine> lines = List.of(
+                line(TransactionType.SALE, product.getId(), null, 3),
+                line(TransactionType.SALE, product.getId(), null, 3),          // only 2 left at this point
+                line(TransactionType.PURCHASE, product.getId(), supplier.getId(), 10),
+                line(TransactionType.SALE, product.getId(), null, 4),
+                line(TransactionType.PURCHASE, product.getId(), null, 1),      // supplier missing
+                line(TransactionType.SALE, -1L, null, 1),                     // unknown product
+                line(null, product.getId(), null, 1),                          // type missing
+                line(TransactionType.RETURN_TO_SUPPLIER, product.getId(), supplier.getId(), 2));
+
+        Response response = transactionService.processBatch(lines);
+        List<TransactionBatchResult> results = response.getBatchResults();
+
+        assertEquals(lines.size(), results.size());
+        assertTrue(results.get(0).isAccepted());
+        assertFalse(results.get(1).isAccepted());
+        assertTrue(results.get(2).isAccepted());
+        assertTrue(results.get(3).isAccepted());
+        assertFalse(results.get(4).isAccepted());
+        assertFalse(results.get(5).isAccepted());
+        assertFalse(results.get(6).isAccepted());
+        assertTrue(results.get(7).isAccepted());
+
+        // 5 - 3 + 10 - 4 - 2
+        assertEquals(6, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+
+        results.stream().filter(TransactionBatchResult::isAccepted).forEach(result -> {
+            Transaction saved = transactionRepository.findById(result.getTransactionId()).orElseThrow();
+            assertEquals(lines.get(result.getLine()).getQuantity(), saved.getTotalProducts());
+        });
+    }
+
+    @Test
+    void saleCommittedWhileTheBatchWaitsOnlyRejectsItsProductsLines() throws InterruptedException {
+        Product contended = saveProduct(5);
+        Product other = saveProduct(5);
+
+        // a sale holds the contended row until it commits, after the batch has started
+        CountDownLatch locked = new CountDownLatch(1);
+        Thread sale = Thread.ofPlatform().start(() -> transactionTemplate.executeWithoutResult(status -> {
+            productRepository.decrementStock(contended.getId(), 4);
+            locked.countDown();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        locked.await();
+
+        List<TransactionBatchResult> results = transactionService.processBatch(List.of(
+                line(TransactionType.SALE, contended.getId(), null, 3),
+                line(TransactionType.SALE, other.getId(), null, 3))).getBatchResults();
+        sale.join();
+
+        assertFalse(results.get(0).isAccepted());
+        assertTrue(results.get(1).isAccepted());
+        assertEquals(1, productRepository.findById(contended.getId()).orElseThrow().getStockQuantity());
+        assertEquals(2, productRepository.findById(other.getId()).orElseThrow().getStockQuantity());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void batchIngestionThroughputVersusSingleCalls() {
+        int rows = 2_000;
+        Product singleProduct = saveProduct(0);
+        Product batchProduct = saveProduct(0);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            TransactionRequest request = new TransactionRequest(singleProduct.getId(), 1, supplier.getId(), null, null);
+            transactionService.purchase(request);
+        }
+        double singleRowsPerSecond = rows / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += 500) {
+            List<TransactionBatchLine> lines = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                lines.add(line(TransactionType.PURCHASE, batchProduct.getId(), supplier.getId(), 1));
+            }
+            transactionService.processBatch(lines);
+        }
+        double batchRowsPerSecond = rows / ((System.nanoTime() - start) / 1e9);
+
+        System.out.printf("single-call: %.0f rows/s, batch: %.0f rows/s (x%.1f)%n",
+                singleRowsPerSecond, batchRowsPerSecond, batchRowsPerSecond / singleRowsPerSecond);
+
+        assertEquals(rows, productRepository.findById(batchProduct.getId()).orElseThrow().getStockQuantity());
+    }
+
+    private Product saveProduct(int stock) {
+        return fixtures.saveProduct("Pallet", BigDecimal.valueOf(2), stock, category);
+    }
+
+    private TransactionBatchLine line(TransactionType type, Long productId, Long supplierId, int quantity) {
+        return new TransactionBatchLine(type, productId, supplierId, quantity, null, null);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.dto.TransactionDto;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.exceptions.NameValueRequiredException;
+import com.example.ims_backend.services.ITransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransactionDateRangeQueryTest {
+
+    private static final LocalDateTime MONTH_START = LocalDateTime.of(1998, 2, 1, 0, 0);
+
+    @Autowired
+    private ITransactionService transactionService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from transactions where created_at >= ? and created_at < ?",
+                Timestamp.valueOf(MONTH_START.minusMonths(1)), Timestamp.valueOf(MONTH_START.plusMonths(2)));
+
+        insert(MONTH_START.minusNanos(1000), "SALE", "COMPLETED", "before");
+        insert(MONTH_START, "SALE", "COMPLETED", "first");
+        insert(MONTH_START.plusDays(10), "PURCHASE", "COMPLETED", "purchase");
+        insert(MONTH_START.plusDays(20), "RETURN_TO_SUPPLIER", "PROCESSING", "return");
+        insert(MONTH_START.plusMonths(1).minusNanos(1000), "SALE", "COMPLETED", "last");
+        insert(MONTH_START.plusMonths(1), "SALE", "COMPLETED", "after");
+    }
+
+    @Test
+    void monthIsHalfOpenAtBothBoundaries() {
+        Response response = transactionService.getAllTransactionByMonthAndYear(2, 1998, null, null, null);
+
+        assertEquals(List.of("first", "purchase", "return", "last"), notes(response));
+    }
+
+    @Test
+    void combinesRangeWithTypeAndStatus() {
+        assertEquals(List.of("first", "last"), notes(transactionService.getAllTransactionByMonthAndYear(
+                2, 1998, TransactionType.SALE, null, null)));
+
+        assertEquals(List.of("return"), notes(transactionService.getTransactionsByDateRange(
+                MONTH_START, MONTH_START.plusMonths(1), null, TransactionStatus.PROCESSING, null)));
+
+        assertTrue(notes(transactionService.getTransactionsByDateRange(
+                MONTH_START, MONTH_START.plusMonths(1), null, null, -1L)).isEmpty());
+    }
+
+    @Test
+    void rejectsInvalidRanges() {
+        assertThrows(NameValueRequiredException.class,
+                () -> transactionService.getAllTransactionByMonthAndYear(13, 1998, null, null, null));
+        assertThrows(NameValueRequiredException.class,
+                () -> transactionService.getTransactionsByDateRange(MONTH_START, MONTH_START, null, null, null));
+    }
+
+    private List<String> notes(Response response) {
+        return response.getTransactions().stream().map(TransactionDto::getNote).toList();
+    }
+
+    private void insert(LocalDateTime createdAt, String type, String status, String note) {
+        jdbcTemplate.update("insert into transactions (total_products, total_price, transaction_type, status, note, created_at) " +
+                        "values (1, 9.99, ?, ?, ?, ?)",
+                type, status, note, Timestamp.valueOf(createdAt));
+    }
+}
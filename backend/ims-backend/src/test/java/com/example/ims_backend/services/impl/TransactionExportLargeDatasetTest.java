@@ -0,0 +1,96 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.enums.ExportFormat;
+import com.example.ims_backend.services.ITransactionExportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports one million synthetic transactions from a file-backed database and checks that heap usage
+ * stays flat. Run with a small heap to make the point, e.g.
+ * {@code mvn test -Pload -Dtest=TransactionExportLargeDatasetTest -DargLine=-Xmx192m}
+ */
+@Tag("load")
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:file:./target/export-test-db-${random.uuid};MODE=MySQL;DATABASE_TO_LOWER=TRUE;CACHE_SIZE=8192")
+class TransactionExportLargeDatasetTest {
+
+    private static final int ROWS = Integer.getInteger("export.test.rows", 1_000_000);
+    private static final long MAX_HEAP_GROWTH_BYTES = 64L * 1024 * 1024;
+    private static final LocalDateTime MONTH_START = LocalDateTime.of(2001, 1, 1, 0, 0);
+
+    @Autowired
+    private ITransactionExportService transactionExportService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exportsOneMillionRowsInConstantMemory() throws Exception {
+        jdbcTemplate.update("insert into transactions (total_products, total_price, transaction_type, status, note, created_at) " +
+                        "select mod(\"X\", 17) + 1, 12.50, 'SALE', 'COMPLETED', concat('synthetic-', \"X\"), " +
+                        "dateadd('SECOND', mod(\"X\", 2000000), cast(? as timestamp)) from system_range(1, ?)",
+                Timestamp.valueOf(MONTH_START), ROWS);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+
+        // samples the live heap (after a full GC) every 16 MB of output while the export is running
+        CountingOutputStream out = new CountingOutputStream(memory);
+        long start = System.nanoTime();
+        long count = transactionExportService.exportTransactions(
+                MONTH_START, MONTH_START.plusMonths(1), ExportFormat.NDJSON, out);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long growth = out.peakLiveHeap - baseline;
+        System.out.printf("exported %d rows (%d MB) in %.1fs, %.0f rows/s, peak live heap growth %d MB%n",
+                count, out.bytes / (1024 * 1024), seconds, count / seconds, growth / (1024 * 1024));
+
+        assertEquals(ROWS, count);
+        assertTrue(growth < MAX_HEAP_GROWTH_BYTES, "heap grew by " + growth / (1024 * 1024) + " MB");
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private static final long SAMPLE_EVERY_BYTES = 16L * 1024 * 1024;
+
+        private final MemoryMXBean memory;
+        private long bytes;
+        private long nextSample = SAMPLE_EVERY_BYTES;
+        private long peakLiveHeap;
+
+        private CountingOutputStream(MemoryMXBean memory) {
+            this.memory = memory;
+        }
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            sample();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            sample();
+        }
+
+        private void sample() {
+            if (bytes < nextSample) return;
+            nextSample += SAMPLE_EVERY_BYTES;
+            System.gc();
+            peakLiveHeap = Math.max(peakLiveHeap, memory.getHeapMemoryUsage().getUsed());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.enums.ExportFormat;
+import com.example.ims_backend.services.ITransactionExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransactionExportServiceTest {
+
+    private static final LocalDateTime MONTH_START = LocalDateTime.of(1999, 3, 1, 0, 0);
+
+    @Autowired
+    private ITransactionExportService transactionExportService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from transactions where created_at >= ? and created_at < ?",
+                Timestamp.valueOf(MONTH_START.minusMonths(1)), Timestamp.valueOf(MONTH_START.plusMonths(2)));
+
+        insert(MONTH_START.minusSeconds(1), "previous month");
+        insert(MONTH_START, "first, with \"quotes\"");
+        insert(MONTH_START.plusDays(15), "middle");
+        insert(MONTH_START.plusMonths(1).minusNanos(1000), "last");
+        insert(MONTH_START.plusMonths(1), "next month");
+    }
+
+    @Test
+    void exportsMonthAsNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = transactionExportService.exportTransactions(
+                MONTH_START, MONTH_START.plusMonths(1), ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, count);
+        assertEquals(3, lines.length);
+        JsonNode first = jsonMapper.readTree(lines[0]);
+        assertEquals("first, with \"quotes\"", first.get("note").asString());
+        assertEquals("SALE", first.get("transactionType").asString());
+        assertEquals("last", jsonMapper.readTree(lines[2]).get("note").asString());
+    }
+
+    @Test
+    void exportsMonthAsCsvWithEscaping() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = transactionExportService.exportTransactions(
+                MONTH_START, MONTH_START.plusMonths(1), ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, count);
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("id,createdAt,transactionType"));
+        assertTrue(lines[1].endsWith(",\"first, with \"\"quotes\"\"\","), lines[1]);
+    }
+
+    private void insert(LocalDateTime createdAt, String note) {
+        jdbcTemplate.update("insert into transactions (total_products, total_price, transaction_type, status, note, created_at) " +
+                        "values (1, 9.99, 'SALE', 'COMPLETED', ?, ?)",
+                note, Timestamp.valueOf(createdAt));
+    }
+}
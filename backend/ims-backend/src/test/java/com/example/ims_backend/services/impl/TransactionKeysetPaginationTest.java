@@ -0,0 +1,127 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.dto.TransactionBatchLine;
+import com.example.ims_backend.dto.TransactionDto;
+import com.example.ims_backend.entity.Category;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.entity.Supplier;
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.enums.UserRole;
+import com.example.ims_backend.exceptions.NameValueRequiredException;
+import com.example.ims_backend.repository.CategoryRepository;
+import com.example.ims_backend.repository.ProductRepository;
+import com.example.ims_backend.repository.SupplierRepository;
+import com.example.ims_backend.repository.UserRepository;
+import com.example.ims_backend.services.ITransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TransactionKeysetPaginationTest {
+
+    @Autowired
+    private ITransactionService transactionService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private String marker;
+    private List<Long> expectedIdsNewestFirst;
+
+    @BeforeEach
+    void setUp() {
+        String email = "pager-" + UUID.randomUUID() + "@ims.test";
+        userRepository.save(User.builder()
+                .name("Pager")
+                .email(email)
+                .password("secret")
+                .phoneNumber("000")
+                .role(UserRole.MANAGER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+
+        Category category = categoryRepository.save(Category.builder().name("Paging").build());
+        Supplier supplier = supplierRepository.save(Supplier.builder().name("Acme").contactInfo("acme@ims.test").build());
+        Product product = productRepository.save(Product.builder()
+                .name("Paged item")
+                .sku("SKU-" + UUID.randomUUID())
+                .price(BigDecimal.ONE)
+                .stockQuantity(0)
+                .category(category)
+                .build());
+
+        marker = "keyset-" + UUID.randomUUID();
+        List<TransactionBatchLine> lines = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            lines.add(new TransactionBatchLine(TransactionType.PURCHASE, product.getId(), supplier.getId(), 1, null, marker));
+        }
+        expectedIdsNewestFirst = new ArrayList<>(transactionService.processBatch(lines).getBatchResults().stream()
+                .map(result -> result.getTransactionId())
+                .sorted((a, b) -> Long.compare(b, a))
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void walksForwardAndBackWithOpaqueCursors() {
+        Response first = transactionService.getTransactionsByCursor(null, null, null, 10, marker);
+        assertEquals(expectedIdsNewestFirst.subList(0, 10), ids(first));
+        assertNull(first.getPreviousCursor());
+        assertNull(first.getTotalElements());
+
+        Response second = transactionService.getTransactionsByCursor(first.getNextCursor(), null, null, 10, marker);
+        assertEquals(expectedIdsNewestFirst.subList(10, 20), ids(second));
+
+        Response third = transactionService.getTransactionsByCursor(second.getNextCursor(), null, null, 10, marker);
+        assertEquals(expectedIdsNewestFirst.subList(20, 25), ids(third));
+        assertNull(third.getNextCursor());
+
+        Response back = transactionService.getTransactionsByCursor(third.getPreviousCursor(), null, null, 10, marker);
+        assertEquals(expectedIdsNewestFirst.subList(10, 20), ids(back));
+
+        Response firstAgain = transactionService.getTransactionsByCursor(back.getPreviousCursor(), null, null, 10, marker);
+        assertEquals(expectedIdsNewestFirst.subList(0, 10), ids(firstAgain));
+        assertNull(firstAgain.getPreviousCursor());
+    }
+
+    @Test
+    void acceptsRawIdBoundsAndRejectsGarbageCursors() {
+        Long pivot = expectedIdsNewestFirst.get(4);
+        Response older = transactionService.getTransactionsByCursor(null, pivot, null, 3, marker);
+        assertEquals(expectedIdsNewestFirst.subList(5, 8), ids(older));
+
+        Response newer = transactionService.getTransactionsByCursor(null, null, pivot, 3, marker);
+        assertEquals(expectedIdsNewestFirst.subList(1, 4), ids(newer));
+
+        assertThrows(NameValueRequiredException.class,
+                () -> transactionService.getTransactionsByCursor("not-a-cursor", null, null, 10, marker));
+    }
+
+    private List<Long> ids(Response response) {
+        return response.getTransactions().stream().map(TransactionDto::getId).toList();
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.dto.ReportRow;
+import com.example.ims_backend.dto.TransactionBatchLine;
+import com.example.ims_backend.dto.TransactionRequest;
+import com.example.ims_backend.entity.Category;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.entity.Supplier;
+import com.example.ims_backend.entity.User;
+import com.example.ims_backend.enums.TransactionStatus;
+import com.example.ims_backend.enums.TransactionType;
+import com.example.ims_backend.enums.UserRole;
+import com.example.ims_backend.exceptions.NameValueRequiredException;
+import com.example.ims_backend.repository.CategoryRepository;
+import com.example.ims_backend.repository.ProductRepository;
+import com.example.ims_backend.repository.SupplierRepository;
+import com.example.ims_backend.repository.UserRepository;
+import com.example.ims_backend.services.IReportService;
+import com.example.ims_backend.services.ITransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class TransactionRollupTest {
+
+    @Autowired
+    private ITransactionService transactionService;
+    @Autowired
+    private IReportService reportService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Category category;
+    private Supplier supplier;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        String tag = UUID.randomUUID().toString();
+        String email = "rollup-" + tag + "@ims.test";
+        userRepository.save(User.builder()
+                .name("Rollup")
+                .email(email)
+                .password("secret")
+                .phoneNumber("000")
+                .role(UserRole.MANAGER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+
+        category = categoryRepository.save(Category.builder().name("Rollup " + tag).build());
+        supplier = supplierRepository.save(Supplier.builder().name("Rollup " + tag).contactInfo("rollup@ims.test").build());
+        product = productRepository.save(Product.builder()
+                .name("Rollup item")
+                .sku("ROLLUP-" + tag)
+                .price(new BigDecimal("2.50"))
+                .stockQuantity(100)
+                .category(category)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void purchasesSalesAndReturnsUpdateBothRollups() {
+        transactionService.sell(request(3, null));
+        transactionService.purchase(request(5, supplier.getId()));
+        transactionService.returnToSupplier(request(1, supplier.getId()));
+        transactionService.processBatch(List.of(
+                line(TransactionType.SALE, 2), line(TransactionType.SALE, 4)));
+
+        LocalDate today = LocalDate.now();
+        assertEquals(List.of(
+                        new ReportRow(today, TransactionType.PURCHASE, 1L, 5L, new BigDecimal("12.50")),
+                        new ReportRow(today, TransactionType.SALE, 3L, 9L, new BigDecimal("22.50")),
+                        new ReportRow(today, TransactionType.RETURN_TO_SUPPLIER, 1L, 1L, new BigDecimal("0.00"))),
+                sorted(reportService.getDailyReport(today, today.plusDays(1), null, product.getId()).getReport()));
+
+        YearMonth month = YearMonth.now();
+        assertEquals(List.of(
+                        new ReportRow(month.atDay(1), TransactionType.PURCHASE, 1L, 5L, new BigDecimal("12.50")),
+                        new ReportRow(month.atDay(1), TransactionType.RETURN_TO_SUPPLIER, 1L, 1L, new BigDecimal("0.00"))),
+                sorted(reportService.getMonthlyReport(month, month.plusMonths(1), null, category.getId(), supplier.getId())
+                        .getReport()));
+        assertEquals(List.of(new ReportRow(month.atDay(1), TransactionType.SALE, 3L, 9L, new BigDecimal("22.50"))),
+                reportService.getMonthlyReport(month, month.plusMonths(1), TransactionType.SALE, category.getId(), null)
+                        .getReport());
+    }
+
+    @Test
+    void cancelledTransactionsLeaveTheTotals() {
+        Long first = transactionService.sell(request(3, null)).getId();
+        transactionService.sell(request(4, null));
+        LocalDate today = LocalDate.now();
+        YearMonth month = YearMonth.now();
+
+        transactionService.updateTransactionStatus(first, TransactionStatus.CANCELLED);
+        transactionService.updateTransactionStatus(first, TransactionStatus.CANCELLED);
+        assertEquals(List.of(new ReportRow(today, TransactionType.SALE, 1L, 4L, new BigDecimal("10.00"))),
+                reportService.getDailyReport(today, today.plusDays(1), null, product.getId()).getReport());
+        assertEquals(List.of(new ReportRow(month.atDay(1), TransactionType.SALE, 1L, 4L, new BigDecimal("10.00"))),
+                reportService.getMonthlyReport(month, month.plusMonths(1), null, category.getId(), null).getReport());
+
+        // a rebuild leaves cancelled transactions out too
+        reportService.rebuildRollups();
+        assertEquals(List.of(new ReportRow(today, TransactionType.SALE, 1L, 4L, new BigDecimal("10.00"))),
+                reportService.getDailyReport(today, today.plusDays(1), null, product.getId()).getReport());
+
+        transactionService.updateTransactionStatus(first, TransactionStatus.PENDING);
+        assertEquals(List.of(new ReportRow(today, TransactionType.SALE, 2L, 7L, new BigDecimal("17.50"))),
+                reportService.getDailyReport(today, today.plusDays(1), null, product.getId()).getReport());
+    }
+
+    @Test
+    void rebuildRecomputesFromTheTableAndSummaryCombinesMonthsAndDays() {
+        insert(LocalDateTime.of(1993, 1, 20, 10, 0), 1);
+        insert(LocalDateTime.of(1993, 2, 10, 10, 0), 2);
+        insert(LocalDateTime.of(1993, 2, 28, 23, 59), 3);
+        insert(LocalDateTime.of(1993, 3, 5, 10, 0), 4);
+
+        reportService.rebuildRollups();
+
+        assertEquals(List.of(new ReportRow(LocalDate.of(1993, 1, 15), TransactionType.SALE, 4L, 10L, new BigDecimal("25.00"))),
+                reportService.getSummary(LocalDate.of(1993, 1, 15), LocalDate.of(1993, 3, 10), null, null).getReport());
+        assertEquals(List.of(new ReportRow(LocalDate.of(1993, 1, 25), TransactionType.SALE, 2L, 5L, new BigDecimal("12.50"))),
+                reportService.getSummary(LocalDate.of(1993, 1, 25), LocalDate.of(1993, 3, 1), null, null).getReport());
+        assertEquals(List.of(new ReportRow(LocalDate.of(1993, 2, 28), TransactionType.SALE, 2L, 7L, new BigDecimal("17.50"))),
+                reportService.getSummary(LocalDate.of(1993, 2, 28), LocalDate.of(1993, 3, 6), null, product.getId()).getReport());
+        assertEquals(List.of(), reportService.getSummary(LocalDate.of(1993, 1, 1), LocalDate.of(1993, 4, 1),
+                TransactionType.PURCHASE, null).getReport());
+
+        // a drifted rollup is put right by the next rebuild
+        jdbcTemplate.update("update daily_transaction_rollup set units = 0 where rollup_date = ?", LocalDate.of(1993, 2, 10));
+        reportService.rebuildRollups();
+        assertEquals(2L, reportService.getDailyReport(LocalDate.of(1993, 2, 10), LocalDate.of(1993, 2, 11), null, null)
+                .getReport().getFirst().units());
+    }
+
+    @Test
+    void rejectsInvalidRanges() {
+        LocalDate day = LocalDate.of(2026, 1, 1);
+
+        assertThrows(NameValueRequiredException.class, () -> reportService.getDailyReport(day, day, null, null));
+        assertThrows(NameValueRequiredException.class, () -> reportService.getDailyReport(day, day.plusYears(2), null, null));
+        assertThrows(NameValueRequiredException.class, () -> reportService.getMonthlyReport(YearMonth.of(2026, 2),
+                YearMonth.of(2026, 1), null, null, null));
+        assertThrows(NameValueRequiredException.class, () -> reportService.getSummary(null, day, null, null));
+    }
+
+    // bypasses the services, so only a rebuild brings these into the rollups
+    private void insert(LocalDateTime createdAt, int quantity) {
+        jdbcTemplate.update("insert into transactions (total_products, total_price, transaction_type, status, " +
+                        "created_at, product_id) values (?, ?, 'SALE', 'COMPLETED', ?, ?)",
+                quantity, new BigDecimal("2.50").multiply(BigDecimal.valueOf(quantity)), Timestamp.valueOf(createdAt),
+                product.getId());
+    }
+
+    private static List<ReportRow> sorted(List<ReportRow> rows) {
+        return rows.stream().sorted((left, right) -> left.transactionType().compareTo(right.transactionType())).toList();
+    }
+
+    private TransactionRequest request(int quantity, Long supplierId) {
+        TransactionRequest request = new TransactionRequest();
+        request.setProductId(product.getId());
+        request.setSupplierId(supplierId);
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private TransactionBatchLine line(TransactionType type, int quantity) {
+        TransactionBatchLine line = new TransactionBatchLine();
+        line.setTransactionType(type);
+        line.setProductId(product.getId());
+        line.setQuantity(quantity);
+        return line;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.TestFixtures;
+import com.example.ims_backend.dto.TransactionRequest;
+import com.example.ims_backend.entity.Category;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.entity.Supplier;
+import com.example.ims_backend.exceptions.InsufficientStockException;
+import com.example.ims_backend.repository.ProductRepository;
+import com.example.ims_backend.services.ITransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers a single SKU from many threads and checks that stock never drifts or goes negative.
+ */
+@SpringBootTest
+class TransactionServiceConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int OPERATIONS_PER_THREAD = 25;
+
+    @Autowired
+    private ITransactionService transactionService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private TestFixtures fixtures;
+
+    private String userEmail;
+    private Category category;
+    private Supplier supplier;
+
+    @BeforeEach
+    void setUp() {
+        userEmail = fixtures.saveUser("Cashier").getEmail();
+        category = fixtures.saveCategory("Hot SKUs");
+        supplier = fixtures.saveSupplier("Acme");
+    }
+
+    @Test
+    void concurrentSellersNeverOversellOrLoseUpdates() throws Exception {
+        int initialStock = 1000;
+        Product product = fixtures.saveProduct("Hot item", BigDecimal.TEN, initialStock, category);
+
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(threadIndex -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                try {
+                    transactionService.sell(request(product.getId(), null, 1));
+                    sold.incrementAndGet();
+                } catch (InsufficientStockException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        Product reloaded = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals(initialStock, sold.get());
+        assertEquals(THREADS * OPERATIONS_PER_THREAD - initialStock, rejected.get());
+        assertEquals(0, reloaded.getStockQuantity());
+    }
+
+    @Test
+    void concurrentPurchasesAndSalesKeepStockConsistent() throws Exception {
+        int initialStock = 500;
+        Product product = fixtures.saveProduct("Hot item", BigDecimal.TEN, initialStock, category);
+
+        AtomicInteger purchased = new AtomicInteger();
+        AtomicInteger sold = new AtomicInteger();
+
+        runConcurrently(threadIndex -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                if (threadIndex % 2 == 0) {
+                    transactionService.purchase(request(product.getId(), supplier.getId(), 3));
+                    purchased.addAndGet(3);
+                } else {
+                    try {
+                        transactionService.sell(request(product.getId(), null, 2));
+                        sold.addAndGet(2);
+                    } catch (InsufficientStockException ignored) {
+                        // stock was exhausted at that instant, nothing was written
+                    }
+                }
+            }
+        });
+
+        Product reloaded = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals(initialStock + purchased.get() - sold.get(), reloaded.getStockQuantity());
+        assertTrue(reloaded.getStockQuantity() >= 0);
+    }
+
+    private TransactionRequest request(Long productId, Long supplierId, int quantity) {
+        TransactionRequest request = new TransactionRequest();
+        request.setProductId(productId);
+        request.setSupplierId(supplierId);
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private void runConcurrently(ThreadBody body) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int threadIndex = t;
+                futures.add(executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(userEmail, null, List.of()));
+                    try {
+                        startGate.await();
+                        body.run(threadIndex);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                    return null;
+                }));
+            }
+            startGate.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadBody {
+        void run(int threadIndex);
+    }
+}
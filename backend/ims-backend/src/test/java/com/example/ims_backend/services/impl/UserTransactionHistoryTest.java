@@ -0,0 +1,111 @@
+package com.example.ims_backend.services.impl;
+
+import com.example.ims_backend.TestFixtures;
+import com.example.ims_backend.dto.Response;
+import com.example.ims_backend.dto.TransactionDto;
+import com.example.ims_backend.entity.Product;
+import com.example.ims_backend.exceptions.NameValueRequiredException;
+import com.example.ims_backend.exceptions.NotFoundException;
+import com.example.ims_backend.services.IUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class UserTransactionHistoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(1997, 3, 1, 0, 0);
+
+    @Autowired
+    private IUserService userService;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+    private long productId;
+    private String sku;
+
+    @BeforeEach
+    void setUp() {
+        userId = fixtures.saveUser("History").getId();
+        Product product = fixtures.saveProduct("Ledger item", new BigDecimal("9.99"), 10, null);
+        productId = product.getId();
+        sku = product.getSku();
+
+        insert(START.minusNanos(1000), "before");
+        for (int day = 0; day < 5; day++) {
+            insert(START.plusDays(day), "day " + day);
+        }
+        insert(START.plusDays(5), "after");
+    }
+
+    @Test
+    void pagesNewestFirstWithinTheHalfOpenRange() {
+        Response first = userService.getUserTransactions(userId, START, START.plusDays(5), 0, 2);
+        Response last = userService.getUserTransactions(userId, START, START.plusDays(5), 2, 2);
+
+        assertEquals(List.of("day 4", "day 3"), descriptions(first));
+        assertEquals(List.of("day 0"), descriptions(last));
+        assertEquals(5, first.getTotalElements());
+        assertEquals(3, first.getTotalPages());
+        assertEquals(userId, first.getUser().getId());
+    }
+
+    @Test
+    void rowsCarryOnlyTheListedColumnsAndTheProduct() {
+        TransactionDto row = userService.getUserTransactions(userId, START, START.plusDays(1), 0, 10)
+                .getTransactions().getFirst();
+
+        assertEquals(START, row.getCreatedAt());
+        assertEquals(productId, row.getProduct().getId());
+        assertEquals(sku, row.getProduct().getSku());
+        assertEquals("Ledger item", row.getProduct().getName());
+        assertNull(row.getProduct().getPrice());
+        assertNull(row.getUser());
+        assertNull(row.getSupplier());
+    }
+
+    @Test
+    void defaultsToTheLastNinetyDays() {
+        insert(LocalDateTime.now().minusDays(1), "recent");
+
+        assertEquals(List.of("recent"), descriptions(userService.getUserTransactions(userId, null, null, 0, 50)));
+    }
+
+    @Test
+    void rejectsInvalidRequests() {
+        assertThrows(NameValueRequiredException.class,
+                () -> userService.getUserTransactions(userId, START, START, 0, 10));
+        assertThrows(NameValueRequiredException.class,
+                () -> userService.getUserTransactions(userId, null, null, 0, 501));
+        assertThrows(NotFoundException.class,
+                () -> userService.getUserTransactions(-1L, null, null, 0, 10));
+    }
+
+    // the description is not one of the listed columns, so it is looked up by id
+    private List<String> descriptions(Response response) {
+        return response.getTransactions().stream()
+                .map(transaction -> jdbcTemplate.queryForObject("select description from transactions where id = ?",
+                        String.class, transaction.getId()))
+                .toList();
+    }
+
+    private void insert(LocalDateTime createdAt, String description) {
+        jdbcTemplate.update("insert into transactions (total_products, total_price, transaction_type, status, description, " +
+                        "created_at, product_id, user_id) values (1, 9.99, 'SALE', 'COMPLETED', ?, ?, ?, ?)",
+                description, Timestamp.valueOf(createdAt), productId, userId);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.ims_backend.specification;
+
+import com.example.ims_backend.ImsBackendApplication;
+import com.example.ims_backend.entity.Transaction;
+import com.example.ims_backend.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TransactionFilter#byFilter}: building its predicate tree on a criteria query, and the whole
+ * repository call (criteria -> SQM -> SQL for the page and the count query, then execution) against empty
+ * tables, so the time is Hibernate's query translation rather than the database's work. The blank search
+ * is the unfiltered listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionFilterBenchmark {
+
+    @Param({"", "order 42"})
+    private String searchValue;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionRepository transactionRepository;
+    private final PageRequest firstPage = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"));
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ImsBackendApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:filter-" + UUID.randomUUID()
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN");
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        transactionRepository = context.getBean(TransactionRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Predicate specification() {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Transaction> query = criteriaBuilder.createQuery(Transaction.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        return TransactionFilter.byFilter(searchValue).toPredicate(root, query, criteriaBuilder);
+    }
+
+    @Benchmark
+    public Page<Transaction> specificationToSql() {
+        Specification<Transaction> specification = TransactionFilter.byFilter(searchValue);
+        return transactionRepository.findAll(specification, firstPage);
+    }
+}
@@ -7,13 +7,13 @@ import PaginationComponent from "../component/PaginationComponent";
 const ProductPage = () => {
 
     const [products, setProducts] = useState([]);
-    const [allProducts, setAllProducts] = useState([]);
     const [message, setMessage] = useState("");
 
     const navigate = useNavigate();
 
     const [currentPage, setCurrentPage] = useState(1);
     const [totalPages, setTotalPages] = useState(0);
+    const [reloadKey, setReloadKey] = useState(0);
     const itemsPerPage = 10;
 
     useEffect(() => {
@@ -21,12 +21,16 @@ const ProductPage = () => {
         const getProducts = async () => {
             try {
 
-                const productData = await ApiService.getAllProducts();
+                const productData = await ApiService.getAllProducts({
+                    page: currentPage - 1,
+                    size: itemsPerPage,
+                    fields: "id,name,sku,price,stockQuantity,imageUrl"
+                });
 
                 if (productData.status === 200) {
 
-                    setAllProducts(productData.products);
-                    setTotalPages(Math.ceil(productData.products.length / itemsPerPage));
+                    setProducts(productData.products || []);
+                    setTotalPages(productData.totalPages);
 
                 }
 
@@ -41,18 +45,7 @@ const ProductPage = () => {
 
         getProducts();
 
-    }, []);
-
-    useEffect(() => {
-
-        setProducts(
-            allProducts.slice(
-                (currentPage - 1) * itemsPerPage,
-                currentPage * itemsPerPage
-            )
-        );
-
-    }, [currentPage, allProducts]);
+    }, [currentPage, reloadKey]);
 
 
     const handleDeleteProduct = async (productId) => {
@@ -63,7 +56,7 @@ const ProductPage = () => {
 
                 await ApiService.deleteProduct(productId);
 
-                setAllProducts(prev => prev.filter(p => p.id !== productId));
+                setReloadKey(key => key + 1);
 
                 showMessage("Product deleted successfully");
 
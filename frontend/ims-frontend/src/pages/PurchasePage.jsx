@@ -18,10 +18,10 @@ const PurchasePage = () => {
         const fetchProductAndSuppliers = async () => {
             try {
 
-                const productData = await ApiService.getAllProducts();
+                const products = await ApiService.getProductOptions();
                 const supplierData = await ApiService.getAllSuppliers();
 
-                setProducts(productData?.products || []);
+                setProducts(products);
                 setSuppliers(supplierData?.suppliers || []);
 
             } catch (error) {
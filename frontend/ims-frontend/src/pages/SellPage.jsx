@@ -15,8 +15,7 @@ const SellPage = () => {
 
         const fetchProducts = async () => {
             try {
-                const productData = await ApiService.getAllProducts();
-                setProducts(productData?.products || []);
+                setProducts(await ApiService.getProductOptions());
             } catch (error) {
                 showMessage(
                     error.response?.data?.message || "Error fetching products"
@@ -126,14 +126,29 @@ class ApiService {
 
     /* ================= PRODUCTS ================= */
 
-    static async getAllProducts() {
+    // params: { page, size, sort, categoryId, fields }
+    static async getAllProducts(params = {}) {
         const response = await axios.get(
             `${this.BASE_URL}/products`,
-            { headers: this.getHeader() }
+            {
+                headers: this.getHeader(),
+                params
+            }
         );
         return response.data;
     }
 
+    // id and name of every product, by name, for selectors: pages through the listing at its maximum page size
+    static async getProductOptions() {
+        const products = [];
+        for (let page = 0, totalPages = 1; page < totalPages; page++) {
+            const data = await this.getAllProducts({ fields: "id,name", sort: "name,asc", page, size: 1000 });
+            products.push(...(data?.products || []));
+            totalPages = data?.totalPages || 0;
+        }
+        return products;
+    }
+
     static async getProductById(id) {
         const response = await axios.get(
             `${this.BASE_URL}/products/${id}`,
@@ -332,6 +347,11 @@ class ApiService {
     /* ================= AUTH HELPERS ================= */
 
     static logout() {
+        if (this.getToken()) {
+            // revoke the token on the server; the local copy is dropped either way
+            axios.post(`${this.BASE_URL}/auth/logout`, null, { headers: this.getHeader() })
+                .catch(() => {});
+        }
         this.clearAuth();
     }
 